@@ -0,0 +1,43 @@
+package com.campuspathfinder.pathfinder_app.controllers;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.campuspathfinder.pathfinder_app.services.MapNotReadyException;
+import com.campuspathfinder.pathfinder_app.services.UnknownBuildingException;
+import com.campuspathfinder.pathfinder_app.services.UnknownMapException;
+
+/**
+ * Turns the exceptions of {@link com.campuspathfinder.pathfinder_app.services.RoutingService} 
+ * into problem responses, whether they are thrown directly or complete a future.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+	@ExceptionHandler({ UnknownMapException.class, UnknownBuildingException.class })
+	public ProblemDetail notFound(NoSuchElementException e) {
+		return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage());
+	}
+
+	@ExceptionHandler(MapNotReadyException.class)
+	public ProblemDetail notLoaded(MapNotReadyException e) {
+		return ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+	}
+
+	@ExceptionHandler(RejectedExecutionException.class)
+	public ProblemDetail overloaded(RejectedExecutionException e) {
+		return ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, "Too many route requests are waiting; try again shortly.");
+	}
+
+	@ExceptionHandler(TimeoutException.class)
+	public ProblemDetail timedOut(TimeoutException e) {
+		return ProblemDetail.forStatusAndDetail(HttpStatus.GATEWAY_TIMEOUT, "The route took too long to find.");
+	}
+
+}
@@ -1,10 +1,196 @@
 package com.campuspathfinder.pathfinder_app.controllers;
 
-import java.io.IOException;
-import java.util.Scanner;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
 import com.campuspathfinder.pathfinder_app.models.MapModel;
+import com.campuspathfinder.pathfinder_app.routing.RankedNode;
+import com.campuspathfinder.pathfinder_app.routing.RouteOptions;
+import com.campuspathfinder.pathfinder_app.routing.RoutingProfile;
+import com.campuspathfinder.pathfinder_app.services.MapRegistry;
+import com.campuspathfinder.pathfinder_app.services.RoutingService;
+import com.campuspathfinder.pathfinder_app.util.BuildingCatalogue;
+import com.campuspathfinder.pathfinder_app.util.CompactRoute;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * <b>BuidlingController</b> serves the buildings of each map and routes between them.
+ * <p>
+ * Route and nearest-building searches return futures from {@link RoutingService},
+ * so the request thread is released while the search runs on a routing thread
+ * and the response is written when it completes or its deadline passes.
+ */
+@RestController
+@RequestMapping("/api/maps")
+public class BuidlingController {
+
+	/** Routes and building lists may be stored anywhere, but must be revalidated before each use. */
+	private static final CacheControl REVALIDATE = CacheControl.noCache().cachePublic();
+
+	private final MapRegistry maps;
+	private final RoutingService routing;
+
+	public BuidlingController(MapRegistry maps, RoutingService routing) {
+		this.maps = maps;
+		this.routing = routing;
+	}
+
+	@Data
+	@AllArgsConstructor
+	public static class BuildingView {
+		private int id;
+		private String name;
+		private String type;
+		private int x;
+		private int y;
+
+		static BuildingView of(Building bldg) {
+			return new BuildingView(bldg.getBldgId(), bldg.getBldgName(), bldg.getType(), bldg.getBldgXCoord(), bldg.getBldgYCoord());
+		}
+	}
+
+	@Data
+	@AllArgsConstructor
+	public static class NearbyView {
+		private BuildingView building;
+		private double cost;
+	}
+
+	@Data
+	@AllArgsConstructor
+	public static class PlaceView {
+		/** A building, or an intersection with an empty name. */
+		private BuildingView place;
+		/** The straight-line distance from the point asked about. */
+		private double distance;
+	}
+
+	/**
+	 * @return the load status of every map, by university
+	 */
+	@GetMapping
+	public Map<String, MapRegistry.Status> maps() {
+		return maps.statuses();
+	}
+
+	/**
+	 * Respond with a page of the buildings of a map, by name, optionally only those
+	 * of one type. X-Total-Count says how many there are on every page. The ETag and
+	 * Last-Modified come from the map's {@link BuildingCatalogue}, which only changes
+	 * when buildings are added or removed, so a conditional request whose copy is
+	 * still current gets 304 Not Modified.
+	 */
+	@GetMapping("/{university}/buildings")
+	public ResponseEntity<List<BuildingView>> buildings(@PathVariable String university,
+			@RequestParam(required = false) String type, @RequestParam(defaultValue = "0") int offset,
+			@RequestParam(defaultValue = "" + Integer.MAX_VALUE) int limit, WebRequest request) {
+		BuildingCatalogue catalogue = routing.map(university).catalogue();
+		String etag = "\"" + catalogue.tag() + "\"";
+		if (request.checkNotModified(etag, catalogue.lastModified())) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+					.eTag(etag).lastModified(catalogue.lastModified()).cacheControl(REVALIDATE).build();
+		}
+		List<Building> page = catalogue.page(type, offset, limit);
+		List<BuildingView> buildings = new ArrayList<>(page.size());
+		for (Building bldg : page) {
+			buildings.add(BuildingView.of(bldg));
+		}
+		return ResponseEntity.ok()
+				.eTag(etag)
+				.lastModified(catalogue.lastModified())
+				.cacheControl(REVALIDATE)
+				.header("X-Total-Count", Integer.toString(catalogue.buildings(type).size()))
+				.body(buildings);
+	}
+
+	/**
+	 * @return up to k buildings whose names match q, best first, for search as you type
+	 */
+	@GetMapping("/{university}/buildings/search")
+	public List<BuildingView> searchBuildings(@PathVariable String university, @RequestParam String q,
+			@RequestParam(defaultValue = "10") int k) {
+		List<BuildingView> buildings = new ArrayList<>();
+		for (Building bldg : routing.map(university).searchBuildings(q, k)) {
+			buildings.add(BuildingView.of(bldg));
+		}
+		return buildings;
+	}
+
+	/**
+	 * Respond with the route as a {@link CompactRoute} document. The response carries
+	 * an ETag and Last-Modified taken from the map's {@link MapModel#routeTag route tag},
+	 * and a conditional request whose copy is still current gets 304 Not Modified
+	 * without any search being run.
+	 */
+	@GetMapping(path = "/{university}/route", produces = MediaType.APPLICATION_JSON_VALUE)
+	public CompletableFuture<ResponseEntity<byte[]>> route(@PathVariable String university, @RequestParam int from, @RequestParam int to,
+			@RequestParam(defaultValue = "DIJKSTRA") RouteOptions.Algorithm algorithm,
+			@RequestParam(defaultValue = "DEFAULT") RoutingProfile profile, WebRequest request) {
+		MapModel map = routing.map(university);
+		// read before the search, so the tag is never newer than the route it is sent with
+		String etag = "\"" + map.routeTag() + "\"";
+		long lastModified = map.routesLastModified();
+		if (request.checkNotModified(etag, lastModified)) {
+			return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+					.eTag(etag).lastModified(lastModified).cacheControl(REVALIDATE).build());
+		}
+		return routing.route(university, from, to, RouteOptions.of(algorithm, profile))
+				.thenApply(path -> ResponseEntity.ok()
+						.eTag(etag)
+						.lastModified(lastModified)
+						.cacheControl(REVALIDATE)
+						.contentType(MediaType.APPLICATION_JSON)
+						.body(CompactRoute.encode(map, path).getBytes(StandardCharsets.US_ASCII)));
+	}
+
+	@GetMapping("/{university}/nearest")
+	public CompletableFuture<List<NearbyView>> nearest(@PathVariable String university, @RequestParam int from,
+			@RequestParam(defaultValue = "5") int k, @RequestParam(required = false) String type) {
+		return routing.nearest(university, from, k, type).thenApply(ranked -> {
+			List<NearbyView> nearby = new ArrayList<>(ranked.size());
+			for (RankedNode<Building> node : ranked) {
+				nearby.add(new NearbyView(BuildingView.of(node.getNode()), node.getDistance()));
+			}
+			return nearby;
+		});
+	}
+
+	/**
+	 * Snap a point, e.g. a phone's position, to the closest places on the map:
+	 * the k nearest buildings and intersections, 1 unless k is given, or all of
+	 * those within radius of it if a radius is given, the nearest k of them if
+	 * k is given too.
+	 */
+	@GetMapping("/{university}/snap")
+	public List<PlaceView> snap(@PathVariable String university, @RequestParam double x, @RequestParam double y,
+			@RequestParam(required = false) Integer k, @RequestParam(required = false) Double radius) {
+		MapModel map = routing.map(university);
+		List<RankedNode<Building>> found = radius == null
+				? map.nearestTo(x, y, k == null ? 1 : k, bldg -> true)
+				: map.within(x, y, radius, bldg -> true);
+		int count = k == null ? found.size() : Math.min(found.size(), Math.max(k, 0));
+		List<PlaceView> places = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			places.add(new PlaceView(BuildingView.of(found.get(i).getNode()), found.get(i).getDistance()));
+		}
+		return places;
+	}
 
-public class BuidlingController {	
-	 	 
 }
-	 
@@ -0,0 +1,146 @@
+package com.campuspathfinder.pathfinder_app.controllers;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+import com.campuspathfinder.pathfinder_app.routing.RoutingProfile;
+import com.campuspathfinder.pathfinder_app.services.RoutingService;
+
+import lombok.Data;
+
+/**
+ * <b>DistanceMatrixController</b> serves tables of route costs between sets of
+ * buildings, e.g. every dorm to every lecture hall.
+ * <p>
+ * Large tables are streamed: origins are computed a block of rows at a time and
+ * each block is written out as soon as it is done, so the response starts right
+ * away and never holds more than one block of the table in memory.
+ * <p>
+ * The whole table is computed on the map as it was when the request came in,
+ * however it changes while the response is streamed. Each block is a query to
+ * the {@link RoutingService}, so it waits its turn for a routing thread and has
+ * its own deadline like any other query. The first
+ * block is done before the response starts, so an overloaded or slow service
+ * still answers with an error status; a later block that fails cuts the
+ * response short.
+ */
+@RestController
+@RequestMapping("/api/maps/{university}")
+public class DistanceMatrixController {
+
+	/** The most origins computed before their rows are written out. */
+	static final int ROWS_PER_BLOCK = 64;
+
+	private final RoutingService routing;
+
+	public DistanceMatrixController(RoutingService routing) {
+		this.routing = routing;
+	}
+
+	@Data
+	public static class MatrixRequest {
+		/** Building ids to route from. */
+		private List<Integer> origins = new ArrayList<>();
+		/** Building ids to route to. */
+		private List<Integer> destinations = new ArrayList<>();
+		private RoutingProfile profile = RoutingProfile.DEFAULT;
+	}
+
+	/**
+	 * Respond with
+	 * {"university": ..., "origins": [ids], "destinations": [ids], "costs": [[...], ...]},
+	 * where costs[i][j] is the cost from origin i to destination j, or null if there is no route.
+	 */
+	@PostMapping(path = "/distance-matrix", produces = MediaType.APPLICATION_JSON_VALUE)
+	public CompletableFuture<ResponseEntity<StreamingResponseBody>> distanceMatrix(@PathVariable String university,
+			@RequestBody MatrixRequest request) {
+		MapModel map = routing.map(university);
+		List<Building> origins = buildings(map, request.getOrigins());
+		List<Building> destinations = buildings(map, request.getDestinations());
+		RoutingProfile profile = request.getProfile() == null ? RoutingProfile.DEFAULT : request.getProfile();
+		Function<List<Building>, double[][]> matrix = map.distanceMatrix(destinations, profile);
+
+		return block(matrix, origins, 0).thenApply(first -> {
+			StreamingResponseBody body = stream -> {
+				Writer out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+				out.write("{\"university\":\"");
+				out.write(university.replace("\\", "\\\\").replace("\"", "\\\""));
+				out.write("\",\"origins\":");
+				writeIds(out, request.getOrigins());
+				out.write(",\"destinations\":");
+				writeIds(out, request.getDestinations());
+				out.write(",\"costs\":[");
+				double[][] costs = first;
+				for (int from = 0; from < origins.size(); from += ROWS_PER_BLOCK) {
+					if (from > 0) costs = block(matrix, origins, from).join();
+					for (int i = 0; i < costs.length; i++) {
+						if (from + i > 0) out.write(',');
+						writeRow(out, costs[i]);
+					}
+					out.flush();
+				}
+				out.write("]}");
+				out.flush();
+			};
+			return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+		});
+	}
+
+	/**
+	 * @return the rows of the distance matrix for the block of origins starting at from
+	 */
+	private CompletableFuture<double[][]> block(Function<List<Building>, double[][]> matrix, List<Building> origins, int from) {
+		List<Building> block = origins.subList(from, Math.min(from + ROWS_PER_BLOCK, origins.size()));
+		return routing.distanceMatrix(matrix, block);
+	}
+
+	private static List<Building> buildings(MapModel map, List<Integer> ids) {
+		List<Building> buildings = new ArrayList<>(ids.size());
+		for (Integer id : ids) {
+			if (id == null) {
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Building ids may not be null");
+			}
+			buildings.add(RoutingService.building(map, id));
+		}
+		return buildings;
+	}
+
+	private static void writeIds(Writer out, List<Integer> ids) throws IOException {
+		out.write('[');
+		for (int i = 0; i < ids.size(); i++) {
+			if (i > 0) out.write(',');
+			out.write(Integer.toString(ids.get(i)));
+		}
+		out.write(']');
+	}
+
+	private static void writeRow(Writer out, double[] row) throws IOException {
+		out.write('[');
+		for (int j = 0; j < row.length; j++) {
+			if (j > 0) out.write(',');
+			out.write(Double.isInfinite(row[j]) ? "null" : Double.toString(row[j]));
+		}
+		out.write(']');
+	}
+
+}
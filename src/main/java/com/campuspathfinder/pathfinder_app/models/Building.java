@@ -5,25 +5,36 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
-import lombok.AllArgsConstructor;
 import lombok.Data;
-import lombok.NoArgsConstructor;
 
 
 @Entity
 @Table(name="buildings")
+@Cacheable
+@Cache(usage=CacheConcurrencyStrategy.READ_WRITE)
 @Data
-@NoArgsConstructor
-@AllArgsConstructor
 public class Building implements Comparable<Building> {
+	/** The key of the stored row, which is not the building's id on its map. */
 	@Id
 	@GeneratedValue(strategy=GenerationType.IDENTITY)
+	private Long databaseId;
+	
+	@Column(name="bldg_id", nullable=false)
 	private int id;
 	
 	@Column(nullable=false)
@@ -32,11 +43,21 @@ public class Building implements Comparable<Building> {
 	@Column(nullable=false)
 	private String type;
 	
-	@Column(nullable=false)
+	// loaded for every building of a map in one query, the first time any is asked for
+	@OneToMany(mappedBy="parentBuilding", cascade=CascadeType.ALL, orphanRemoval=true, fetch=FetchType.LAZY)
+	@Fetch(FetchMode.SUBSELECT)
+	@Cache(usage=CacheConcurrencyStrategy.READ_WRITE)
 	private List<Node> accessPoints;
 	
+	@Column(nullable=false)
+	private int xCoord;
+	
+	@Column(nullable=false)
+	private int yCoord;
+	
 	public Building() {
 		this.name = "";
+		this.type = "";
 		this.id = 0;
 		this.accessPoints = new ArrayList<>();
 	}
@@ -47,6 +68,15 @@ public class Building implements Comparable<Building> {
 		this.accessPoints = accessPoints;
 	}
 	
+	public Building(String name, int id, int xCoord, int yCoord) {
+		this.name = name;
+		this.id = id;
+		this.type = "";
+		this.xCoord = xCoord;
+		this.yCoord = yCoord;
+		this.accessPoints = new ArrayList<>();
+	}
+	
 	public String getBldgName() {
 		return this.name;
 	}
@@ -55,10 +85,31 @@ public class Building implements Comparable<Building> {
 		return this.id;
 	}
 	
+	public int getBldgXCoord() {
+		return this.xCoord;
+	}
+	
+	public int getBldgYCoord() {
+		return this.yCoord;
+	}
+	
 	public List<Node> getAccessPoints() {
 		return this.accessPoints;
 	}
 	
+	/**
+	 * @return true if the building can be entered without steps: one of its access 
+	 *         points is accessible, or it records none, as intersections and maps 
+	 *         loaded from CSV files do
+	 */
+	public boolean isStepFree() {
+		if (accessPoints == null || accessPoints.isEmpty()) return true;
+		for (Node point : accessPoints) {
+			if (point.isAccessible()) return true;
+		}
+		return false;
+	}
+	
 	public int hashCode() {
 		int hash = 5; 
         hash = 7 * hash + name.hashCode();
@@ -2,8 +2,13 @@ package com.campuspathfinder.pathfinder_app.models;
 
 import java.util.Objects;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -14,17 +19,20 @@ import lombok.Data;
 
 @Entity
 @Table(name = "edges")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 public class BuildingEdge implements Comparable<BuildingEdge> {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private int id;
 
-    @ManyToOne
+    // both ends are buildings of the same map, which are loaded with it
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "source_building_id", nullable = false)
     private Building sourceBuilding;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "target_building_id", nullable = false)
     private Building targetBuilding;
 
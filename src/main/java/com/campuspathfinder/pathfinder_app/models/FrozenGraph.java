@@ -0,0 +1,333 @@
+package com.campuspathfinder.pathfinder_app.models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/** <b>FrozenGraph</b> is an <b>immutable</b> snapshot of a {@link Graph} with 
+    Double edge labels, laid out for read-only routing.
+    <p>
+    Every node is given a dense int id in [0, size()). The outgoing edges of 
+    node u are the edge indices in [firstEdge(u), lastEdge(u)), and each edge 
+    stores its target id and its weight in primitive arrays (compressed sparse 
+    row layout), so a search never builds {@link Node} wrappers or unboxes 
+    weights while it runs.
+    <p>
+    The incoming edges of every node are indexed the same way, so searches 
+    can also run backwards from a target.
+*/
+
+public final class FrozenGraph<NT extends Comparable<NT>> {
+    private final List<NT> nodes;
+    private final Map<NT, Integer> ids;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final int[] inOffsets;
+    private final int[] inSources;
+    private final int[] inEdges;
+    private final long version;
+    
+    /* Abstraction Function:
+       A FrozenGraph f is the directed graph with nodes f.nodes, where node u 
+       has an edge to targets[e] labeled weights[e] for every e in 
+       [offsets[u], offsets[u + 1]).
+       
+       Representation Invariant:
+         * offsets.length == nodes.size() + 1, offsets[0] == 0 and offsets is non-decreasing
+         * targets.length == weights.length == offsets[nodes.size()]
+         * ids.get(nodes.get(i)) == i for every id i
+         * for every i in [inOffsets[v], inOffsets[v + 1]), edge inEdges[i] goes 
+           from inSources[i] to v, and every edge appears exactly once this way
+    */
+    
+    private FrozenGraph(List<NT> nodes, Map<NT, Integer> ids, int[] offsets, int[] targets, double[] weights, long version) {
+        this.nodes = nodes;
+        this.ids = ids;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.version = version;
+        
+        int n = nodes.size();
+        this.inOffsets = new int[n + 1];
+        this.inSources = new int[targets.length];
+        this.inEdges = new int[targets.length];
+        for (int target : targets) {
+            inOffsets[target + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            inOffsets[v + 1] += inOffsets[v];
+        }
+        int[] next = Arrays.copyOf(inOffsets, n);
+        for (int u = 0; u < n; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int i = next[targets[e]]++;
+                inSources[i] = u;
+                inEdges[i] = e;
+            }
+        }
+    }
+    
+    private FrozenGraph(FrozenGraph<NT> other, double[] weights, long version) {
+        this.nodes = other.nodes;
+        this.ids = other.ids;
+        this.offsets = other.offsets;
+        this.targets = other.targets;
+        this.weights = weights;
+        this.inOffsets = other.inOffsets;
+        this.inSources = other.inSources;
+        this.inEdges = other.inEdges;
+        this.version = version;
+    }
+    
+    /**
+     * Assemble a snapshot from arrays that are already in the layout described 
+     * above, e.g. as read back from a file. The arrays are used, not copied.
+     *
+     * @param nodes   Every node, indexed by id.
+     * @param offsets The outgoing edges of node u are [offsets[u], offsets[u + 1]).
+     * @param targets The id each edge points to.
+     * @param weights The weight of each edge.
+     * @param version The version to report from {@link #version()}.
+     * @return a snapshot over the given arrays
+     * @throws IllegalArgumentException if the arrays do not describe a valid graph 
+     *                                  or a node appears twice
+     */
+    public static <NT extends Comparable<NT>> FrozenGraph<NT> of(List<NT> nodes, int[] offsets, int[] targets, double[] weights, long version) {
+        int n = nodes.size();
+        if (offsets.length != n + 1 || offsets[0] != 0 || offsets[n] != targets.length || weights.length != targets.length) {
+            throw new IllegalArgumentException("offsets, targets and weights do not match " + n + " nodes");
+        }
+        for (int u = 0; u < n; u++) {
+            if (offsets[u] > offsets[u + 1]) throw new IllegalArgumentException("offsets decrease at node " + u);
+        }
+        for (int target : targets) {
+            if (target < 0 || target >= n) throw new IllegalArgumentException("edge target " + target + " is not a node id");
+        }
+        Map<NT, Integer> ids = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            if (ids.putIfAbsent(nodes.get(i), i) != null) throw new IllegalArgumentException("node " + nodes.get(i) + " appears twice");
+        }
+        return new FrozenGraph<>(Collections.unmodifiableList(new ArrayList<>(nodes)), ids, offsets, targets, weights, version);
+    }
+    
+    /**
+     * @return a snapshot sharing this one's nodes and edges that reports the given version
+     */
+    FrozenGraph<NT> withVersion(long version) {
+        return new FrozenGraph<>(this, weights, version);
+    }
+    
+    /**
+     * Shut some nodes off for routing. The result keeps every node and edge of 
+     * this graph in the same place, but edges into and out of excluded nodes 
+     * weigh positive infinity, so no search ever relaxes them. Everything except 
+     * the weights is shared, so node and edge ids, heuristics and overlay views 
+     * of this graph all apply to the result.
+     *
+     * @param excluded Which nodes no route may pass through, start at or end at.
+     * @return the restricted graph, or this graph if no node is excluded
+     */
+    public FrozenGraph<NT> excluding(Predicate<? super NT> excluded) {
+        int n = nodes.size();
+        boolean[] closed = new boolean[n];
+        boolean any = false;
+        for (int u = 0; u < n; u++) {
+            closed[u] = excluded.test(nodes.get(u));
+            any |= closed[u];
+        }
+        if (!any) return this;
+        
+        double[] restricted = Arrays.copyOf(weights, weights.length);
+        for (int u = 0; u < n; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                if (closed[u] || closed[targets[e]]) restricted[e] = Double.POSITIVE_INFINITY;
+            }
+        }
+        return new FrozenGraph<>(this, restricted, version);
+    }
+    
+    /**
+     * Take a snapshot of a graph. Later changes to the graph are not seen by the snapshot.
+     *
+     * @param graph The graph to copy.
+     * @return a frozen copy of graph
+     */
+    public static <NT extends Comparable<NT>> FrozenGraph<NT> of(Graph<NT, Double> graph) {
+        return of(graph, Double::doubleValue);
+    }
+    
+    /**
+     * Take a snapshot of a graph with any kind of edge label.
+     *
+     * @param graph  The graph to copy.
+     * @param weight Turns an edge label into the weight stored in the snapshot.
+     * @return a frozen copy of graph
+     */
+    public static <NT extends Comparable<NT>, ET extends Comparable<ET>> FrozenGraph<NT> of(Graph<NT, ET> graph, ToDoubleFunction<? super ET> weight) {
+        List<NT> nodes = new ArrayList<>(graph.Edges.size());
+        Map<NT, Integer> ids = new HashMap<>();
+        int edgeCount = 0;
+        for (Map.Entry<Node<NT>, HashMap<Node<NT>, ET>> entry : graph.Edges.entrySet()) {
+            assignId(entry.getKey().getNodeData(), nodes, ids);
+            edgeCount += entry.getValue().size();
+        }
+        // removeNode leaves incoming edges behind, so targets may not be keys
+        for (HashMap<Node<NT>, ET> edgesMap : graph.Edges.values()) {
+            for (Node<NT> target : edgesMap.keySet()) {
+                assignId(target.getNodeData(), nodes, ids);
+            }
+        }
+        
+        int[] offsets = new int[nodes.size() + 1];
+        int[] targets = new int[edgeCount];
+        double[] weights = new double[edgeCount];
+        int e = 0;
+        for (int u = 0; u < nodes.size(); u++) {
+            offsets[u] = e;
+            HashMap<Node<NT>, ET> edgesMap = graph.Edges.get(new Node<>(nodes.get(u)));
+            if (edgesMap == null) continue;
+            for (Map.Entry<Node<NT>, ET> edge : edgesMap.entrySet()) {
+                targets[e] = ids.get(edge.getKey().getNodeData());
+                weights[e] = weight.applyAsDouble(edge.getValue());
+                e++;
+            }
+        }
+        offsets[nodes.size()] = e;
+        return new FrozenGraph<>(Collections.unmodifiableList(nodes), ids, offsets, targets, weights, graph.version());
+    }
+    
+    private static <NT> void assignId(NT node, List<NT> nodes, Map<NT, Integer> ids) {
+        if (ids.putIfAbsent(node, nodes.size()) == null) {
+            nodes.add(node);
+        }
+    }
+    
+    /**
+     * @return the {@link Graph#version()} of the graph when the snapshot was taken
+     */
+    public long version() {
+        return version;
+    }
+    
+    /**
+     * @return the number of nodes in the snapshot
+     */
+    public int size() {
+        return nodes.size();
+    }
+    
+    /**
+     * @return the number of directed edges in the snapshot
+     */
+    public int edgeCount() {
+        return targets.length;
+    }
+    
+    /**
+     * @param node The node to look up.
+     * @return the dense id of node, or -1 if it is not in the snapshot
+     */
+    public int indexOf(NT node) {
+        Integer id = ids.get(node);
+        return id == null ? -1 : id;
+    }
+    
+    /**
+     * @param id A dense node id.
+     * @return the node with the given id
+     */
+    public NT node(int id) {
+        return nodes.get(id);
+    }
+    
+    /**
+     * @return every node, indexed by id
+     */
+    public List<NT> nodes() {
+        return nodes;
+    }
+    
+    /**
+     * @param u A dense node id.
+     * @return the index of the first outgoing edge of u
+     */
+    public int firstEdge(int u) {
+        return offsets[u];
+    }
+    
+    /**
+     * @param u A dense node id.
+     * @return one past the index of the last outgoing edge of u
+     */
+    public int lastEdge(int u) {
+        return offsets[u + 1];
+    }
+    
+    /**
+     * @param e An edge index.
+     * @return the id of the node edge e points to
+     */
+    public int target(int e) {
+        return targets[e];
+    }
+    
+    /**
+     * @param e An edge index.
+     * @return the weight of edge e
+     */
+    public double weight(int e) {
+        return weights[e];
+    }
+    
+    /**
+     * @param v A dense node id.
+     * @return the position of the first incoming edge of v
+     */
+    public int firstInEdge(int v) {
+        return inOffsets[v];
+    }
+    
+    /**
+     * @param v A dense node id.
+     * @return one past the position of the last incoming edge of v
+     */
+    public int lastInEdge(int v) {
+        return inOffsets[v + 1];
+    }
+    
+    /**
+     * @param i The position of an incoming edge.
+     * @return the id of the node the incoming edge comes from
+     */
+    public int inSource(int i) {
+        return inSources[i];
+    }
+    
+    /**
+     * @param i The position of an incoming edge.
+     * @return the index of the incoming edge among all edges
+     */
+    public int inEdge(int i) {
+        return inEdges[i];
+    }
+    
+    /**
+     * @param u The id of the source node.
+     * @param v The id of the target node.
+     * @return the index of the edge from u to v, or -1 if there is none
+     */
+    public int edgeBetween(int u, int v) {
+        for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+            if (targets[e] == v) return e;
+        }
+        return -1;
+    }
+    
+}
@@ -3,14 +3,18 @@ package com.campuspathfinder.pathfinder_app.models;
 import java.util.List;
 import java.util.Map;
 import java.util.PriorityQueue;
-import java.util.Queue;
 import java.util.Set;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.Comparator;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.campuspathfinder.pathfinder_app.routing.BreadthFirstSearch;
+import com.campuspathfinder.pathfinder_app.routing.SearchWorkspace;
 
 /** <b>GraphADT</b> represents a <b>mutable</b> abstract data type for a 
     directed labeled multigraph. It includes methods for managing 
@@ -35,6 +39,13 @@ public class Graph<NT extends Comparable<NT>, ET extends Comparable<ET>> {
     @SuppressWarnings("unused")
     public final HashMap<Node<NT>,HashMap<Node<NT>, ET>> Edges;
     
+    private final List<GraphListener<NT>> listeners = new CopyOnWriteArrayList<>();
+    
+    // volatile so threads that only read it see whole values; the graph itself is not thread-safe
+    private volatile long version;
+    
+    private FrozenGraph<NT> topology;
+    
     /* Abstraction Function:
        A GraphADT g is a directed labeled multigraph where g.Edges 
        represent a list of all directed and reflexive edges between nodes
@@ -81,7 +92,10 @@ public class Graph<NT extends Comparable<NT>, ET extends Comparable<ET>> {
      */
     public void addNode(NT node) {
         Node<NT> newNode = new Node<>(node);
-        Edges.putIfAbsent(newNode, new HashMap<>());
+        if (Edges.putIfAbsent(newNode, new HashMap<>()) == null) {
+            version++;
+            for (GraphListener<NT> listener : listeners) listener.nodeAdded(node);
+        }
     }
 
     /**
@@ -92,7 +106,10 @@ public class Graph<NT extends Comparable<NT>, ET extends Comparable<ET>> {
      */
     public void removeNode(NT node) {
         Node<NT> nodeToRemove = new Node<>(node);
-        Edges.remove(nodeToRemove);
+        if (Edges.remove(nodeToRemove) != null) {
+            version++;
+            for (GraphListener<NT> listener : listeners) listener.nodeRemoved(node);
+        }
     }
 
     /**
@@ -110,6 +127,8 @@ public class Graph<NT extends Comparable<NT>, ET extends Comparable<ET>> {
         HashMap<Node<NT>, ET> edgesMap = Edges.getOrDefault(sourceNode, new HashMap<>());
         edgesMap.put(targetNode, label);
         Edges.put(sourceNode, edgesMap);
+        version++;
+        for (GraphListener<NT> listener : listeners) listener.edgeAdded(sourceNodeID, targetNodeID);
     }
 
     /**
@@ -126,9 +145,41 @@ public class Graph<NT extends Comparable<NT>, ET extends Comparable<ET>> {
         HashMap<Node<NT>, ET> edgesMap = Edges.getOrDefault(sourceNode, new HashMap<>());
         if(edgesMap.get(targetNode).equals(label)) {
             edgesMap.remove(targetNode);
+            version++;
+            for (GraphListener<NT> listener : listeners) listener.edgeRemoved(sourceNodeID, targetNodeID);
             return;
         }
     }
+    
+    /**
+     * Register a listener to be told about every later change made through the 
+     * mutator methods. Changes made directly to Edges are not reported.
+     *
+     * @modifies this
+     * @param listener The listener to add.
+     */
+    public void addListener(GraphListener<NT> listener) {
+        listeners.add(listener);
+    }
+    
+    /**
+     * Unregister a listener added with {@link #addListener}.
+     *
+     * @modifies this
+     * @param listener The listener to remove.
+     */
+    public void removeListener(GraphListener<NT> listener) {
+        listeners.remove(listener);
+    }
+    
+    /**
+     * Get the modification count of the graph.
+     *
+     * @return a number that grows every time a mutator method changes the graph
+     */
+    public long version() {
+        return version;
+    }
 
     /**
      * Check if a node exists in the graph.
@@ -163,54 +214,6 @@ public class Graph<NT extends Comparable<NT>, ET extends Comparable<ET>> {
         return false;
     }
 
-    private List<Node<NT>> reconstructPath(Node<NT> startNode, Node<NT> targetNode, Map<Node<NT>, Node<NT>> parentMap) {
-        List<Node<NT>> path = new ArrayList<>();
-        Node<NT> current = targetNode;
-        
-        while (current != null && !current.equals(startNode)) {
-            path.add(0, current); 
-            current = parentMap.get(current);
-        }
-        
-        
-        if (current != null) {
-            path.add(0, startNode);
-        }
-        
-        return path;
-    }
-    
-    private List<Node<NT>> bfs(Node<NT> currentNode, Node<NT> targetNode) {
-        
-        Queue<Node<NT>> queue = new LinkedList<Node<NT>>();
-        Set<Node<NT>> visited = new HashSet<Node<NT>>();
-        List<Node<NT>> path = new ArrayList<Node<NT>>();
-        Map<Node<NT>, Node<NT>> parentMap = new HashMap<Node<NT>, Node<NT>>();
-
-        queue.add(currentNode);
-        visited.add(currentNode);
-        
-        while (!queue.isEmpty()) {
-            Node<NT> current = queue.poll();
-            path.add(current);
-
-            if (current.equals(targetNode)) {
-                return reconstructPath(currentNode, targetNode, parentMap);
-            }
-            
-            HashMap<Node<NT>, ET> edgesMap = Edges.getOrDefault(current, new HashMap<>());
-            for(Map.Entry<Node<NT>, ET> entry : edgesMap.entrySet()) {
-                Node<NT> neighbor = entry.getKey();
-                if (!visited.contains(neighbor)) {
-                    queue.add(neighbor);
-                    visited.add(neighbor);
-                    parentMap.put(neighbor, current);
-                }
-            }
-        }
-        return null;
-    }
-    
     /**
      * Find a path between two nodes in the graph.
      *
@@ -221,11 +224,39 @@ public class Graph<NT extends Comparable<NT>, ET extends Comparable<ET>> {
      */
     public List<Node<NT>> findPath(NT sourceNodeID, NT targetNodeID) {
         //throw new RuntimeException("GraphADT.findPath() is not yet implemented");
-        Node<NT> sourceNode = new Node<>(sourceNodeID);
-        Node<NT> targetNode = new Node<>(targetNodeID);
-        List<Node<NT>> path = bfs(sourceNode, targetNode);
+        FrozenGraph<NT> graph = topology();
+        int source = graph.indexOf(sourceNodeID);
+        int target = graph.indexOf(targetNodeID);
+        if (source < 0 || target < 0) {
+            if (!sourceNodeID.equals(targetNodeID)) return null;
+            List<Node<NT>> path = new ArrayList<>(1);
+            path.add(new Node<>(sourceNodeID));
+            return path;
+        }
+        
+        SearchWorkspace ws = SearchWorkspace.get(graph.size());
+        if (!BreadthFirstSearch.search(graph, source, target, ws)) return null;
+        
+        List<Node<NT>> path = new ArrayList<>((int) ws.distance(target) + 1);
+        for (int v = target; v >= 0; v = ws.parent(v)) {
+            path.add(new Node<>(graph.node(v)));
+        }
+        Collections.reverse(path);
         return path;
     }
+    
+    /**
+     * @return a snapshot of the current nodes and edges, taken again only after the graph changes
+     */
+    private FrozenGraph<NT> topology() {
+        FrozenGraph<NT> graph = topology;
+        if (graph == null || graph.version() != version) {
+            // findPath only follows edges, so the labels need not be numbers
+            graph = FrozenGraph.of(this, label -> 0.0);
+            topology = graph;
+        }
+        return graph;
+    }
 
     /**
      * Lists the children that is outgoing from a code
@@ -327,4 +358,86 @@ public class Graph<NT extends Comparable<NT>, ET extends Comparable<ET>> {
         return new LinkedHashSet<>(); // No path found
     }
     
+    /**
+     * Find the cheapest path between two nodes with a node-keyed Dijkstra search.
+     * Every node keeps its best known distance and parent; the queue only holds
+     * (node, distance) entries and stale ones are skipped when polled, so the
+     * winning path is the only one ever built.
+     *
+     * @requires every edge label in graph is non-negative
+     * @param startNode The node the path starts from.
+     * @param destNode  The node the path ends at.
+     * @param graph     The graph to search.
+     * @return the edges of the cheapest path, led by a zero-cost self edge on startNode
+     *         just like {@link #dijkstra}, or an empty set if no path exists.
+     */
+    public static <N extends Comparable<N>> LinkedHashSet<Edge<N, Double>> shortestPath(Node<N> startNode, Node<N> destNode, Graph<N, Double> graph) {
+        Map<Node<N>, Double> dist = new HashMap<>();
+        Map<Node<N>, Node<N>> parentMap = new HashMap<>();
+        Set<Node<N>> finished = new HashSet<>();
+        PriorityQueue<QueueEntry<N>> active = new PriorityQueue<>();
+        
+        dist.put(startNode, 0.0);
+        active.add(new QueueEntry<>(startNode, 0.0));
+        
+        while (!active.isEmpty()) {
+            QueueEntry<N> min = active.poll();
+            Node<N> minDest = min.node;
+            
+            if (!finished.add(minDest)) continue; // a cheaper entry already settled it
+            
+            if (minDest.equals(destNode)) return buildPath(startNode, destNode, parentMap, graph);
+            
+            HashMap<Node<N>, Double> edgesMap = graph.Edges.get(minDest);
+            if (edgesMap == null) continue;
+            for (Map.Entry<Node<N>, Double> entry : edgesMap.entrySet()) {
+                Node<N> child = entry.getKey();
+                if (finished.contains(child)) continue;
+                double cost = min.distance + entry.getValue();
+                Double known = dist.get(child);
+                if (known == null || cost < known) {
+                    dist.put(child, cost);
+                    parentMap.put(child, minDest);
+                    active.add(new QueueEntry<>(child, cost));
+                }
+            }
+        }
+        
+        return new LinkedHashSet<>(); // No path found
+    }
+    
+    private static <N extends Comparable<N>> LinkedHashSet<Edge<N, Double>> buildPath(Node<N> startNode, Node<N> destNode, 
+            Map<Node<N>, Node<N>> parentMap, Graph<N, Double> graph) {
+        List<Node<N>> nodes = new ArrayList<>();
+        for (Node<N> current = destNode; !current.equals(startNode); current = parentMap.get(current)) {
+            nodes.add(current);
+        }
+        nodes.add(startNode);
+        Collections.reverse(nodes);
+        
+        LinkedHashSet<Edge<N, Double>> path = new LinkedHashSet<>();
+        path.add(new Edge<>(startNode, startNode, 0.0));
+        for (int i = 1; i < nodes.size(); i++) {
+            Node<N> source = nodes.get(i - 1);
+            Node<N> target = nodes.get(i);
+            path.add(new Edge<>(source, target, graph.getEdgeLabel(source, target)));
+        }
+        return path;
+    }
+    
+    private static final class QueueEntry<N extends Comparable<N>> implements Comparable<QueueEntry<N>> {
+        private final Node<N> node;
+        private final double distance;
+        
+        QueueEntry(Node<N> node, double distance) {
+            this.node = node;
+            this.distance = distance;
+        }
+        
+        @Override
+        public int compareTo(QueueEntry<N> other) {
+            return Double.compare(distance, other.distance);
+        }
+    }
+    
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.campuspathfinder.pathfinder_app.models;
+
+/**
+ * <b>GraphListener</b> is told about every change made to a {@link Graph} 
+ * through its mutator methods, after the change has been applied.
+ * (It is a part of the GraphADT)
+ */
+
+public interface GraphListener<NT extends Comparable<NT>> {
+    
+    /**
+     * A node with no edges was added.
+     */
+    void nodeAdded(NT node);
+    
+    /**
+     * A node and its outgoing edges were removed.
+     */
+    void nodeRemoved(NT node);
+    
+    /**
+     * An edge was added, or the label of an existing edge was replaced.
+     */
+    void edgeAdded(NT source, NT target);
+    
+    /**
+     * An edge was removed.
+     */
+    void edgeRemoved(NT source, NT target);
+    
+}
@@ -1,9 +1,41 @@
 package com.campuspathfinder.pathfinder_app.models;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
+import com.campuspathfinder.pathfinder_app.routing.AStar;
+import com.campuspathfinder.pathfinder_app.routing.BatchRoutes;
+import com.campuspathfinder.pathfinder_app.routing.BidirectionalDijkstra;
+import com.campuspathfinder.pathfinder_app.routing.ContractionHierarchy;
+import com.campuspathfinder.pathfinder_app.routing.Dijkstra;
+import com.campuspathfinder.pathfinder_app.routing.DistanceMatrix;
+import com.campuspathfinder.pathfinder_app.routing.EdgeOverlay;
+import com.campuspathfinder.pathfinder_app.routing.EuclideanHeuristic;
+import com.campuspathfinder.pathfinder_app.routing.RankedNode;
+import com.campuspathfinder.pathfinder_app.routing.RouteCache;
+import com.campuspathfinder.pathfinder_app.routing.RouteOptions;
+import com.campuspathfinder.pathfinder_app.routing.RoutePaths;
+import com.campuspathfinder.pathfinder_app.routing.RouteTable;
+import com.campuspathfinder.pathfinder_app.routing.RoutingMetrics;
+import com.campuspathfinder.pathfinder_app.routing.RoutingProfile;
+import com.campuspathfinder.pathfinder_app.routing.SearchStats;
+import com.campuspathfinder.pathfinder_app.routing.SearchWorkspace;
+import com.campuspathfinder.pathfinder_app.routing.ShortestPathTree;
+import com.campuspathfinder.pathfinder_app.routing.SpatialIndex;
+import com.campuspathfinder.pathfinder_app.util.BuildingCatalogue;
 import com.campuspathfinder.pathfinder_app.util.MapParser;
+import com.campuspathfinder.pathfinder_app.util.MapSnapshot;
+import com.campuspathfinder.pathfinder_app.util.NameIndex;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -18,32 +50,194 @@ import jakarta.persistence.Transient;
 import lombok.Data;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.nio.file.StandardOpenOption;
 
+/**
+ * <b>MapModel</b> is the map of one university: its buildings, the paths between 
+ * them, and the routing built over them.
+ * <p>
+ * Stored maps are read far more often than they are written, so the map, its 
+ * buildings and its edges are kept in the second-level cache. The buildings and 
+ * edges are loaded lazily, and {@link com.campuspathfinder.pathfinder_app.services.MapStore} 
+ * loads a whole map in a fixed number of queries however large it is.
+ */
 @Entity
 @Table(name="maps")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 public class MapModel {
 	@Id
 	@GeneratedValue(strategy=GenerationType.IDENTITY)
 	private int id;
 	
-	@Column(nullable=false)
+	@Column(nullable=false, unique=true)
 	private String university;
 	
-	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "map_id")
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<Building> buildings = new HashSet<>();
 	
 	
-	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+	@OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JoinColumn(name = "map_id")
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<BuildingEdge> edges = new HashSet<>();
 	
 	@Transient
 	private Graph<Building, Double> model = new Graph<>();
 	
 	@Transient
-	private Map<Building, Set<Integer>> pathways = new HashMap<Building, Set<Integer>>();
+	private volatile boolean graphPending;
+	
+	/**
+	 * One published version of the graph, with everything routing derives from it. 
+	 * Versions are only ever replaced whole, so a reader that holds one sees a 
+	 * consistent graph, heuristic and route table however many edits follow.
+	 */
+	private static final class RoutingVersion {
+		final FrozenGraph<Building> graph;
+		final EuclideanHeuristic heuristic;
+		final RouteTable<Building> routeTable;
+		/** onMap[u] is true if node u of graph is a key of the graph it was frozen from. */
+		final boolean[] onMap;
+		/** The nodes of graph that are on the map, in the order of their ids. */
+		final List<Building> buildings;
+		final AtomicReferenceArray<FrozenGraph<Building>> profiles = new AtomicReferenceArray<>(RoutingProfile.values().length);
+		final long publishedAt = System.currentTimeMillis();
+		private volatile SpatialIndex<Building> spatialIndex;
+		private volatile NameIndex nameIndex;
+		final AtomicReference<BuildingCatalogue> catalogue = new AtomicReference<>();
+		
+		RoutingVersion(FrozenGraph<Building> graph, boolean[] onMap, EuclideanHeuristic heuristic, RouteTable<Building> routeTable) {
+			this.graph = graph;
+			this.onMap = onMap;
+			this.heuristic = heuristic;
+			this.routeTable = routeTable;
+			List<Building> buildings = new ArrayList<>(graph.size());
+			for (int u = 0; u < graph.size(); u++) {
+				if (onMap[u]) buildings.add(graph.node(u));
+			}
+			this.buildings = Collections.unmodifiableList(buildings);
+			profiles.set(RoutingProfile.DEFAULT.ordinal(), graph);
+		}
+		
+		/**
+		 * @return the graph restricted to what profile allows, built the first time it 
+		 *         is asked for. It shares its nodes and edges with graph, so the heuristic 
+		 *         and overlay views of graph apply to it as they are.
+		 */
+		FrozenGraph<Building> graph(RoutingProfile profile) {
+			FrozenGraph<Building> restricted = profiles.get(profile.ordinal());
+			if (restricted == null) {
+				// two threads may both build it; either result is the same graph
+				profiles.compareAndSet(profile.ordinal(), null, graph.excluding(bldg -> !profile.allows(bldg)));
+				restricted = profiles.get(profile.ordinal());
+			}
+			return restricted;
+		}
+		
+		/**
+		 * @return the index of where the buildings on the map are, built the first time it is asked for
+		 */
+		SpatialIndex<Building> spatialIndex() {
+			SpatialIndex<Building> index = spatialIndex;
+			if (index == null) {
+				// two threads may both build it; either result is the same index
+				index = SpatialIndex.of(graph, u -> onMap[u], Building::getBldgXCoord, Building::getBldgYCoord);
+				spatialIndex = index;
+			}
+			return index;
+		}
+		
+		/**
+		 * @return the index of the names of the buildings of graph, built the first time it is asked for
+		 */
+		NameIndex nameIndex() {
+			NameIndex index = nameIndex;
+			if (index == null) {
+				index = NameIndex.of(buildings);
+				nameIndex = index;
+			}
+			return index;
+		}
+		
+		/**
+		 * @return the catalogue of the buildings of graph, built the first time it is asked for
+		 */
+		BuildingCatalogue catalogue() {
+			BuildingCatalogue built = catalogue.get();
+			if (built == null) {
+				// two threads may both build one, but each has its own tag and time, so only 
+				// the first published is ever handed out
+				catalogue.compareAndSet(null, BuildingCatalogue.of(buildings, graph.version()));
+				built = catalogue.get();
+			}
+			return built;
+		}
+		
+		/**
+		 * Keep whatever of previous depends only on which buildings are on the map, 
+		 * if the same ones are on it, so that editing edges does not rebuild it.
+		 */
+		void inherit(RoutingVersion previous) {
+			if (previous == null || previous.buildings.size() != buildings.size()) return;
+			for (Building bldg : buildings) {
+				int u = previous.graph.indexOf(bldg);
+				if (u < 0 || !previous.onMap[u]) return;
+			}
+			nameIndex = previous.nameIndex;
+			catalogue.set(previous.catalogue.get());
+		}
+	}
+	
+	@Transient
+	private final AtomicReference<RoutingVersion> published = new AtomicReference<>();
+	
+	/** Held by whoever is changing the graph or publishing a version of it; readers never take it. */
+	@Transient
+	private final ReentrantLock writeLock = new ReentrantLock();
+	
+	@Transient
+	private boolean precomputeRoutes;
+	
+	@Transient
+	private volatile ContractionHierarchy<Building> hierarchy;
+	
+	@Transient
+	private RouteCache routeCache;
+	
+	@Transient
+	private final EdgeOverlay<Building> overlay = new EdgeOverlay<>();
+	
+	/** Told about every route query while it is enabled. */
+	@Transient
+	private volatile RoutingMetrics metrics = RoutingMetrics.NOOP;
+	
+	@Transient
+	private final GraphListener<Building> cacheInvalidator = new GraphListener<Building>() {
+		public void nodeAdded(Building node) {
+			routeCache.invalidateNode(MapModel.this, node);
+		}
+		
+		public void nodeRemoved(Building node) {
+			routeCache.invalidateNode(MapModel.this, node);
+		}
+		
+		public void edgeAdded(Building source, Building target) {
+			routeCache.invalidateMap(MapModel.this);
+		}
+		
+		public void edgeRemoved(Building source, Building target) {
+			routeCache.invalidateEdge(MapModel.this, source, target);
+		}
+	};
 	
 	@Transient
 	private Map<Integer, Building> buildingsById = new HashMap<Integer, Building>();
@@ -54,7 +248,7 @@ public class MapModel {
 	public MapModel() {
 		university = "";
 		this.model = new Graph<>();
-		this.pathways = new HashMap<>();
+		freeze();
 		this.buildingsById = new HashMap<>();
 		this.buildingsByName = new HashMap<>();
 	}
@@ -93,37 +287,342 @@ public class MapModel {
 	}
 	
 	public MapModel(String bldgFile, String edgesFile) {
+		this(bldgFile, edgesFile, false);
+	}
+	
+	/**
+	 * @param precomputeRoutes If true and the map has at most {@link RouteTable#MAX_NODES} nodes, 
+	 *                         every route is precomputed so findRoute runs no search.
+	 */
+	public MapModel(String bldgFile, String edgesFile, boolean precomputeRoutes) {
+		this.precomputeRoutes = precomputeRoutes;
 		this.model = new Graph<>();
 		this.university = "";
-		this.pathways = new HashMap<>();
 		this.buildingsById = new HashMap<>();
 		this.buildingsByName = new HashMap<>();
 		 try {
-			 	MapParser.readBuildings(bldgFile, buildingsById, buildingsByName);
-				MapParser.readEdges(edgesFile, pathways, buildingsById);
-		        
-		        for (Building bldg : buildingsById.values()) {
-		            model.addNode(bldg);  
-		        }
-		        
-		        
-		        for (Building b1 : pathways.keySet()) {
-		            Set<Integer> paths = pathways.get(b1);
-		            
-		            for(Integer id: paths) {
-		            	Building b2 = buildingsById.get(id);
-		            	int dx = Math.abs(b1.getBldgXCoord() - b2.getBldgXCoord());
-		            	int dy = Math.abs(b1.getBldgYCoord() - b2.getBldgYCoord());
-		            	double weight = Math.sqrt(dx * dx + dy * dy);
-		            	model.addEdge(b1, b2, weight);
-		            }
-		        }
+			 	readBuildings(FileChannel.open(Path.of(bldgFile), StandardOpenOption.READ), bldgFile);
+			 	readEdges(FileChannel.open(Path.of(edgesFile), StandardOpenOption.READ), edgesFile);
 			}
 			catch (IOException e) {
 				e.printStackTrace();
 			}
+		freeze();
+	}
+	
+	/**
+	 * Load the map of a university, reporting any problem instead of printing it and 
+	 * returning a partial map as the constructor does. Both channels are closed.
+	 *
+	 * @param buildings  Rows of BUILDING NAME,BUILDING ID,X-COORDINATE,Y-COORDINATE.
+	 * @param edges      Rows of ID1,ID2.
+	 * @throws IOException if either input cannot be read or is malformed, has no buildings, 
+	 *                     or an edge names a building that does not exist
+	 */
+	public static MapModel load(String university, ReadableByteChannel buildings, ReadableByteChannel edges) throws IOException {
+		return load(university, buildings, edges, RoutingMetrics.NOOP);
+	}
+	
+	/**
+	 * Same as {@link #load(String, ReadableByteChannel, ReadableByteChannel)}, timing each 
+	 * phase of the load with metrics, which the map then reports its route queries to.
+	 */
+	public static MapModel load(String university, ReadableByteChannel buildings, ReadableByteChannel edges, 
+			RoutingMetrics metrics) throws IOException {
+		MapModel map = new MapModel();
+		map.university = university;
+		map.metrics = metrics;
+		try {
+			long start = System.nanoTime();
+			map.readBuildings(buildings, university + " buildings");
+			long parsed = System.nanoTime();
+			metrics.mapLoaded(university, RoutingMetrics.LoadPhase.PARSE_BUILDINGS, parsed - start);
+			map.readEdges(edges, university + " edges");
+			metrics.mapLoaded(university, RoutingMetrics.LoadPhase.PARSE_EDGES, System.nanoTime() - parsed);
+		} catch (NumberFormatException e) {
+			throw new IOException("Map of " + university + " has a malformed number: " + e.getMessage(), e);
+		} finally {
+			buildings.close();
+			edges.close();
+		}
+		if (map.buildingsById.isEmpty()) {
+			throw new IOException("Map of " + university + " has no buildings.");
+		}
+		long start = System.nanoTime();
+		map.freeze();
+		metrics.mapLoaded(university, RoutingMetrics.LoadPhase.BUILD_GRAPH, System.nanoTime() - start);
+		return map;
+	}
+	
+	private void readBuildings(ReadableByteChannel buildings, String name) throws IOException {
+		MapParser.readBuildings(buildings, name, bldg -> {
+			buildingsById.put(bldg.getBldgId(), bldg);
+			buildingsByName.put(bldg.getName(), bldg);
+			model.addNode(bldg);
+		});
+	}
+	
+	/**
+	 * Stream edges into the graph. An edge row is read once and added both ways.
+	 */
+	private void readEdges(ReadableByteChannel edges, String name) throws IOException {
+		MapParser.readEdges(edges, name, (id1, id2) -> {
+			Building b1 = buildingsById.get(id1);
+			Building b2 = buildingsById.get(id2);
+			if (b1 == null || b2 == null) {
+				throw new IOException("File " + name + " refers to unknown building " + (b1 == null ? id1 : id2) + ".");
+			}
+			double weight = distance(b1, b2);
+			model.addEdge(b1, b2, weight);
+			model.addEdge(b2, b1, weight);
+		});
+	}
+	
+	private static double distance(Building b1, Building b2) {
+		int dx = Math.abs(b1.getBldgXCoord() - b2.getBldgXCoord());
+		int dy = Math.abs(b1.getBldgYCoord() - b2.getBldgYCoord());
+		return Math.sqrt(dx * dx + dy * dy);
+	}
+	
+	/**
+	 * Load a map written by {@link MapSnapshot#write}. The stored layout becomes the 
+	 * routing snapshot as it is, so the map can route straight away. The mutable 
+	 * graph is only built from it, without parsing or distance computation, the 
+	 * first time something asks for it.
+	 *
+	 * @throws IOException if the file cannot be read or is not a valid snapshot
+	 */
+	public static MapModel fromSnapshot(Path file) throws IOException {
+		FrozenGraph<Building> frozen = MapSnapshot.read(file);
+		MapModel map = new MapModel();
+		for (Building bldg : frozen.nodes()) {
+			map.buildingsById.put(bldg.getBldgId(), bldg);
+			map.buildingsByName.put(bldg.getName(), bldg);
+		}
+		// graph() adds each node and edge once, leaving the graph at exactly this version
+		map.graphPending = true;
+		boolean[] onMap = new boolean[frozen.size()];
+		Arrays.fill(onMap, true);
+		map.install(frozen.withVersion(frozen.size() + (long) frozen.edgeCount()), onMap);
+		return map;
+	}
+	
+	/**
+	 * @return the graph, first building it from the snapshot if the map was loaded from one
+	 */
+	private Graph<Building, Double> graph() {
+		if (graphPending) {
+			writeLock.lock();
+			try {
+				if (graphPending) {
+					FrozenGraph<Building> frozen = published.get().graph;
+					for (Building bldg : frozen.nodes()) {
+						model.addNode(bldg);
+					}
+					for (int u = 0; u < frozen.size(); u++) {
+						for (int e = frozen.firstEdge(u); e < frozen.lastEdge(u); e++) {
+							model.addEdge(frozen.node(u), frozen.node(frozen.target(e)), frozen.weight(e));
+						}
+					}
+					graphPending = false;
+				}
+			} finally {
+				writeLock.unlock();
+			}
+		}
+		return model;
+	}
+	
+	/**
+	 * @return the version of the graph, without building it if it is still pending
+	 */
+	private long graphVersion() {
+		return graphPending ? published.get().graph.version() : model.version();
+	}
+	
+	/**
+	 * @return the graph; changes made to it directly are only safe while no other 
+	 *         thread uses this map, see {@link #edit} otherwise
+	 */
+	public Graph<Building, Double> getModel() {
+		return graph();
+	}
+	
+	/**
+	 * @return the graph version that routes are currently found on
+	 */
+	public FrozenGraph<Building> getSnapshot() {
+		return currentSnapshot();
+	}
+	
+	/**
+	 * @return the precomputed routes of the current version, or null if there are none
+	 */
+	public RouteTable<Building> getRouteTable() {
+		return current().routeTable;
+	}
+	
+	/**
+	 * Make a batch of changes to the graph and publish them to routing as one new 
+	 * version. Writers take turns; routes never wait for them. A route that started 
+	 * before the new version is published finishes on the version it started with, 
+	 * and no route ever sees only part of a batch.
+	 * <p>
+	 * If changes throws, whatever it changed before throwing is still published.
+	 *
+	 * @param changes Applied to the graph while no other writer can change it.
+	 * @return the published version
+	 */
+	public FrozenGraph<Building> edit(Consumer<? super Graph<Building, Double>> changes) {
+		writeLock.lock();
+		try {
+			try {
+				changes.accept(graph());
+			} finally {
+				freeze();
+			}
+			return published.get().graph;
+		} finally {
+			writeLock.unlock();
+		}
+	}
+	
+	/**
+	 * Write the current graph to file in the {@link MapSnapshot} format.
+	 *
+	 * @throws IOException if the file cannot be written
+	 */
+	public void exportSnapshot(Path file) throws IOException {
+		MapSnapshot.write(currentSnapshot(), file);
 	}
 	
+	/**
+	 * Publish the graph as it is now. The caller holds writeLock or is a constructor.
+	 */
+	private RoutingVersion freeze() {
+		FrozenGraph<Building> frozen = FrozenGraph.of(model);
+		// removeNode leaves a building behind as the target of its incoming edges, so 
+		// only the keys of the graph are on the map
+		boolean[] onMap = new boolean[frozen.size()];
+		for (Node<Building> node : model.Edges.keySet()) {
+			onMap[frozen.indexOf(node.getNodeData())] = true;
+		}
+		return install(frozen, onMap);
+	}
+	
+	private RoutingVersion install(FrozenGraph<Building> frozen, boolean[] onMap) {
+		RoutingVersion version = new RoutingVersion(frozen, onMap, 
+				EuclideanHeuristic.of(frozen, Building::getBldgXCoord, Building::getBldgYCoord), 
+				precomputeRoutes && RouteTable.fits(frozen) ? RouteTable.build(frozen) : null);
+		version.inherit(published.get());
+		published.set(version);
+		return version;
+	}
+	
+	/**
+	 * @return the published version, first republishing the graph if it was changed 
+	 *         directly rather than through edit. Never waits: while a writer holds the 
+	 *         lock, the version it is about to replace is returned.
+	 */
+	private RoutingVersion current() {
+		RoutingVersion version = published.get();
+		if (version.graph.version() == graphVersion() || !writeLock.tryLock()) return version;
+		try {
+			version = published.get();
+			return version.graph.version() == graphVersion() ? version : freeze();
+		} finally {
+			writeLock.unlock();
+		}
+	}
+	
+	private FrozenGraph<Building> currentSnapshot() {
+		return current().graph;
+	}
+	
+	/**
+	 * Contract the current graph so that findRoute with 
+	 * {@link RouteOptions.Algorithm#CONTRACTION_HIERARCHY} can answer from it. 
+	 * Must be called again after the graph changes.
+	 */
+	public void prepareContractionHierarchy() {
+		this.hierarchy = ContractionHierarchy.build(currentSnapshot());
+	}
+	
+	/**
+	 * Put a cache in front of findRoute. The cache is told about every later change 
+	 * made to the graph, and checks the revision of the overlay on every lookup, so 
+	 * it never serves a stale route.
+	 * 
+	 * @param routeCache The cache to use, or null for none.
+	 */
+	public void setRouteCache(RouteCache routeCache) {
+		graph().removeListener(cacheInvalidator);
+		this.routeCache = routeCache;
+		if (routeCache != null) {
+			routeCache.invalidateMap(this);
+			// routes are stamped with the overlay's revision instead, so a closure costs the cache nothing
+			graph().addListener(cacheInvalidator);
+		}
+	}
+	
+	/**
+	 * @return the closures and penalties laid over the graph; routes avoid blocked 
+	 *         edges and pay penalized ones while their rules last
+	 */
+	public EdgeOverlay<Building> getOverlay() {
+		return overlay;
+	}
+	
+	/**
+	 * Close the path between two buildings, both ways, for a while. The graph itself 
+	 * is not changed, so nothing is rebuilt and the path reopens by itself.
+	 */
+	public void closePath(Building b1, Building b2, Duration duration) {
+		Instant until = Instant.now().plus(duration);
+		overlay.block(b1, b2, until);
+		overlay.block(b2, b1, until);
+	}
+	
+	/**
+	 * Make the path between two buildings, both ways, cost multiplier times its 
+	 * length for a while, e.g. to steer routes around a crowded or slow stretch.
+	 *
+	 * @throws IllegalArgumentException if multiplier is less than 1
+	 */
+	public void penalizePath(Building b1, Building b2, double multiplier, Duration duration) {
+		Instant until = Instant.now().plus(duration);
+		overlay.multiply(b1, b2, multiplier, until);
+		overlay.multiply(b2, b1, multiplier, until);
+	}
+	
+	/**
+	 * Lift any closure or penalty on the path between two buildings.
+	 */
+	public void reopenPath(Building b1, Building b2) {
+		overlay.clear(b1, b2);
+		overlay.clear(b2, b1);
+	}
+
+	/**
+	 * @return a tag that changes whenever the routes found on this map may change:
+	 *         when a new version of the graph is published or the paths closed or
+	 *         penalized change. It includes when the version was published, so
+	 *         reloading a map never repeats an earlier tag.
+	 */
+	public String routeTag() {
+		RoutingVersion version = current();
+		return Long.toString(version.graph.version(), 36) + "-" + Long.toString(version.publishedAt, 36)
+				+ "-" + Long.toString(overlay.revision(), 36);
+	}
+
+	/**
+	 * @return the time, in milliseconds since the epoch, the routes found on this
+	 *         map last changed
+	 */
+	public long routesLastModified() {
+		return Math.max(current().publishedAt, overlay.lastModified());
+	}
+
 //	public void createMap(String bldgFile, String edgesFile){
 //		model = new GraphADT<>();
 //		 try {
@@ -167,18 +666,32 @@ public class MapModel {
 		return buildingsByName.get(name);
 	}
 	
-	public TreeSet<Building> allBuildings(){
-		TreeSet<Building> allBuildings = new TreeSet<>(new Comparator<Building>() {
-			public int compare(Building b1, Building b2) {
-				return b1.getBldgName().compareTo(b2.getBldgName());
-			}
-		});
-		
-		for(Node<Building> b : model.getAllNodes()) {
-			if(b.getNodeData().getBldgName().equals("")) continue;
-			allBuildings.add(b.getNodeData());
-		}
-		return allBuildings;
+	/**
+	 * Find buildings by part of their name, for search as you type. Names that 
+	 * start with the query come first, then names with a later word that does, 
+	 * then names that nearly contain it, allowing for typing mistakes.
+	 * 
+	 * @param k The most buildings to return.
+	 * @return up to k buildings, best match first
+	 * @see NameIndex
+	 */
+	public List<Building> searchBuildings(String query, int k) {
+		return current().nameIndex().search(query, k);
+	}
+	
+	/**
+	 * @return every named building, by name, as an unmodifiable list
+	 */
+	public List<Building> allBuildings(){
+		return current().catalogue().buildings();
+	}
+	
+	/**
+	 * @return the catalogue of the named buildings, which is only rebuilt when 
+	 *         buildings or intersections are added or removed
+	 */
+	public BuildingCatalogue catalogue() {
+		return current().catalogue();
 	}
 	
 	//FOR DEBUGGING PURPOSES
@@ -196,14 +709,288 @@ public class MapModel {
 //		}
 //	}
 	
+	/**
+	 * @return the length of the edge from b1 to b2 in the current version
+	 * @throws NoSuchElementException if there is no such edge
+	 */
 	public double getCost(Node<Building> b1, Node<Building> b2) {
-		return model.getEdgeLabel(b1, b2);
+		FrozenGraph<Building> graph = currentSnapshot();
+		int u = graph.indexOf(b1.getNodeData());
+		int v = graph.indexOf(b2.getNodeData());
+		int e = u < 0 || v < 0 ? -1 : graph.edgeBetween(u, v);
+		if (e < 0) throw new NoSuchElementException("No edge from " + b1 + " to " + b2);
+		return graph.weight(e);
 	}
 	
 	public LinkedHashSet<Edge<Building, Double>> findRoute(Building b1, Building b2) {
-		LinkedHashSet<Edge<Building, Double>> path = Graph.dijkstra(new Node<Building>(b1), new Node<Building>(b2), model);
+		return findRoute(b1, b2, RouteOptions.DEFAULT, null);
+	}
+	
+	public LinkedHashSet<Edge<Building, Double>> findRoute(Building b1, Building b2, RouteOptions options) {
+		return findRoute(b1, b2, options, null);
+	}
+	
+	/**
+	 * Find the cheapest route between two buildings that suits profile, e.g. 
+	 * {@link RoutingProfile#STEP_FREE} to only pass through step-free places.
+	 */
+	public LinkedHashSet<Edge<Building, Double>> findRoute(Building b1, Building b2, RoutingProfile profile) {
+		return findRoute(b1, b2, RouteOptions.of(profile), null);
+	}
+	
+	/**
+	 * Find the cheapest route between two buildings. Closed paths are avoided and 
+	 * penalized ones cost more to take, but the edges returned carry their lengths.
+	 * 
+	 * @param options How to search for the route.
+	 * @param stats   Filled in with the work done by the search, or null.
+	 * @return the edges of the route led by a zero-cost self edge on b1, or an empty set if there is none
+	 */
+	public LinkedHashSet<Edge<Building, Double>> findRoute(Building b1, Building b2, RouteOptions options, SearchStats stats) {
+		RoutingMetrics metrics = this.metrics;
+		if (!metrics.isEnabled()) return route(b1, b2, options, stats, null, 0);
+		return route(b1, b2, options, stats != null ? stats : new SearchStats(), metrics, System.nanoTime());
+	}
+	
+	/**
+	 * @param metrics Told how the query was answered, or null to tell no one.
+	 * @param start   When the query started, by {@link System#nanoTime()}.
+	 */
+	private LinkedHashSet<Edge<Building, Double>> route(Building b1, Building b2, RouteOptions options, SearchStats stats, 
+			RoutingMetrics metrics, long start) {
+		RoutingVersion version = current();
+		FrozenGraph<Building> graph = version.graph;
+		int source = graph.indexOf(b1);
+		int target = graph.indexOf(b2);
+		if (source < 0 || target < 0) {
+			// a building that is not on the map has no edges, so it only reaches itself
+			LinkedHashSet<Edge<Building, Double>> path = new LinkedHashSet<>();
+			if (b1.equals(b2)) path.add(new Edge<>(new Node<>(b1), new Node<>(b1), 0.0));
+			return answered(path, RoutingMetrics.Outcome.SEARCH, options, stats, metrics, start);
+		}
+		
+		// also expires closures that have run out, which moves the revision cached routes are checked against
+		long revision = overlay.revision();
+		RouteCache cache = routeCache;
+		if (cache != null) {
+			LinkedHashSet<Edge<Building, Double>> cached = cache.get(this, b1.getBldgId(), b2.getBldgId(), options, revision, stats);
+			if (cached != null) return answered(cached, RoutingMetrics.Outcome.CACHE, options, stats, metrics, start);
+		}
+		
+		EdgeOverlay.View<Building> view = overlay.view(graph);
+		LinkedHashSet<Edge<Building, Double>> path;
+		RoutingMetrics.Outcome outcome;
+		if (tableAnswers(version, view, options)) {
+			path = version.routeTable.edges(source, target, stats);
+			outcome = RoutingMetrics.Outcome.TABLE;
+		} else {
+			path = search(version, view, source, target, options, stats);
+			outcome = RoutingMetrics.Outcome.SEARCH;
+		}
+		// a route found on a snapshot the graph has since moved past may already be stale; 
+		// one found while the overlay changed is stamped with a revision that is already gone
+		if (cache != null && graph.version() == graphVersion()) {
+			cache.put(this, b1.getBldgId(), b2.getBldgId(), options, revision, path);
+			// a change bumps the version before clearing the cache, so one that cleared it 
+			// before the put shows up here
+			if (graph.version() != graphVersion()) {
+				cache.remove(this, b1.getBldgId(), b2.getBldgId(), options);
+			}
+		}
+		return answered(path, outcome, options, stats, metrics, start);
+	}
+	
+	private LinkedHashSet<Edge<Building, Double>> answered(LinkedHashSet<Edge<Building, Double>> path, RoutingMetrics.Outcome outcome, 
+			RouteOptions options, SearchStats stats, RoutingMetrics metrics, long start) {
+		if (metrics != null) {
+			metrics.routeFound(university, options, outcome, System.nanoTime() - start, stats, Math.max(path.size() - 1, 0));
+		}
 		return path;
+	}
+	
+	/**
+	 * Find the cheapest route for each of many pairs of buildings, e.g. between 
+	 * the consecutive classes of every student's timetable. Pairs are grouped by 
+	 * their first building and each group is answered with one search, with the 
+	 * groups spread over the common fork-join pool. Every route is searched for 
+	 * with Dijkstra's algorithm on the profile of options; the route cache is 
+	 * neither read nor filled.
+	 * 
+	 * @param pairs Each pair's key is where its route starts and its value where it ends.
+	 * @return the route of each pair, in the order of pairs, as findRoute would return it
+	 */
+	public List<LinkedHashSet<Edge<Building, Double>>> findRoutes(List<? extends Map.Entry<Building, Building>> pairs, RouteOptions options) {
+		RoutingVersion version = current();
+		FrozenGraph<Building> graph = version.graph(options.getProfile());
+		int[] sources = new int[pairs.size()];
+		int[] targets = new int[pairs.size()];
+		int[] positions = new int[pairs.size()];
+		int known = 0;
+		for (int i = 0; i < pairs.size(); i++) {
+			int source = graph.indexOf(pairs.get(i).getKey());
+			int target = graph.indexOf(pairs.get(i).getValue());
+			if (source < 0 || target < 0) continue;
+			sources[known] = source;
+			targets[known] = target;
+			positions[known++] = i;
+		}
+		List<LinkedHashSet<Edge<Building, Double>>> found = BatchRoutes.route(graph, 
+				Arrays.copyOf(sources, known), Arrays.copyOf(targets, known), overlay.view(version.graph));
+		
+		List<LinkedHashSet<Edge<Building, Double>>> routes = new ArrayList<>(Collections.nCopies(pairs.size(), null));
+		for (int k = 0; k < known; k++) {
+			routes.set(positions[k], found.get(k));
+		}
+		for (int i = 0; i < pairs.size(); i++) {
+			// buildings that are not on the map take findRoute's slow path
+			if (routes.get(i) == null) routes.set(i, findRoute(pairs.get(i).getKey(), pairs.get(i).getValue(), options));
+		}
+		return routes;
+	}
+	
+	public double[][] distanceMatrix(List<Building> origins, List<Building> destinations) {
+		return distanceMatrix(origins, destinations, RoutingProfile.DEFAULT);
+	}
+	
+	/**
+	 * Find the cost of the cheapest route from every origin to every destination, 
+	 * e.g. from every dorm to every lecture hall, without building any routes. 
+	 * Origins are searched from in parallel on the common fork-join pool.
+	 * 
+	 * @return costs[i][j], the cost from origins.get(i) to destinations.get(j), or 
+	 *         positive infinity if there is no route or either building is not on the map
+	 */
+	public double[][] distanceMatrix(List<Building> origins, List<Building> destinations, RoutingProfile profile) {
+		return distanceMatrix(destinations, profile).apply(origins);
+	}
+	
+	/**
+	 * Fix the graph and the closures and penalties a distance matrix is computed 
+	 * under, so that one computed a block of origins at a time is consistent 
+	 * however the map changes in between.
+	 * 
+	 * @return a function from origins to costs[i][j], the cost from origins.get(i) to 
+	 *         destinations.get(j), as {@link #distanceMatrix(List, List, RoutingProfile)} 
+	 *         would have found them when this was called
+	 */
+	public Function<List<Building>, double[][]> distanceMatrix(List<Building> destinations, RoutingProfile profile) {
+		RoutingVersion version = current();
+		FrozenGraph<Building> graph = version.graph(profile);
+		EdgeOverlay.View<Building> view = overlay.frozenView(version.graph);
+		int[] to = new int[destinations.size()];
+		for (int j = 0; j < to.length; j++) to[j] = graph.indexOf(destinations.get(j));
+		return origins -> {
+			int[] from = new int[origins.size()];
+			for (int i = 0; i < from.length; i++) from[i] = graph.indexOf(origins.get(i));
+			return DistanceMatrix.compute(graph, from, to, view);
+		};
+	}
+	
+	/**
+	 * Run one search from a building to every building it can reach.
+	 * 
+	 * @return the shortest-path tree rooted at from, or null if from is not on the map
+	 */
+	public ShortestPathTree<Building> shortestPathTree(Building from) {
+		FrozenGraph<Building> graph = currentSnapshot();
+		int source = graph.indexOf(from);
+		return source < 0 ? null : ShortestPathTree.of(graph, source, overlay.view(graph));
+	}
+	
+	/**
+	 * Find the buildings closest to a building by route cost with a single search 
+	 * that stops as soon as enough of them are found. Intersections and from itself 
+	 * are never returned.
+	 * 
+	 * @param k      The most buildings to return.
+	 * @param filter Which buildings count, e.g. by type.
+	 * @return up to k buildings matching filter with their route costs, nearest first
+	 */
+	public List<RankedNode<Building>> nearestBuildings(Building from, int k, Predicate<Building> filter) {
+		FrozenGraph<Building> graph = currentSnapshot();
+		int source = graph.indexOf(from);
+		if (source < 0 || k <= 0) return new ArrayList<>();
+		
+		int[] found = new int[Math.min(k, graph.size())];
+		SearchWorkspace ws = SearchWorkspace.get(graph.size());
+		int count = Dijkstra.nearest(graph, source, found.length, u -> {
+			Building b = graph.node(u);
+			return !b.getBldgName().equals("") && filter.test(b);
+		}, ws, found, overlay.view(graph));
+		
+		List<RankedNode<Building>> nearest = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			nearest.add(new RankedNode<>(graph.node(found[i]), ws.distance(found[i])));
+		}
+		return nearest;
+	}
+	
+	/**
+	 * Find the place on the map closest to a point, e.g. to start a route from a 
+	 * position reported by a phone.
+	 * 
+	 * @return the building or intersection nearest to (x, y) in a straight line, 
+	 *         or null if the map is empty
+	 */
+	public Building snap(double x, double y) {
+		List<RankedNode<Building>> nearest = current().spatialIndex().nearest(x, y, 1, bldg -> true);
+		return nearest.isEmpty() ? null : nearest.get(0).getNode();
+	}
+	
+	/**
+	 * Find the places closest to a point in a straight line.
+	 * 
+	 * @param k      The most places to return.
+	 * @param filter Which places count; intersections are the places with an empty name.
+	 * @return up to k buildings and intersections matching filter with their distances 
+	 *         from (x, y), nearest first
+	 */
+	public List<RankedNode<Building>> nearestTo(double x, double y, int k, Predicate<Building> filter) {
+		return current().spatialIndex().nearest(x, y, k, filter);
+	}
+	
+	/**
+	 * Find every place within a straight-line distance of a point.
+	 * 
+	 * @param filter Which places count; intersections are the places with an empty name.
+	 * @return the buildings and intersections matching filter no farther than radius 
+	 *         from (x, y) with their distances, nearest first
+	 */
+	public List<RankedNode<Building>> within(double x, double y, double radius, Predicate<Building> filter) {
+		return current().spatialIndex().within(x, y, radius, filter);
+	}
+	
+	/**
+	 * @return true if the route table of version answers queries with options while view is in force
+	 */
+	private static boolean tableAnswers(RoutingVersion version, EdgeOverlay.View<Building> view, RouteOptions options) {
+		// precomputed routes know nothing of closures or profiles, so they only serve plain queries
+		return version.routeTable != null && view == null && options.getProfile() == RoutingProfile.DEFAULT;
+	}
+	
+	private LinkedHashSet<Edge<Building, Double>> search(RoutingVersion version, EdgeOverlay.View<Building> view, int source, int target, 
+			RouteOptions options, SearchStats stats) {
+		FrozenGraph<Building> graph = version.graph(options.getProfile());
+		boolean plain = view == null && options.getProfile() == RoutingProfile.DEFAULT;
+		
+		ContractionHierarchy<Building> ch = hierarchy;
+		if (options.getAlgorithm() == RouteOptions.Algorithm.CONTRACTION_HIERARCHY && ch != null && ch.graph() == graph && plain) {
+			return ch.route(source, target, stats);
+		}
+		if (options.getAlgorithm() == RouteOptions.Algorithm.BIDIRECTIONAL 
+				|| options.getAlgorithm() == RouteOptions.Algorithm.CONTRACTION_HIERARCHY) {
+			return BidirectionalDijkstra.route(graph, source, target, stats, view);
+		}
 		
+		SearchWorkspace ws = SearchWorkspace.get(graph.size());
+		switch (options.getAlgorithm()) {
+			case ASTAR:
+				AStar.route(graph, source, target, version.heuristic, ws, stats, view);
+				break;
+			default:
+				Dijkstra.route(graph, source, target, ws, stats, view);
+		}
+		return RoutePaths.edges(graph, ws, source, target);
 	}
 	
 //	public static void main(String[] args) throws IOException{
@@ -220,19 +1007,37 @@ public class MapModel {
 //		System.out.println(newMap.findRoute(b1, b2));
 //	}
 	
-	private void populateEdges() {
-        for (Building b1 : pathways.keySet()) {
-            Set<Integer> connectedIds = pathways.get(b1);
-            for (Integer id : connectedIds) {
-                Building b2 = buildingsById.get(id);
-                int dx = Math.abs(b1.getBldgXCoord() - b2.getBldgXCoord());
-                int dy = Math.abs(b1.getBldgYCoord() - b2.getBldgYCoord());
-                double weight = Math.sqrt(dx * dx + dy * dy);
-                edges.add(new BuildingEdge(b1, b2, weight));
-                model.addEdge(b1, b2, weight);
-            }
-        }
-    }
+	/**
+	 * Copy the graph into buildings and edges, the form the map is stored in, 
+	 * replacing whatever they held.
+	 */
+	public void populateEntities() {
+		buildings.clear();
+		edges.clear();
+		FrozenGraph<Building> graph = current().graph;
+		for (int u = 0; u < graph.size(); u++) {
+			buildings.add(graph.node(u));
+			for (int e = graph.firstEdge(u); e < graph.lastEdge(u); e++) {
+				edges.add(new BuildingEdge(graph.node(u), graph.node(graph.target(e)), graph.weight(e)));
+			}
+		}
+	}
+	
+	/**
+	 * Build the graph from buildings and edges, once they have been loaded from the database.
+	 */
+	public void restoreGraph() {
+		edit(graph -> {
+			for (Building bldg : buildings) {
+				buildingsById.put(bldg.getBldgId(), bldg);
+				buildingsByName.put(bldg.getName(), bldg);
+				graph.addNode(bldg);
+			}
+			for (BuildingEdge edge : edges) {
+				graph.addEdge(edge.getSourceBuilding(), edge.getTargetBuilding(), edge.getWeight());
+			}
+		});
+	}
 	
 }
 
@@ -1,69 +1,110 @@
 package com.campuspathfinder.pathfinder_app.models;
 
-import java.util.Map;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 
 /**
  * <b>Node</b> represents a node in a graph.
- * Each node has a unique identifier represented by a String.
+ * Each node holds a piece of data that identifies it.
  * Nodes are used as endpoints for edges in the graph.
  * (It is a part of the GraphADT)
+ * <p>
+ * A node stored in the database is an access point of a building: a place where
+ * the building can be entered, which may or may not be step-free. Stored nodes
+ * hold no data, so they are only equal to themselves.
  */
 
 @Entity
 @Table(name="nodes")
-public class Node {
-	
+@Cacheable
+@Cache(usage=CacheConcurrencyStrategy.READ_WRITE)
+public class Node<T> {
+
 	@Id
 	@GeneratedValue(strategy=GenerationType.IDENTITY)
 	private Long id;
-	
-	@Column(nullable=false)
+
+	@Column
 	private String nodeId;
-	
+
 	@Column(nullable=false)
 	private String name;
-	
+
 	@Column(nullable=false)
 	private double latitude;
-	
+
 	@Column(nullable=false)
 	private double longitude;
-	
+
 	@Column(nullable=false)
 	private boolean accessible;
-	
-	@Column(nullable=false)
-	private Map<Node, Double> neighbors;
-	
-	@Column(nullable=false)
+
+	@ManyToOne(fetch=FetchType.LAZY)
+	@JoinColumn(name="building_id")
 	private Building parentBuilding;
-	
+
+	@Transient
+	private T nodeData;
+
 	public Node() {
-		id = (long) 0;
 		name = "";
-		
+		accessible = true;
 	}
-	
-	public Node(Node n) {
+
+	public Node(Node<T> n) {
 		this.nodeData = n.nodeData;
+		this.name = n.name;
+		this.accessible = n.accessible;
 	}
-	
-	public Node( nodeData) {
+
+	public Node(T nodeData) {
+		this();
 		this.nodeData = nodeData;
 	}
-	
+
+	/**
+	 * An access point of a building.
+	 */
+	public Node(Building parentBuilding, String name, double latitude, double longitude, boolean accessible) {
+		this.parentBuilding = parentBuilding;
+		this.name = name;
+		this.latitude = latitude;
+		this.longitude = longitude;
+		this.accessible = accessible;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public Building getParentBuilding() {
+		return parentBuilding;
+	}
+
+	public boolean isAccessible() {
+		return accessible;
+	}
+
 	public String toString() {
-		return name + latitude;
+		return nodeData != null ? nodeData.toString() : name + latitude;
 	}
-	
+
 	@Override
 	public boolean equals(Object obj) {
         if (this == obj) {
@@ -73,16 +114,17 @@ public class Node {
             return false;
         }
         Node<?> other = (Node<?>) obj;
-        return nodeData.equals(other.nodeData);
+        return nodeData != null && nodeData.equals(other.nodeData);
     }
-	
+
 	@Override
 	public int hashCode() {
-        int hash = 17; 
+		if (nodeData == null) return System.identityHashCode(this);
+        int hash = 17;
         hash = 31 * hash + nodeData.hashCode();
         return hash;
     }
-	
+
 	public T getNodeData() {
         return nodeData;
     }
@@ -0,0 +1,36 @@
+package com.campuspathfinder.pathfinder_app.repository;
+
+import java.util.Optional;
+
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+
+import jakarta.persistence.QueryHint;
+
+public interface MapRepository extends JpaRepository<MapModel, Integer> {
+
+	/**
+	 * @return the map of university with its buildings, in one query
+	 */
+	@EntityGraph(attributePaths = "buildings")
+	@QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+	Optional<MapModel> findByUniversity(String university);
+
+	/**
+	 * Load the edges of a map, with the buildings at both ends, in one query.
+	 * Fetching them apart from the buildings keeps each row to one edge rather
+	 * than one edge per building.
+	 *
+	 * @return the map with id, now with its edges loaded
+	 */
+	@Query("select m from MapModel m left join fetch m.edges e left join fetch e.sourceBuilding left join fetch e.targetBuilding where m.id = :id")
+	@QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+	Optional<MapModel> fetchEdges(@Param("id") int id);
+
+}
@@ -0,0 +1,68 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+import com.campuspathfinder.pathfinder_app.models.FrozenGraph;
+
+/**
+ * A* search over a {@link FrozenGraph}. It works like {@link Dijkstra} but 
+ * orders the queue by distance so far plus a {@link Heuristic} estimate of the 
+ * distance left, so point-to-point queries expand far fewer nodes.
+ */
+
+public final class AStar {
+    
+    private AStar() {}
+    
+    /**
+     * Find the cheapest path from source to target. The path can be read back 
+     * from the workspace with {@link RoutePaths}.
+     *
+     * @requires every weight in graph is non-negative and heuristic never overestimates
+     * @param stats Filled in with the work done by the search, or null.
+     * @return the cost of the cheapest path, or positive infinity if target is unreachable
+     */
+    public static double route(FrozenGraph<?> graph, int source, int target, Heuristic heuristic, SearchWorkspace ws, SearchStats stats) {
+        return route(graph, source, target, heuristic, ws, stats, null);
+    }
+    
+    /**
+     * Same as {@link #route(FrozenGraph, int, int, Heuristic, SearchWorkspace, SearchStats)}, 
+     * with edge weights read through overlay. An overlay only ever makes edges 
+     * dearer, so a heuristic that never overestimates the plain weights still doesn't.
+     *
+     * @param overlay The closures and penalties to apply, viewed on graph or a graph sharing its edges, or null for none.
+     */
+    public static double route(FrozenGraph<?> graph, int source, int target, Heuristic heuristic, SearchWorkspace ws, SearchStats stats, EdgeOverlay.View<?> overlay) {
+        IndexedMinHeap heap = ws.heap();
+        int expanded = 0;
+        int relaxed = 0;
+        int pushes = 1;
+        double result = Double.POSITIVE_INFINITY;
+        ws.update(source, 0.0, -1, -1);
+        heap.insertOrDecrease(source, heuristic.estimate(source, target));
+        
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            expanded++;
+            if (u == target) {
+                result = ws.distance(u);
+                break;
+            }
+            
+            double du = ws.distance(u);
+            for (int e = graph.firstEdge(u), end = graph.lastEdge(u); e < end; e++) {
+                relaxed++;
+                int v = graph.target(e);
+                double weight = graph.weight(e);
+                double dv = du + (overlay == null ? weight : overlay.weight(e, weight));
+                if (dv < ws.distance(v)) {
+                    ws.update(v, dv, u, e);
+                    pushes++;
+                    heap.insertOrDecrease(v, dv + heuristic.estimate(v, target));
+                }
+            }
+        }
+        if (stats != null) stats.record(expanded, relaxed, pushes);
+        return result;
+    }
+    
+}
@@ -0,0 +1,127 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.campuspathfinder.pathfinder_app.models.Edge;
+import com.campuspathfinder.pathfinder_app.models.FrozenGraph;
+
+/**
+ * Answers many route queries over one {@link FrozenGraph} at once. Queries are
+ * grouped by source, and each group is answered by a single
+ * {@link Dijkstra#routeToAll} search that stops once its last target is settled,
+ * so pairs that share a source share the work. Groups are spread over a
+ * fork-join pool.
+ */
+
+public final class BatchRoutes {
+
+    private static final int GROUPS_PER_TASK = 4;
+
+    private BatchRoutes() {}
+
+    /**
+     * Find the cheapest path for every pair (sources[i], targets[i]) on the common fork-join pool.
+     *
+     * @see #route(FrozenGraph, int[], int[], EdgeOverlay.View, ForkJoinPool)
+     */
+    public static <NT extends Comparable<NT>> List<LinkedHashSet<Edge<NT, Double>>> route(FrozenGraph<NT> graph, int[] sources, int[] targets, EdgeOverlay.View<?> overlay) {
+        return route(graph, sources, targets, overlay, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Find the cheapest path for every pair (sources[i], targets[i]).
+     *
+     * @requires every weight in graph is non-negative
+     * @param overlay The closures and penalties to apply, viewed on graph or a graph sharing its edges, or null for none.
+     * @return the edges of each path led by a zero-cost self edge on its source, or an
+     *         empty set where the target is unreachable, in the order of the pairs
+     * @throws IllegalArgumentException if sources and targets differ in length
+     */
+    public static <NT extends Comparable<NT>> List<LinkedHashSet<Edge<NT, Double>>> route(FrozenGraph<NT> graph, int[] sources, int[] targets,
+            EdgeOverlay.View<?> overlay, ForkJoinPool pool) {
+        if (sources.length != targets.length) {
+            throw new IllegalArgumentException(sources.length + " sources but " + targets.length + " targets");
+        }
+        // pair indices sorted by source; counting sort keeps each group in input order
+        int n = graph.size();
+        int[] groupStart = new int[n + 1];
+        for (int source : sources) {
+            groupStart[source + 1]++;
+        }
+        for (int u = 0; u < n; u++) {
+            groupStart[u + 1] += groupStart[u];
+        }
+        int[] next = Arrays.copyOf(groupStart, n);
+        int[] pairs = new int[sources.length];
+        for (int i = 0; i < sources.length; i++) {
+            pairs[next[sources[i]]++] = i;
+        }
+        int groupCount = 0;
+        int[] groups = new int[Math.min(n, sources.length) + 1];
+        for (int u = 0; u < n; u++) {
+            if (groupStart[u] < groupStart[u + 1]) groups[groupCount++] = groupStart[u];
+        }
+        groups[groupCount] = sources.length;
+
+        @SuppressWarnings("unchecked")
+        LinkedHashSet<Edge<NT, Double>>[] results = new LinkedHashSet[sources.length];
+        pool.invoke(new GroupRange<>(graph, sources, targets, overlay, pairs, groups, results, 0, groupCount));
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Answers the groups [from, to), where group g holds the pairs pairs[groups[g]] to pairs[groups[g + 1] - 1].
+     */
+    private static final class GroupRange<NT extends Comparable<NT>> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final FrozenGraph<NT> graph;
+        private final int[] sources;
+        private final int[] targets;
+        private final EdgeOverlay.View<?> overlay;
+        private final int[] pairs;
+        private final int[] groups;
+        private final LinkedHashSet<Edge<NT, Double>>[] results;
+        private final int from;
+        private final int to;
+
+        GroupRange(FrozenGraph<NT> graph, int[] sources, int[] targets, EdgeOverlay.View<?> overlay,
+                int[] pairs, int[] groups, LinkedHashSet<Edge<NT, Double>>[] results, int from, int to) {
+            this.graph = graph;
+            this.sources = sources;
+            this.targets = targets;
+            this.overlay = overlay;
+            this.pairs = pairs;
+            this.groups = groups;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > GROUPS_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new GroupRange<>(graph, sources, targets, overlay, pairs, groups, results, from, mid),
+                        new GroupRange<>(graph, sources, targets, overlay, pairs, groups, results, mid, to));
+                return;
+            }
+            for (int g = from; g < to; g++) {
+                int source = sources[pairs[groups[g]]];
+                int[] groupTargets = new int[groups[g + 1] - groups[g]];
+                for (int i = 0; i < groupTargets.length; i++) {
+                    groupTargets[i] = targets[pairs[groups[g] + i]];
+                }
+                SearchWorkspace ws = SearchWorkspace.get(graph.size());
+                Dijkstra.routeToAll(graph, source, groupTargets, ws, null, overlay);
+                for (int i = 0; i < groupTargets.length; i++) {
+                    results[pairs[groups[g] + i]] = RoutePaths.edges(graph, ws, source, groupTargets[i]);
+                }
+            }
+        }
+    }
+
+}
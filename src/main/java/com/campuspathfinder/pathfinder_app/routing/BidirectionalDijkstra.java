@@ -0,0 +1,112 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+import java.util.LinkedHashSet;
+
+import com.campuspathfinder.pathfinder_app.models.Edge;
+import com.campuspathfinder.pathfinder_app.models.FrozenGraph;
+
+/**
+ * Bidirectional Dijkstra over a {@link FrozenGraph}. One search runs forward 
+ * from the source over outgoing edges and one runs backward from the target 
+ * over the incoming edge index. Each step expands the side with the smaller 
+ * queue key. The best path seen so far is mu, found whenever a relaxed node 
+ * has been reached by the other side. Once the two queue keys add up to at 
+ * least mu, no cheaper path can exist, so the search stops.
+ */
+
+public final class BidirectionalDijkstra {
+    
+    private BidirectionalDijkstra() {}
+    
+    /**
+     * Find the cheapest path from source to target.
+     *
+     * @requires every weight in graph is non-negative
+     * @param stats Filled in with the work done by both searches, or null.
+     * @return the edges of the cheapest path led by a zero-cost self edge on source, 
+     *         or an empty set if target is unreachable
+     */
+    public static <NT extends Comparable<NT>> LinkedHashSet<Edge<NT, Double>> route(FrozenGraph<NT> graph, int source, int target, SearchStats stats) {
+        return route(graph, source, target, stats, null);
+    }
+    
+    /**
+     * Same as {@link #route(FrozenGraph, int, int, SearchStats)}, with edge weights 
+     * read through overlay. The edges returned still carry their plain weights.
+     *
+     * @param overlay The closures and penalties to apply, viewed on graph or a graph sharing its edges, or null for none.
+     */
+    public static <NT extends Comparable<NT>> LinkedHashSet<Edge<NT, Double>> route(FrozenGraph<NT> graph, int source, int target, SearchStats stats, EdgeOverlay.View<?> overlay) {
+        SearchWorkspace forward = SearchWorkspace.get(graph.size());
+        SearchWorkspace backward = SearchWorkspace.getBackward(graph.size());
+        IndexedMinHeap forwardHeap = forward.heap();
+        IndexedMinHeap backwardHeap = backward.heap();
+        int expanded = 0;
+        int relaxed = 0;
+        int pushes = 2;
+        
+        forward.update(source, 0.0, -1, -1);
+        forwardHeap.insertOrDecrease(source, 0.0);
+        backward.update(target, 0.0, -1, -1);
+        backwardHeap.insertOrDecrease(target, 0.0);
+        double mu = source == target ? 0.0 : Double.POSITIVE_INFINITY;
+        int meet = source == target ? source : -1;
+        
+        while (!forwardHeap.isEmpty() && !backwardHeap.isEmpty()
+                && forwardHeap.peekKey() + backwardHeap.peekKey() < mu) {
+            expanded++;
+            if (forwardHeap.peekKey() <= backwardHeap.peekKey()) {
+                int u = forwardHeap.poll();
+                double du = forward.distance(u);
+                for (int e = graph.firstEdge(u), end = graph.lastEdge(u); e < end; e++) {
+                    relaxed++;
+                    int v = graph.target(e);
+                    double weight = graph.weight(e);
+                    double dv = du + (overlay == null ? weight : overlay.weight(e, weight));
+                    if (dv < forward.distance(v)) {
+                        forward.update(v, dv, u, e);
+                        pushes++;
+                        forwardHeap.insertOrDecrease(v, dv);
+                        if (dv + backward.distance(v) < mu) {
+                            mu = dv + backward.distance(v);
+                            meet = v;
+                        }
+                    }
+                }
+            } else {
+                int u = backwardHeap.poll();
+                double du = backward.distance(u);
+                for (int i = graph.firstInEdge(u), end = graph.lastInEdge(u); i < end; i++) {
+                    relaxed++;
+                    int v = graph.inSource(i);
+                    int e = graph.inEdge(i);
+                    double weight = graph.weight(e);
+                    double dv = du + (overlay == null ? weight : overlay.weight(e, weight));
+                    if (dv < backward.distance(v)) {
+                        backward.update(v, dv, u, e);
+                        pushes++;
+                        backwardHeap.insertOrDecrease(v, dv);
+                        if (dv + forward.distance(v) < mu) {
+                            mu = dv + forward.distance(v);
+                            meet = v;
+                        }
+                    }
+                }
+            }
+        }
+        if (stats != null) stats.record(expanded, relaxed, pushes);
+        if (meet < 0) return new LinkedHashSet<>();
+        
+        int forwardLength = RoutePaths.length(forward, source, meet);
+        int backwardLength = RoutePaths.length(backward, target, meet);
+        int[] edgeIds = new int[forwardLength + backwardLength];
+        for (int v = meet, i = forwardLength - 1; v != source; v = forward.parent(v), i--) {
+            edgeIds[i] = forward.parentEdge(v);
+        }
+        for (int v = meet, i = forwardLength; v != target; v = backward.parent(v), i++) {
+            edgeIds[i] = backward.parentEdge(v);
+        }
+        return RoutePaths.edges(graph, source, edgeIds);
+    }
+    
+}
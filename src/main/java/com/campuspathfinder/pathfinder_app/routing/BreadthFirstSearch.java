@@ -0,0 +1,46 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+import com.campuspathfinder.pathfinder_app.models.FrozenGraph;
+
+/**
+ * Breadth-first search over a {@link FrozenGraph}, ignoring edge weights. The 
+ * queue, visited marks and parents all live in a reused {@link SearchWorkspace}, 
+ * so a search allocates nothing.
+ */
+
+public final class BreadthFirstSearch {
+    
+    private BreadthFirstSearch() {}
+    
+    /**
+     * Find a path with the fewest edges from source to target. Afterwards 
+     * ws.distance(v) is the number of edges to every reached node v and 
+     * ws.parent(v) the node it was reached from.
+     *
+     * @return true if target was reached
+     */
+    public static boolean search(FrozenGraph<?> graph, int source, int target, SearchWorkspace ws) {
+        // every node is queued at most once, so head and tail never pass the end
+        int[] queue = ws.queue();
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        ws.update(source, 0, -1, -1);
+        
+        while (head < tail) {
+            int u = queue[head++];
+            if (u == target) return true;
+            
+            double next = ws.distance(u) + 1;
+            for (int e = graph.firstEdge(u), end = graph.lastEdge(u); e < end; e++) {
+                int v = graph.target(e);
+                if (!ws.reached(v)) {
+                    ws.update(v, next, u, e);
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return false;
+    }
+    
+}
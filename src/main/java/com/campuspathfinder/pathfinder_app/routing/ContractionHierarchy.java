@@ -0,0 +1,405 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+
+import com.campuspathfinder.pathfinder_app.models.Edge;
+import com.campuspathfinder.pathfinder_app.models.FrozenGraph;
+
+/**
+ * <b>ContractionHierarchy</b> is an <b>immutable</b> routing index built from a 
+ * {@link FrozenGraph} for fast point-to-point queries on large maps.
+ * <p>
+ * Preprocessing contracts the nodes one at a time, cheapest first by edge 
+ * difference. Contracting v removes it from the remaining graph. For every 
+ * pair of neighbors u -> v -> w it adds a shortcut u -> w unless a local 
+ * witness search finds a path that is just as cheap without v. The order in 
+ * which nodes are contracted is their rank.
+ * <p>
+ * A query runs Dijkstra forward from the source over edges that go up in 
+ * rank and backward from the target over edges that come down in rank. The 
+ * two searches meet at the highest-ranked node of the cheapest path. Each 
+ * shortcut remembers the two edges it replaced, so the answer unpacks back 
+ * into edges of the original graph.
+ */
+
+public final class ContractionHierarchy<NT extends Comparable<NT>> {
+    
+    /** How many nodes a witness search may settle before it gives up and a shortcut is added. */
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+    
+    private final FrozenGraph<NT> graph;
+    private final int[] rank;
+    
+    // every edge of the hierarchy; original edges have no children
+    private final double[] edgeWeight;
+    private final int[] edgeOriginal;
+    private final int[] edgeFirst;
+    private final int[] edgeSecond;
+    
+    // edges going up in rank, by source
+    private final int[] upOffsets;
+    private final int[] upTargets;
+    private final int[] upEdges;
+    
+    // edges coming down in rank, by target, pointing back at their source
+    private final int[] downOffsets;
+    private final int[] downSources;
+    private final int[] downEdges;
+    
+    private ContractionHierarchy(FrozenGraph<NT> graph, int[] rank, Builder builder) {
+        this.graph = graph;
+        this.rank = rank;
+        int m = builder.edgeCount;
+        this.edgeWeight = Arrays.copyOf(builder.weight, m);
+        this.edgeOriginal = Arrays.copyOf(builder.original, m);
+        this.edgeFirst = Arrays.copyOf(builder.first, m);
+        this.edgeSecond = Arrays.copyOf(builder.second, m);
+        
+        int n = graph.size();
+        this.upOffsets = new int[n + 1];
+        this.downOffsets = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            int u = builder.from[e];
+            int w = builder.to[e];
+            if (rank[u] < rank[w]) upOffsets[u + 1]++;
+            else downOffsets[w + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            upOffsets[v + 1] += upOffsets[v];
+            downOffsets[v + 1] += downOffsets[v];
+        }
+        this.upTargets = new int[upOffsets[n]];
+        this.upEdges = new int[upOffsets[n]];
+        this.downSources = new int[downOffsets[n]];
+        this.downEdges = new int[downOffsets[n]];
+        int[] nextUp = Arrays.copyOf(upOffsets, n);
+        int[] nextDown = Arrays.copyOf(downOffsets, n);
+        for (int e = 0; e < m; e++) {
+            int u = builder.from[e];
+            int w = builder.to[e];
+            if (rank[u] < rank[w]) {
+                int i = nextUp[u]++;
+                upTargets[i] = w;
+                upEdges[i] = e;
+            } else {
+                int i = nextDown[w]++;
+                downSources[i] = u;
+                downEdges[i] = e;
+            }
+        }
+    }
+    
+    /**
+     * Contract every node of graph and build the query index.
+     *
+     * @requires every weight in graph is non-negative
+     */
+    public static <NT extends Comparable<NT>> ContractionHierarchy<NT> build(FrozenGraph<NT> graph) {
+        Builder builder = new Builder(graph);
+        int[] rank = builder.contractAll();
+        return new ContractionHierarchy<>(graph, rank, builder);
+    }
+    
+    /**
+     * @return the snapshot this hierarchy was built from
+     */
+    public FrozenGraph<NT> graph() {
+        return graph;
+    }
+    
+    /**
+     * @return the number of shortcut edges added by preprocessing
+     */
+    public int shortcutCount() {
+        int shortcuts = 0;
+        for (int original : edgeOriginal) {
+            if (original < 0) shortcuts++;
+        }
+        return shortcuts;
+    }
+    
+    /**
+     * Find the cheapest path from source to target.
+     *
+     * @param stats Filled in with the work done by both searches, or null.
+     * @return the edges of the cheapest path in the original graph led by a 
+     *         zero-cost self edge on source, or an empty set if target is unreachable
+     */
+    public LinkedHashSet<Edge<NT, Double>> route(int source, int target, SearchStats stats) {
+        SearchWorkspace forward = SearchWorkspace.get(graph.size());
+        SearchWorkspace backward = SearchWorkspace.getBackward(graph.size());
+        IndexedMinHeap forwardHeap = forward.heap();
+        IndexedMinHeap backwardHeap = backward.heap();
+        int expanded = 0;
+        int relaxed = 0;
+        int pushes = 2;
+        
+        forward.update(source, 0.0, -1, -1);
+        forwardHeap.insertOrDecrease(source, 0.0);
+        backward.update(target, 0.0, -1, -1);
+        backwardHeap.insertOrDecrease(target, 0.0);
+        double mu = Double.POSITIVE_INFINITY;
+        int meet = -1;
+        
+        while (!forwardHeap.isEmpty() || !backwardHeap.isEmpty()) {
+            boolean forwardTurn = !forwardHeap.isEmpty() 
+                    && (backwardHeap.isEmpty() || forwardHeap.peekKey() <= backwardHeap.peekKey());
+            SearchWorkspace side = forwardTurn ? forward : backward;
+            SearchWorkspace other = forwardTurn ? backward : forward;
+            IndexedMinHeap heap = forwardTurn ? forwardHeap : backwardHeap;
+            if (heap.peekKey() >= mu) break;
+            
+            int u = heap.poll();
+            expanded++;
+            double du = side.distance(u);
+            if (du + other.distance(u) < mu) {
+                mu = du + other.distance(u);
+                meet = u;
+            }
+            
+            int begin = forwardTurn ? upOffsets[u] : downOffsets[u];
+            int end = forwardTurn ? upOffsets[u + 1] : downOffsets[u + 1];
+            for (int i = begin; i < end; i++) {
+                relaxed++;
+                int v = forwardTurn ? upTargets[i] : downSources[i];
+                int e = forwardTurn ? upEdges[i] : downEdges[i];
+                double dv = du + edgeWeight[e];
+                if (dv < side.distance(v)) {
+                    side.update(v, dv, u, e);
+                    pushes++;
+                    heap.insertOrDecrease(v, dv);
+                }
+            }
+        }
+        if (stats != null) stats.record(expanded, relaxed, pushes);
+        if (meet < 0) return new LinkedHashSet<>();
+        
+        IntStack path = new IntStack();
+        IntStack pending = new IntStack();
+        for (int v = meet; v != source; v = forward.parent(v)) {
+            pending.push(forward.parentEdge(v));
+        }
+        // pending holds the forward half last edge first, so popping unpacks it in order
+        unpack(pending, path);
+        for (int v = meet; v != target; v = backward.parent(v)) {
+            pending.push(backward.parentEdge(v));
+            unpack(pending, path);
+        }
+        return RoutePaths.edges(graph, source, path.toArray());
+    }
+    
+    private void unpack(IntStack pending, IntStack path) {
+        while (!pending.isEmpty()) {
+            int e = pending.pop();
+            if (edgeOriginal[e] >= 0) {
+                path.push(edgeOriginal[e]);
+            } else {
+                pending.push(edgeSecond[e]);
+                pending.push(edgeFirst[e]);
+            }
+        }
+    }
+    
+    /** Growable int stack used while contracting and unpacking. */
+    private static final class IntStack {
+        private int[] items = new int[16];
+        private int size;
+        
+        void push(int item) {
+            if (size == items.length) items = Arrays.copyOf(items, size * 2);
+            items[size++] = item;
+        }
+        
+        int pop() {
+            return items[--size];
+        }
+        
+        int get(int i) {
+            return items[i];
+        }
+        
+        int size() {
+            return size;
+        }
+        
+        boolean isEmpty() {
+            return size == 0;
+        }
+        
+        int[] toArray() {
+            return Arrays.copyOf(items, size);
+        }
+    }
+    
+    /** Mutable state of the contraction, thrown away once the hierarchy is built. */
+    private static final class Builder {
+        private final int n;
+        private final IntStack[] out;
+        private final IntStack[] in;
+        private final boolean[] contracted;
+        private final int[] contractedNeighbors;
+        private final SearchWorkspace witness;
+        
+        private int[] from = new int[16];
+        private int[] to = new int[16];
+        private double[] weight = new double[16];
+        private int[] original = new int[16];
+        private int[] first = new int[16];
+        private int[] second = new int[16];
+        private int edgeCount;
+        
+        Builder(FrozenGraph<?> graph) {
+            n = graph.size();
+            out = new IntStack[n];
+            in = new IntStack[n];
+            for (int v = 0; v < n; v++) {
+                out[v] = new IntStack();
+                in[v] = new IntStack();
+            }
+            contracted = new boolean[n];
+            contractedNeighbors = new int[n];
+            witness = new SearchWorkspace(n);
+            for (int u = 0; u < n; u++) {
+                for (int e = graph.firstEdge(u); e < graph.lastEdge(u); e++) {
+                    if (graph.target(e) != u) addEdge(u, graph.target(e), graph.weight(e), e, -1, -1);
+                }
+            }
+        }
+        
+        private void addEdge(int u, int w, double cost, int originalEdge, int firstEdge, int secondEdge) {
+            if (edgeCount == from.length) {
+                int grown = edgeCount * 2;
+                from = Arrays.copyOf(from, grown);
+                to = Arrays.copyOf(to, grown);
+                weight = Arrays.copyOf(weight, grown);
+                original = Arrays.copyOf(original, grown);
+                first = Arrays.copyOf(first, grown);
+                second = Arrays.copyOf(second, grown);
+            }
+            int e = edgeCount++;
+            from[e] = u;
+            to[e] = w;
+            weight[e] = cost;
+            original[e] = originalEdge;
+            first[e] = firstEdge;
+            second[e] = secondEdge;
+            out[u].push(e);
+            in[w].push(e);
+        }
+        
+        /**
+         * Add a shortcut from u to w, or lower an existing edge between them to the 
+         * shortcut's cost. The witness search already ruled out a cheaper one.
+         */
+        private void addShortcut(int u, int w, double cost, int firstEdge, int secondEdge) {
+            IntStack edges = out[u];
+            for (int i = 0; i < edges.size(); i++) {
+                int e = edges.get(i);
+                if (to[e] == w) {
+                    weight[e] = cost;
+                    original[e] = -1;
+                    first[e] = firstEdge;
+                    second[e] = secondEdge;
+                    return;
+                }
+            }
+            addEdge(u, w, cost, -1, firstEdge, secondEdge);
+        }
+        
+        int[] contractAll() {
+            int[] rank = new int[n];
+            IndexedMinHeap order = new IndexedMinHeap(n);
+            for (int v = 0; v < n; v++) {
+                order.insertOrDecrease(v, priority(v));
+            }
+            int next = 0;
+            while (!order.isEmpty()) {
+                int v = order.poll();
+                // priorities go stale as neighbors are contracted; recheck before committing
+                double current = priority(v);
+                if (!order.isEmpty() && current > order.peekKey()) {
+                    order.insertOrDecrease(v, current);
+                    continue;
+                }
+                shortcuts(v, true);
+                contracted[v] = true;
+                rank[v] = next++;
+                for (int i = 0; i < out[v].size(); i++) contractedNeighbors[to[out[v].get(i)]]++;
+                for (int i = 0; i < in[v].size(); i++) contractedNeighbors[from[in[v].get(i)]]++;
+            }
+            return rank;
+        }
+
+        
+        private double priority(int v) {
+            int removed = 0;
+            for (int i = 0; i < out[v].size(); i++) if (!contracted[to[out[v].get(i)]]) removed++;
+            for (int i = 0; i < in[v].size(); i++) if (!contracted[from[in[v].get(i)]]) removed++;
+            return 2 * (shortcuts(v, false) - removed) + contractedNeighbors[v];
+        }
+        
+        /**
+         * Count, and if apply is set add, the shortcuts needed to contract v.
+         */
+        private int shortcuts(int v, boolean apply) {
+            int count = 0;
+            IntStack incoming = in[v];
+            IntStack outgoing = out[v];
+            for (int i = 0; i < incoming.size(); i++) {
+                int inEdge = incoming.get(i);
+                int u = from[inEdge];
+                if (contracted[u]) continue;
+                
+                double limit = 0.0;
+                for (int j = 0; j < outgoing.size(); j++) {
+                    int w = to[outgoing.get(j)];
+                    if (!contracted[w] && w != u) limit = Math.max(limit, weight[inEdge] + weight[outgoing.get(j)]);
+                }
+                witnessSearch(u, v, limit);
+                
+                for (int j = 0; j < outgoing.size(); j++) {
+                    int outEdge = outgoing.get(j);
+                    int w = to[outEdge];
+                    if (contracted[w] || w == u) continue;
+                    double via = weight[inEdge] + weight[outEdge];
+                    if (witness.distance(w) <= via) continue;
+                    count++;
+                    if (apply) {
+                        addShortcut(u, w, via, inEdge, outEdge);
+                        // the new shortcut is itself a witness for later pairs through v
+                        witness.update(w, via, u, -1);
+                    }
+                }
+            }
+            return count;
+        }
+        
+        /**
+         * Dijkstra from u over the uncontracted graph without v, up to distance limit.
+         */
+        private void witnessSearch(int u, int v, double limit) {
+            witness.reset(n);
+            IndexedMinHeap heap = witness.heap();
+            witness.update(u, 0.0, -1, -1);
+            heap.insertOrDecrease(u, 0.0);
+            int settled = 0;
+            while (!heap.isEmpty() && heap.peekKey() <= limit && settled++ < WITNESS_SETTLE_LIMIT) {
+                int x = heap.poll();
+                double dx = witness.distance(x);
+                IntStack edges = out[x];
+                for (int i = 0; i < edges.size(); i++) {
+                    int e = edges.get(i);
+                    int y = to[e];
+                    if (y == v || contracted[y]) continue;
+                    double dy = dx + weight[e];
+                    if (dy < witness.distance(y)) {
+                        witness.update(y, dy, x, e);
+                        heap.insertOrDecrease(y, dy);
+                    }
+                }
+            }
+        }
+    }
+    
+}
@@ -0,0 +1,209 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+import java.util.function.IntPredicate;
+
+import com.campuspathfinder.pathfinder_app.models.FrozenGraph;
+
+/**
+ * Dijkstra's algorithm over a {@link FrozenGraph}. Distances and parents live 
+ * in a reused {@link SearchWorkspace}, and queued nodes are updated in place 
+ * with decrease-key, so a query allocates nothing.
+ */
+
+public final class Dijkstra {
+    
+    private Dijkstra() {}
+    
+    /**
+     * Find the cheapest path from source to target. The path can be read back 
+     * from the workspace with {@link RoutePaths}.
+     *
+     * @requires every weight in graph is non-negative
+     * @return the cost of the cheapest path, or positive infinity if target is unreachable
+     */
+    public static double route(FrozenGraph<?> graph, int source, int target, SearchWorkspace ws) {
+        return route(graph, source, target, ws, null);
+    }
+    
+    /**
+     * Same as {@link #route(FrozenGraph, int, int, SearchWorkspace)}, counting the work done.
+     *
+     * @param stats Filled in with the work done by the search, or null.
+     */
+    public static double route(FrozenGraph<?> graph, int source, int target, SearchWorkspace ws, SearchStats stats) {
+        return route(graph, source, target, ws, stats, null);
+    }
+    
+    /**
+     * Same as {@link #route(FrozenGraph, int, int, SearchWorkspace, SearchStats)}, 
+     * with edge weights read through overlay.
+     *
+     * @param overlay The closures and penalties to apply, viewed on graph or a graph sharing its edges, or null for none.
+     */
+    public static double route(FrozenGraph<?> graph, int source, int target, SearchWorkspace ws, SearchStats stats, EdgeOverlay.View<?> overlay) {
+        IndexedMinHeap heap = ws.heap();
+        int expanded = 0;
+        int relaxed = 0;
+        int pushes = 1;
+        double result = Double.POSITIVE_INFINITY;
+        ws.update(source, 0.0, -1, -1);
+        heap.insertOrDecrease(source, 0.0);
+        
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            expanded++;
+            if (u == target) {
+                result = ws.distance(u);
+                break;
+            }
+            
+            double du = ws.distance(u);
+            for (int e = graph.firstEdge(u), end = graph.lastEdge(u); e < end; e++) {
+                relaxed++;
+                int v = graph.target(e);
+                double weight = graph.weight(e);
+                double dv = du + (overlay == null ? weight : overlay.weight(e, weight));
+                if (dv < ws.distance(v)) {
+                    ws.update(v, dv, u, e);
+                    pushes++;
+                    heap.insertOrDecrease(v, dv);
+                }
+            }
+        }
+        if (stats != null) stats.record(expanded, relaxed, pushes);
+        return result;
+    }
+    
+    /**
+     * Find the cheapest paths from source to several targets with one search, 
+     * which stops as soon as the last of them is settled. The paths can be read 
+     * back from the workspace with {@link RoutePaths}.
+     *
+     * @requires every weight in graph is non-negative
+     * @param targets The node ids to reach; repeats are allowed.
+     * @param stats   Filled in with the work done by the search, or null.
+     * @param overlay The closures and penalties to apply, viewed on graph or a graph sharing its edges, or null for none.
+     * @return the number of distinct targets reached
+     */
+    public static int routeToAll(FrozenGraph<?> graph, int source, int[] targets, SearchWorkspace ws, SearchStats stats, EdgeOverlay.View<?> overlay) {
+        IndexedMinHeap heap = ws.heap();
+        int expanded = 0;
+        int relaxed = 0;
+        int pushes = 1;
+        int remaining = 0;
+        for (int target : targets) {
+            if (ws.markTarget(target)) remaining++;
+        }
+        int wanted = remaining;
+        ws.update(source, 0.0, -1, -1);
+        heap.insertOrDecrease(source, 0.0);
+        
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            expanded++;
+            if (ws.isTarget(u) && --remaining == 0) break;
+            
+            double du = ws.distance(u);
+            for (int e = graph.firstEdge(u), end = graph.lastEdge(u); e < end; e++) {
+                relaxed++;
+                int v = graph.target(e);
+                double weight = graph.weight(e);
+                double dv = du + (overlay == null ? weight : overlay.weight(e, weight));
+                if (dv < ws.distance(v)) {
+                    ws.update(v, dv, u, e);
+                    pushes++;
+                    heap.insertOrDecrease(v, dv);
+                }
+            }
+        }
+        if (stats != null) stats.record(expanded, relaxed, pushes);
+        return wanted - remaining;
+    }
+    
+    /**
+     * Settle every node reachable from source. Distances and parents can be 
+     * read back from the workspace afterwards.
+     *
+     * @requires every weight in graph is non-negative
+     * @param order Filled with the reachable node ids in the order they were settled; 
+     *              must hold at least graph.size() entries.
+     * @return the number of nodes written to order
+     */
+    public static int settleAll(FrozenGraph<?> graph, int source, SearchWorkspace ws, int[] order) {
+        return settleAll(graph, source, ws, order, null);
+    }
+    
+    /**
+     * Same as {@link #settleAll(FrozenGraph, int, SearchWorkspace, int[])}, with 
+     * edge weights read through overlay, or the plain weights if it is null.
+     */
+    public static int settleAll(FrozenGraph<?> graph, int source, SearchWorkspace ws, int[] order, EdgeOverlay.View<?> overlay) {
+        IndexedMinHeap heap = ws.heap();
+        int settled = 0;
+        ws.update(source, 0.0, -1, -1);
+        heap.insertOrDecrease(source, 0.0);
+        
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            order[settled++] = u;
+            
+            double du = ws.distance(u);
+            for (int e = graph.firstEdge(u), end = graph.lastEdge(u); e < end; e++) {
+                int v = graph.target(e);
+                double weight = graph.weight(e);
+                double dv = du + (overlay == null ? weight : overlay.weight(e, weight));
+                if (dv < ws.distance(v)) {
+                    ws.update(v, dv, u, e);
+                    heap.insertOrDecrease(v, dv);
+                }
+            }
+        }
+        return settled;
+    }
+    
+    /**
+     * Settle nodes in order of distance from source until limit nodes matching 
+     * filter have been settled. The source itself is never reported.
+     *
+     * @requires every weight in graph is non-negative
+     * @param found Filled with the matching node ids, nearest first; must hold at least limit entries.
+     * @return the number of nodes written to found, less than limit only if 
+     *         fewer matching nodes are reachable
+     */
+    public static int nearest(FrozenGraph<?> graph, int source, int limit, IntPredicate filter, SearchWorkspace ws, int[] found) {
+        return nearest(graph, source, limit, filter, ws, found, null);
+    }
+    
+    /**
+     * Same as {@link #nearest(FrozenGraph, int, int, IntPredicate, SearchWorkspace, int[])}, 
+     * with edge weights read through overlay, or the plain weights if it is null.
+     */
+    public static int nearest(FrozenGraph<?> graph, int source, int limit, IntPredicate filter, SearchWorkspace ws, int[] found, EdgeOverlay.View<?> overlay) {
+        IndexedMinHeap heap = ws.heap();
+        int count = 0;
+        if (limit <= 0) return 0;
+        ws.update(source, 0.0, -1, -1);
+        heap.insertOrDecrease(source, 0.0);
+        
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            if (u != source && filter.test(u)) {
+                found[count++] = u;
+                if (count == limit) break;
+            }
+            
+            double du = ws.distance(u);
+            for (int e = graph.firstEdge(u), end = graph.lastEdge(u); e < end; e++) {
+                int v = graph.target(e);
+                double weight = graph.weight(e);
+                double dv = du + (overlay == null ? weight : overlay.weight(e, weight));
+                if (dv < ws.distance(v)) {
+                    ws.update(v, dv, u, e);
+                    heap.insertOrDecrease(v, dv);
+                }
+            }
+        }
+        return count;
+    }
+    
+}
@@ -0,0 +1,98 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.campuspathfinder.pathfinder_app.models.FrozenGraph;
+
+/**
+ * Computes the cost of the cheapest path from each of a set of origins to each
+ * of a set of destinations over a {@link FrozenGraph}. Only costs are kept,
+ * never paths. Each origin runs one {@link Dijkstra#routeToAll} search that
+ * stops once every destination is settled, and origins are spread over a
+ * fork-join pool, each writing its own row.
+ */
+
+public final class DistanceMatrix {
+
+    private static final int ORIGINS_PER_TASK = 4;
+
+    private DistanceMatrix() {}
+
+    /**
+     * Compute the matrix on the common fork-join pool.
+     *
+     * @see #compute(FrozenGraph, int[], int[], EdgeOverlay.View, ForkJoinPool)
+     */
+    public static double[][] compute(FrozenGraph<?> graph, int[] origins, int[] destinations, EdgeOverlay.View<?> overlay) {
+        return compute(graph, origins, destinations, overlay, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Compute the cost from every origin to every destination.
+     *
+     * @requires every weight in graph is non-negative
+     * @param origins      Node ids; a negative id stands for a node not in graph.
+     * @param destinations Node ids; a negative id stands for a node not in graph.
+     * @param overlay      The closures and penalties to apply, viewed on graph or a graph sharing its edges, or null for none.
+     * @return costs[i][j], the cost of the cheapest path from origins[i] to destinations[j],
+     *         or positive infinity if there is none
+     */
+    public static double[][] compute(FrozenGraph<?> graph, int[] origins, int[] destinations, EdgeOverlay.View<?> overlay, ForkJoinPool pool) {
+        double[][] costs = new double[origins.length][destinations.length];
+        int[] known = Arrays.stream(destinations).filter(v -> v >= 0).toArray();
+        pool.invoke(new OriginRange(graph, origins, destinations, known, overlay, costs, 0, origins.length));
+        return costs;
+    }
+
+    private static void fillRow(FrozenGraph<?> graph, int origin, int[] destinations, int[] known, EdgeOverlay.View<?> overlay, double[] row) {
+        if (origin < 0) {
+            Arrays.fill(row, Double.POSITIVE_INFINITY);
+            return;
+        }
+        SearchWorkspace ws = SearchWorkspace.get(graph.size());
+        Dijkstra.routeToAll(graph, origin, known, ws, null, overlay);
+        for (int j = 0; j < destinations.length; j++) {
+            row[j] = destinations[j] < 0 ? Double.POSITIVE_INFINITY : ws.distance(destinations[j]);
+        }
+    }
+
+    private static final class OriginRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final FrozenGraph<?> graph;
+        private final int[] origins;
+        private final int[] destinations;
+        private final int[] known;
+        private final EdgeOverlay.View<?> overlay;
+        private final double[][] costs;
+        private final int from;
+        private final int to;
+
+        OriginRange(FrozenGraph<?> graph, int[] origins, int[] destinations, int[] known, EdgeOverlay.View<?> overlay,
+                double[][] costs, int from, int to) {
+            this.graph = graph;
+            this.origins = origins;
+            this.destinations = destinations;
+            this.known = known;
+            this.overlay = overlay;
+            this.costs = costs;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > ORIGINS_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new OriginRange(graph, origins, destinations, known, overlay, costs, from, mid),
+                        new OriginRange(graph, origins, destinations, known, overlay, costs, mid, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                fillRow(graph, origins[i], destinations, known, overlay, costs[i]);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,319 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.campuspathfinder.pathfinder_app.models.FrozenGraph;
+import com.campuspathfinder.pathfinder_app.models.GraphListener;
+
+/**
+ * <b>EdgeOverlay</b> is a <b>mutable</b> set of temporary rules laid over a graph
+ * without changing it: an edge can be blocked, or have its weight multiplied by
+ * a factor of at least 1, until a given time. Searches read the rules through a
+ * {@link View} of one {@link FrozenGraph}, one array lookup per relaxed edge.
+ * <p>
+ * Adding or lifting a rule costs O(1) plus a scan of the edge's source's
+ * outgoing edges, and whatever its listeners do. Caches of results should
+ * check the {@link #revision()} they were computed under rather than listen,
+ * so that toggling rules stays cheap. Rules are kept by node, not edge index,
+ * so they carry over to later versions of the graph.
+ * <p>
+ * Multipliers are never below 1, so an overlay never makes a route cheaper than
+ * the graph says and distance heuristics stay admissible. Listeners are told of
+ * every change the way {@link GraphListener} reports graph changes: a rule that
+ * makes an edge dearer as edgeRemoved, since only routes over that edge can be
+ * affected, and anything that makes an edge cheaper (including a rule expiring)
+ * as edgeAdded.
+ */
+
+public final class EdgeOverlay<NT extends Comparable<NT>> {
+
+    /** The multiplier of a blocked edge. */
+    public static final double BLOCKED = Double.POSITIVE_INFINITY;
+
+    private static final Instant NEVER = Instant.ofEpochMilli(Long.MAX_VALUE);
+
+    private final Clock clock;
+    private final Map<EdgeKey<NT>, Rule> rules = new HashMap<>();
+    private final List<GraphListener<NT>> listeners = new CopyOnWriteArrayList<>();
+    private volatile View<NT> view;
+    private volatile long revision;
+    private volatile long lastModified;
+    // written under the lock, but read without it to decide whether to expire rules
+    private volatile long nextExpiry = Long.MAX_VALUE;
+
+    /* Abstraction Function:
+       Edge source->target has weight multiplied by rules.get(source, target).multiplier
+       while the clock reads before rules.get(source, target).until, and its plain
+       weight otherwise.
+
+       Representation Invariant:
+         * every multiplier is >= 1
+         * nextExpiry <= until of every rule
+         * view is null if rules is empty
+         * view is null or has the multiplier and until of every rule at the edge
+           index of its pair in view.graph, and 1 / Long.MAX_VALUE everywhere else
+    */
+
+    public EdgeOverlay() {
+        this(Clock.systemUTC());
+    }
+
+    /**
+     * @param clock Decides when rules expire.
+     */
+    public EdgeOverlay(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Block the edge from source to target until the given time.
+     */
+    public void block(NT source, NT target, Instant until) {
+        multiply(source, target, BLOCKED, until);
+    }
+
+    /**
+     * Multiply the weight of the edge from source to target by multiplier until
+     * the given time, replacing any earlier rule for it.
+     *
+     * @throws IllegalArgumentException if multiplier is less than 1 or NaN
+     */
+    public synchronized void multiply(NT source, NT target, double multiplier, Instant until) {
+        if (!(multiplier >= 1.0)) {
+            throw new IllegalArgumentException("multiplier " + multiplier + " is less than 1");
+        }
+        // Instant.MAX and other times past the range of a long never expire
+        long expiry = until.isBefore(NEVER) ? until.toEpochMilli() : Long.MAX_VALUE;
+        EdgeKey<NT> key = new EdgeKey<>(source, target);
+        Rule previous = rules.put(key, new Rule(multiplier, expiry));
+        nextExpiry = Math.min(nextExpiry, expiry);
+        patch(key, multiplier, expiry);
+        changed();
+
+        boolean dearer = previous == null || previous.until <= clock.millis()
+                || (multiplier >= previous.multiplier && expiry >= previous.until);
+        for (GraphListener<NT> listener : listeners) {
+            if (dearer) {
+                listener.edgeRemoved(source, target);
+            } else {
+                listener.edgeAdded(source, target);
+            }
+        }
+    }
+
+    /**
+     * Remove any rule for the edge from source to target.
+     */
+    public synchronized void clear(NT source, NT target) {
+        EdgeKey<NT> key = new EdgeKey<>(source, target);
+        if (rules.remove(key) == null) return;
+        patch(key, 1.0, Long.MAX_VALUE);
+        if (rules.isEmpty()) view = null;
+        changed();
+        for (GraphListener<NT> listener : listeners) listener.edgeAdded(source, target);
+    }
+
+    /**
+     * @return a number that changes whenever the rules in force change, including
+     *         when one expires, so a result computed under one revision is still
+     *         valid while the revision stays the same
+     */
+    public long revision() {
+        if (clock.millis() >= nextExpiry) expire();
+        return revision;
+    }
+
+    /**
+     * @return the time, in milliseconds since the epoch by the overlay's clock, of the
+     *         last change to the rules in force, or 0 if they have never changed
+     */
+    public long lastModified() {
+        if (clock.millis() >= nextExpiry) expire();
+        return lastModified;
+    }
+
+    /**
+     * @return true if no rule is in force
+     */
+    public synchronized boolean isEmpty() {
+        if (clock.millis() >= nextExpiry) expire();
+        return rules.isEmpty();
+    }
+
+    /**
+     * @return the rules as they apply to graph, or null if there are none, in which
+     *         case the plain weights of graph apply
+     */
+    public View<NT> view(FrozenGraph<NT> graph) {
+        if (clock.millis() >= nextExpiry) expire();
+        View<NT> current = view;
+        if (current != null && current.graph == graph) return current;
+        synchronized (this) {
+            if (rules.isEmpty()) return null;
+            if (view == null || view.graph != graph) {
+                View<NT> compiled = new View<>(graph, clock);
+                for (Map.Entry<EdgeKey<NT>, Rule> rule : rules.entrySet()) {
+                    compiled.set(rule.getKey(), rule.getValue().multiplier, rule.getValue().until);
+                }
+                view = compiled;
+            }
+            return view;
+        }
+    }
+
+    /**
+     * @return the rules as they apply to graph at this moment, or null if there are
+     *         none; unlike {@link #view}, later rules and expiries do not change it
+     */
+    public synchronized View<NT> frozenView(FrozenGraph<NT> graph) {
+        View<NT> current = view(graph);
+        return current == null ? null : current.frozen();
+    }
+
+    public void addListener(GraphListener<NT> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(GraphListener<NT> listener) {
+        listeners.remove(listener);
+    }
+
+    private void patch(EdgeKey<NT> key, double multiplier, long until) {
+        View<NT> current = view;
+        if (current != null) current.set(key, multiplier, until);
+    }
+
+    private synchronized void expire() {
+        long now = clock.millis();
+        if (now < nextExpiry) return;
+        nextExpiry = Long.MAX_VALUE;
+        List<EdgeKey<NT>> expired = new ArrayList<>();
+        for (Iterator<Map.Entry<EdgeKey<NT>, Rule>> it = rules.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<EdgeKey<NT>, Rule> rule = it.next();
+            if (rule.getValue().until <= now) {
+                it.remove();
+                patch(rule.getKey(), 1.0, Long.MAX_VALUE);
+                expired.add(rule.getKey());
+            } else {
+                nextExpiry = Math.min(nextExpiry, rule.getValue().until);
+            }
+        }
+        if (rules.isEmpty()) view = null;
+        // bump the revision before telling listeners, as every other change does
+        changed();
+        for (EdgeKey<NT> key : expired) {
+            for (GraphListener<NT> listener : listeners) listener.edgeAdded(key.source, key.target);
+        }
+    }
+
+    private void changed() {
+        lastModified = clock.millis();
+        revision++;
+    }
+
+    /**
+     * The rules of an overlay laid over the edge indices of one {@link FrozenGraph},
+     * which also fit any graph that shares its edges, such as one made by
+     * {@link FrozenGraph#excluding}. Rules added to the overlay later are written
+     * straight into its view, so a search running at the time may see a change
+     * part way through.
+     */
+    public static final class View<NT extends Comparable<NT>> {
+        private final FrozenGraph<NT> graph;
+        private final Clock clock;
+        private final double[] multipliers;
+        private final long[] until;
+
+        private View(FrozenGraph<NT> graph, Clock clock) {
+            this.graph = graph;
+            this.clock = clock;
+            this.multipliers = new double[graph.edgeCount()];
+            this.until = new long[graph.edgeCount()];
+            Arrays.fill(multipliers, 1.0);
+            Arrays.fill(until, Long.MAX_VALUE);
+        }
+
+        private View(View<NT> view, Clock clock) {
+            this.graph = view.graph;
+            this.clock = clock;
+            this.multipliers = view.multipliers.clone();
+            this.until = view.until.clone();
+        }
+
+        /**
+         * @return a copy of the view with its clock stopped at the current time
+         */
+        private View<NT> frozen() {
+            return new View<>(this, Clock.fixed(clock.instant(), clock.getZone()));
+        }
+
+        private void set(EdgeKey<NT> key, double multiplier, long expiry) {
+            int u = graph.indexOf(key.source);
+            int v = graph.indexOf(key.target);
+            int e = u < 0 || v < 0 ? -1 : graph.edgeBetween(u, v);
+            if (e < 0) return;
+            until[e] = expiry;
+            multipliers[e] = multiplier;
+        }
+
+        /**
+         * @return the graph the view applies to
+         */
+        public FrozenGraph<NT> graph() {
+            return graph;
+        }
+
+        /**
+         * @param e      An edge index of graph().
+         * @param weight The weight of edge e without the overlay.
+         * @return the weight of edge e under the rules in force, positive infinity if it is blocked
+         */
+        public double weight(int e, double weight) {
+            double multiplier = multipliers[e];
+            if (multiplier == 1.0 || until[e] <= clock.millis()) return weight;
+            return multiplier == BLOCKED ? BLOCKED : weight * multiplier;
+        }
+    }
+
+    private static final class Rule {
+        final double multiplier;
+        final long until;
+
+        Rule(double multiplier, long until) {
+            this.multiplier = multiplier;
+            this.until = until;
+        }
+    }
+
+    private static final class EdgeKey<NT> {
+        final NT source;
+        final NT target;
+
+        EdgeKey(NT source, NT target) {
+            this.source = source;
+            this.target = target;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof EdgeKey<?>)) return false;
+            EdgeKey<?> other = (EdgeKey<?>) obj;
+            return source.equals(other.source) && target.equals(other.target);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(source, target);
+        }
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+import java.util.function.ToIntFunction;
+
+import com.campuspathfinder.pathfinder_app.models.FrozenGraph;
+
+/**
+ * Straight-line distance between node coordinates. It is admissible for any 
+ * graph whose edge weights are the Euclidean length of the edge, like the 
+ * weights {@link com.campuspathfinder.pathfinder_app.models.MapModel} computes.
+ */
+
+public final class EuclideanHeuristic implements Heuristic {
+    private final double[] x;
+    private final double[] y;
+    
+    private EuclideanHeuristic(double[] x, double[] y) {
+        this.x = x;
+        this.y = y;
+    }
+    
+    /**
+     * @param graph The snapshot whose node ids the heuristic is indexed by.
+     * @param xCoord The x coordinate of a node.
+     * @param yCoord The y coordinate of a node.
+     */
+    public static <NT extends Comparable<NT>> EuclideanHeuristic of(FrozenGraph<NT> graph, ToIntFunction<NT> xCoord, ToIntFunction<NT> yCoord) {
+        double[] x = new double[graph.size()];
+        double[] y = new double[graph.size()];
+        for (int i = 0; i < graph.size(); i++) {
+            x[i] = xCoord.applyAsInt(graph.node(i));
+            y[i] = yCoord.applyAsInt(graph.node(i));
+        }
+        return new EuclideanHeuristic(x, y);
+    }
+    
+    @Override
+    public double estimate(int u, int target) {
+        double dx = x[u] - x[target];
+        double dy = y[u] - y[target];
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+    
+}
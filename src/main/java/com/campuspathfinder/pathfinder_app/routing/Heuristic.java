@@ -0,0 +1,16 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+/**
+ * A lower bound on the cost of reaching one node from another, used to guide 
+ * {@link AStar}. It must never overestimate the real cost.
+ */
+
+@FunctionalInterface
+public interface Heuristic {
+    
+    /**
+     * @return a lower bound on the cost of the cheapest path from node u to node target
+     */
+    double estimate(int u, int target);
+    
+}
@@ -0,0 +1,134 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+import java.util.Arrays;
+
+/**
+ * <b>IndexedMinHeap</b> is a binary min-heap over dense int ids with a 
+ * decrease-key operation. Each id is in the heap at most once, so a search 
+ * never holds stale entries. All storage is reused between searches.
+ */
+
+public final class IndexedMinHeap {
+    private int[] heap;
+    private int[] position;
+    private double[] keys;
+    private int size;
+    
+    /* Representation Invariant:
+         * position[heap[i]] == i for every i in [0, size)
+         * position[id] == -1 for every id not in the heap
+         * keys[heap[(i - 1) / 2]] <= keys[heap[i]] for every i in [1, size)
+    */
+    
+    public IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        position = new int[capacity];
+        keys = new double[capacity];
+        Arrays.fill(position, -1);
+    }
+    
+    /**
+     * Empty the heap and make room for ids in [0, capacity).
+     */
+    public void clear(int capacity) {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+        if (capacity > position.length) {
+            int grown = Math.max(capacity, position.length * 2);
+            heap = new int[grown];
+            keys = new double[grown];
+            position = new int[grown];
+            Arrays.fill(position, -1);
+        }
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean contains(int id) {
+        return position[id] >= 0;
+    }
+    
+    /**
+     * @return the smallest key in the heap
+     * @requires !isEmpty()
+     */
+    public double peekKey() {
+        return keys[heap[0]];
+    }
+    
+    /**
+     * Insert id with the given key, or lower its key if it is already queued 
+     * with a larger one.
+     */
+    public void insertOrDecrease(int id, double key) {
+        int i = position[id];
+        if (i < 0) {
+            i = size++;
+            heap[i] = id;
+            position[id] = i;
+        } else if (key >= keys[id]) {
+            return;
+        }
+        keys[id] = key;
+        siftUp(i);
+    }
+    
+    /**
+     * Remove and return the id with the smallest key.
+     * @requires !isEmpty()
+     */
+    public int poll() {
+        int min = heap[0];
+        position[min] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            position[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+    
+    private void siftUp(int i) {
+        int id = heap[i];
+        double key = keys[id];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            int parentId = heap[parent];
+            if (keys[parentId] <= key) break;
+            heap[i] = parentId;
+            position[parentId] = i;
+            i = parent;
+        }
+        heap[i] = id;
+        position[id] = i;
+    }
+    
+    private void siftDown(int i) {
+        int id = heap[i];
+        double key = keys[id];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && keys[heap[right]] < keys[heap[child]]) child = right;
+            int childId = heap[child];
+            if (key <= keys[childId]) break;
+            heap[i] = childId;
+            position[childId] = i;
+            i = child;
+        }
+        heap[i] = id;
+        position[id] = i;
+    }
+    
+}
@@ -0,0 +1,30 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+/**
+ * <b>RankedNode</b> is an immutable pairing of a node with the cost of the 
+ * cheapest path to it, as returned by nearest-node queries.
+ */
+
+public final class RankedNode<NT> {
+    private final NT node;
+    private final double distance;
+    
+    public RankedNode(NT node, double distance) {
+        this.node = node;
+        this.distance = distance;
+    }
+    
+    public NT getNode() {
+        return node;
+    }
+    
+    public double getDistance() {
+        return distance;
+    }
+    
+    @Override
+    public String toString() {
+        return node + "@" + distance;
+    }
+    
+}
@@ -0,0 +1,183 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.Edge;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * <b>RouteCache</b> is a bounded, thread-safe cache of routes keyed by 
+ * (map, source building id, target building id, {@link RouteOptions}). 
+ * One cache can be shared by several maps. Eviction follows Caffeine's 
+ * frequency- and recency-aware policy, so popular building pairs stay cached.
+ * <p>
+ * The cache does not watch the maps itself; the owner of a map must call the 
+ * invalidate methods whenever the map's graph changes. Each route is also 
+ * stamped with the {@link EdgeOverlay#revision() revision} of the map's overlay 
+ * it was found under and only served while the revision is the same, so 
+ * closing or reopening a path costs the cache nothing. A route searched for 
+ * while the map changed may be put after the change cleared the cache, so the 
+ * owner must check the map again after a put and {@link #remove} the route if 
+ * it has moved on.
+ */
+
+public final class RouteCache {
+    private final Cache<Key, Stamped> routes;
+    
+    private RouteCache(Cache<Key, Stamped> routes) {
+        this.routes = routes;
+    }
+    
+    /**
+     * @param maximumSize The most routes to keep; the least valuable are evicted first.
+     */
+    public static RouteCache withMaximumSize(long maximumSize) {
+        return new RouteCache(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build());
+    }
+    
+    /**
+     * @param maximumEdges The most edges to keep across all cached routes, so long 
+     *                     routes take a bigger share of the bound than short ones.
+     */
+    public static RouteCache withMaximumWeight(long maximumEdges) {
+        return new RouteCache(Caffeine.newBuilder()
+                .maximumWeight(maximumEdges)
+                .<Key, Stamped>weigher((key, stamped) -> stamped.route.size() + 1)
+                .recordStats()
+                .build());
+    }
+    
+    /**
+     * @param map      The map the route belongs to, compared by identity.
+     * @param revision The revision of the map's overlay now.
+     * @param stats    Filled in with zero work done on a hit, or null.
+     * @return a copy of the cached route, or null if it is not cached or was found 
+     *         under another revision
+     */
+    public LinkedHashSet<Edge<Building, Double>> get(Object map, int source, int target, RouteOptions options, long revision, SearchStats stats) {
+        Stamped stamped = routes.getIfPresent(new Key(map, source, target, options));
+        if (stamped == null || stamped.revision != revision) return null;
+        if (stats != null) stats.record(0, 0, 0);
+        return new LinkedHashSet<>(stamped.route);
+    }
+    
+    /**
+     * Cache a copy of route.
+     *
+     * @param map      The map the route belongs to, compared by identity.
+     * @param revision The revision of the map's overlay the route was found under.
+     */
+    public void put(Object map, int source, int target, RouteOptions options, long revision, LinkedHashSet<Edge<Building, Double>> route) {
+        routes.put(new Key(map, source, target, options), new Stamped(new LinkedHashSet<>(route), revision));
+    }
+    
+    /**
+     * Drop the route from source to target, if it is cached.
+     *
+     * @param map The map the route belongs to, compared by identity.
+     */
+    public void remove(Object map, int source, int target, RouteOptions options) {
+        routes.invalidate(new Key(map, source, target, options));
+    }
+    
+    /**
+     * Drop every route of a map. Needed when an edge is added or relabeled, since 
+     * that can make any route cheaper.
+     */
+    public void invalidateMap(Object map) {
+        routes.asMap().keySet().removeIf(key -> key.map == map);
+    }
+    
+    /**
+     * Drop the routes of a map that start at, end at or pass through a building.
+     */
+    public void invalidateNode(Object map, Building node) {
+        int id = node.getBldgId();
+        routes.asMap().entrySet().removeIf(entry -> entry.getKey().map == map 
+                && (entry.getKey().source == id || entry.getKey().target == id || passesThrough(entry.getValue().route, node)));
+    }
+    
+    /**
+     * Drop the routes of a map that use the edge from source to target.
+     */
+    public void invalidateEdge(Object map, Building source, Building target) {
+        routes.asMap().entrySet().removeIf(entry -> entry.getKey().map == map && uses(entry.getValue().route, source, target));
+    }
+    
+    private static boolean passesThrough(Set<Edge<Building, Double>> route, Building node) {
+        for (Edge<Building, Double> edge : route) {
+            if (edge.getTargetNode().getNodeData().equals(node)) return true;
+        }
+        return false;
+    }
+    
+    private static boolean uses(Set<Edge<Building, Double>> route, Building source, Building target) {
+        for (Edge<Building, Double> edge : route) {
+            if (edge.getSourceNode().getNodeData().equals(source) && edge.getTargetNode().getNodeData().equals(target)) return true;
+        }
+        return false;
+    }
+    
+    /**
+     * @return the hit, miss and eviction counts since the cache was created
+     */
+    public CacheStats stats() {
+        return routes.stats();
+    }
+    
+    /**
+     * @return the approximate number of cached routes
+     */
+    public long size() {
+        return routes.estimatedSize();
+    }
+    
+    private static final class Stamped {
+        final LinkedHashSet<Edge<Building, Double>> route;
+        final long revision;
+        
+        Stamped(LinkedHashSet<Edge<Building, Double>> route, long revision) {
+            this.route = route;
+            this.revision = revision;
+        }
+    }
+    
+    static final class Key {
+        private final Object map;
+        private final int source;
+        private final int target;
+        private final RouteOptions options;
+        
+        Key(Object map, int source, int target, RouteOptions options) {
+            this.map = map;
+            this.source = source;
+            this.target = target;
+            this.options = options;
+        }
+        
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+            Key other = (Key) obj;
+            return map == other.map && source == other.source && target == other.target && options.equals(other.options);
+        }
+        
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(map);
+            result = 31 * result + source;
+            result = 31 * result + target;
+            result = 31 * result + options.hashCode();
+            return result;
+        }
+    }
+    
+}
@@ -0,0 +1,75 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+import java.util.Objects;
+
+/**
+ * <b>RouteOptions</b> is an immutable description of how a route should be 
+ * searched for, and for whom.
+ */
+
+public final class RouteOptions {
+    
+    /** The search used to answer a route query. */
+    public enum Algorithm {
+        /** Plain Dijkstra, expanding nodes in order of distance from the source. */
+        DIJKSTRA,
+        /** A* guided by the straight-line distance to the target. */
+        ASTAR,
+        /** Dijkstra from both ends at once, meeting in the middle. */
+        BIDIRECTIONAL,
+        /**
+         * A query on the map's contraction hierarchy, falling back to 
+         * BIDIRECTIONAL while none has been prepared for the current graph.
+         */
+        CONTRACTION_HIERARCHY
+    }
+    
+    public static final RouteOptions DEFAULT = new RouteOptions(Algorithm.DIJKSTRA, RoutingProfile.DEFAULT);
+    
+    private final Algorithm algorithm;
+    private final RoutingProfile profile;
+    
+    private RouteOptions(Algorithm algorithm, RoutingProfile profile) {
+        this.algorithm = algorithm;
+        this.profile = profile;
+    }
+    
+    public static RouteOptions of(Algorithm algorithm) {
+        return of(algorithm, RoutingProfile.DEFAULT);
+    }
+    
+    public static RouteOptions of(RoutingProfile profile) {
+        return of(Algorithm.DIJKSTRA, profile);
+    }
+    
+    public static RouteOptions of(Algorithm algorithm, RoutingProfile profile) {
+        return new RouteOptions(Objects.requireNonNull(algorithm), Objects.requireNonNull(profile));
+    }
+    
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+    
+    public RoutingProfile getProfile() {
+        return profile;
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof RouteOptions)) return false;
+        RouteOptions other = (RouteOptions) obj;
+        return algorithm == other.algorithm && profile == other.profile;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(algorithm, profile);
+    }
+    
+    @Override
+    public String toString() {
+        return "RouteOptions[algorithm=" + algorithm + ", profile=" + profile + "]";
+    }
+    
+}
@@ -0,0 +1,82 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+import java.util.LinkedHashSet;
+
+import com.campuspathfinder.pathfinder_app.models.Edge;
+import com.campuspathfinder.pathfinder_app.models.FrozenGraph;
+import com.campuspathfinder.pathfinder_app.models.Node;
+
+/**
+ * Turns the parent pointers left in a {@link SearchWorkspace} back into the 
+ * edge sets that {@link com.campuspathfinder.pathfinder_app.models.Graph#dijkstra} returns.
+ */
+
+public final class RoutePaths {
+    
+    private RoutePaths() {}
+    
+    /**
+     * @return the number of edges on the path from source to target in the last search of ws
+     * @requires target was reached by that search
+     */
+    public static int length(SearchWorkspace ws, int source, int target) {
+        int length = 0;
+        for (int v = target; v != source; v = ws.parent(v)) {
+            length++;
+        }
+        return length;
+    }
+    
+    /**
+     * Rebuild the path from source to target found by the last search of ws.
+     *
+     * @return the edges of the path led by a zero-cost self edge on source, 
+     *         or an empty set if target was not reached
+     */
+    public static <NT extends Comparable<NT>> LinkedHashSet<Edge<NT, Double>> edges(FrozenGraph<NT> graph, SearchWorkspace ws, int source, int target) {
+        if (!ws.reached(target)) return new LinkedHashSet<>();
+        
+        int length = length(ws, source, target);
+        int[] edgeIds = new int[length];
+        for (int v = target, i = length - 1; v != source; v = ws.parent(v), i--) {
+            edgeIds[i] = ws.parentEdge(v);
+        }
+        return edges(graph, source, edgeIds);
+    }
+    
+    /**
+     * Rebuild a path from a parent array, such as one row of a {@link RouteTable}.
+     *
+     * @param parents Holds the node before v on the path at parents[offset + v], or -1 for source.
+     * @return the edges of the path led by a zero-cost self edge on source
+     * @requires target is reachable from source through parents
+     */
+    public static <NT extends Comparable<NT>> LinkedHashSet<Edge<NT, Double>> edges(FrozenGraph<NT> graph, int[] parents, int offset, int source, int target) {
+        int length = 0;
+        for (int v = target; v != source; v = parents[offset + v]) {
+            length++;
+        }
+        int[] edgeIds = new int[length];
+        for (int v = target, i = length - 1; v != source; v = parents[offset + v], i--) {
+            edgeIds[i] = graph.edgeBetween(parents[offset + v], v);
+        }
+        return edges(graph, source, edgeIds);
+    }
+    
+    /**
+     * @param edgeIds The edge indices of a path starting at source, in order.
+     * @return the edges of the path led by a zero-cost self edge on source
+     */
+    public static <NT extends Comparable<NT>> LinkedHashSet<Edge<NT, Double>> edges(FrozenGraph<NT> graph, int source, int[] edgeIds) {
+        LinkedHashSet<Edge<NT, Double>> path = new LinkedHashSet<>();
+        Node<NT> from = new Node<>(graph.node(source));
+        path.add(new Edge<>(from, from, 0.0));
+        for (int e : edgeIds) {
+            Node<NT> to = new Node<>(graph.node(graph.target(e)));
+            path.add(new Edge<>(from, to, graph.weight(e)));
+            from = to;
+        }
+        return path;
+    }
+    
+}
@@ -0,0 +1,141 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.campuspathfinder.pathfinder_app.models.Edge;
+import com.campuspathfinder.pathfinder_app.models.FrozenGraph;
+
+/**
+ * <b>RouteTable</b> is an <b>immutable</b> all-pairs route table for a small 
+ * {@link FrozenGraph}: the cost of the cheapest path between every pair of 
+ * nodes, and the node just before the target on it. A route is answered by 
+ * walking those hops back from the target, so no search runs at query time. 
+ * Each row is one shortest-path tree, so the walk stays on a single path even 
+ * when several paths tie.
+ * <p>
+ * Both tables take size() * size() entries, so they are only built for graphs 
+ * of at most {@link #MAX_NODES} nodes.
+ */
+
+public final class RouteTable<NT extends Comparable<NT>> {
+    
+    /** The largest graph a table is built for, about 12 MB of tables. */
+    public static final int MAX_NODES = 1024;
+    
+    private static final int SOURCES_PER_TASK = 8;
+    
+    private final FrozenGraph<NT> graph;
+    private final double[] distances;
+    private final int[] parents;
+    
+    /* Abstraction Function:
+       distances[s * n + t] is the cost of the cheapest path from s to t (positive 
+       infinity if there is none) and parents[s * n + t] is the node before t on 
+       it (-1 if s == t or there is no path), where n = graph.size().
+    */
+    
+    private RouteTable(FrozenGraph<NT> graph) {
+        int n = graph.size();
+        this.graph = graph;
+        this.distances = new double[n * n];
+        this.parents = new int[n * n];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        Arrays.fill(parents, -1);
+    }
+    
+    /**
+     * @return true if a table can be built for graph
+     */
+    public static boolean fits(FrozenGraph<?> graph) {
+        return graph.size() <= MAX_NODES;
+    }
+    
+    /**
+     * Build the table on the common fork-join pool.
+     */
+    public static <NT extends Comparable<NT>> RouteTable<NT> build(FrozenGraph<NT> graph) {
+        return build(graph, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Build the table, running one Dijkstra search per source node in parallel on pool.
+     *
+     * @throws IllegalArgumentException if !fits(graph)
+     */
+    public static <NT extends Comparable<NT>> RouteTable<NT> build(FrozenGraph<NT> graph, ForkJoinPool pool) {
+        if (!fits(graph)) {
+            throw new IllegalArgumentException("Graph of " + graph.size() + " nodes is too large for a route table");
+        }
+        RouteTable<NT> table = new RouteTable<>(graph);
+        pool.invoke(table.new SourceRange(0, graph.size()));
+        return table;
+    }
+    
+    private void fillRow(int source, int[] order) {
+        int n = graph.size();
+        int row = source * n;
+        SearchWorkspace ws = SearchWorkspace.get(n);
+        int settled = Dijkstra.settleAll(graph, source, ws, order);
+        
+        for (int i = 0; i < settled; i++) {
+            int v = order[i];
+            distances[row + v] = ws.distance(v);
+            parents[row + v] = ws.parent(v);
+        }
+    }
+    
+    private final class SourceRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int from;
+        private final int to;
+        
+        SourceRange(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from > SOURCES_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new SourceRange(from, mid), new SourceRange(mid, to));
+                return;
+            }
+            int[] order = new int[graph.size()];
+            for (int source = from; source < to; source++) {
+                fillRow(source, order);
+            }
+        }
+    }
+    
+    /**
+     * @return the snapshot this table was built from
+     */
+    public FrozenGraph<NT> graph() {
+        return graph;
+    }
+    
+    /**
+     * @return the cost of the cheapest path from source to target, or positive infinity if there is none
+     */
+    public double distance(int source, int target) {
+        return distances[source * graph.size() + target];
+    }
+    
+    /**
+     * Walk the table from source to target.
+     *
+     * @param stats Filled in with zero work done, or null.
+     * @return the edges of the cheapest path led by a zero-cost self edge on source, 
+     *         or an empty set if there is none
+     */
+    public LinkedHashSet<Edge<NT, Double>> edges(int source, int target, SearchStats stats) {
+        if (stats != null) stats.record(0, 0, 0);
+        if (distance(source, target) == Double.POSITIVE_INFINITY) return new LinkedHashSet<>();
+        return RoutePaths.edges(graph, parents, source * graph.size(), source, target);
+    }
+    
+}
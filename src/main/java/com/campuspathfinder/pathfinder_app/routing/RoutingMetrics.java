@@ -0,0 +1,62 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+/**
+ * <b>RoutingMetrics</b> receives measurements of route queries and map loading.
+ * Every method does nothing by default, and while {@link #isEnabled()} is false
+ * route queries are neither timed nor counted, so {@link #NOOP} costs one check
+ * per query.
+ */
+
+public interface RoutingMetrics {
+
+    /** Records nothing. */
+    RoutingMetrics NOOP = new RoutingMetrics() {};
+
+    /**
+     * The steps of loading a map, in order.
+     */
+    enum LoadPhase {
+        /** Reading buildings and adding them to the graph. */
+        PARSE_BUILDINGS,
+        /** Reading edges and adding them to the graph. */
+        PARSE_EDGES,
+        /** Building the routing snapshot, heuristic and route table from the graph. */
+        BUILD_GRAPH
+    }
+
+    /**
+     * How a route query was answered.
+     */
+    enum Outcome {
+        /** A route cached by an earlier query was returned. */
+        CACHE,
+        /** The route was read from the map's precomputed {@link RouteTable}. */
+        TABLE,
+        /** A shortest-path search ran. */
+        SEARCH
+    }
+
+    /**
+     * @return true if route queries should be timed and their searches counted
+     */
+    default boolean isEnabled() {
+        return false;
+    }
+
+    /**
+     * Record one route query. Only called while {@link #isEnabled()}.
+     *
+     * @param map        The university whose map was searched.
+     * @param outcome    How the query was answered.
+     * @param nanos      How long the query took, cache lookups included.
+     * @param stats      The work done by the search; all zero unless outcome is {@link Outcome#SEARCH}.
+     * @param pathLength The number of edges on the route found, or 0 if there is none.
+     */
+    default void routeFound(String map, RouteOptions options, Outcome outcome, long nanos, SearchStats stats, int pathLength) {}
+
+    /**
+     * Record how long one phase of loading a map took.
+     */
+    default void mapLoaded(String map, LoadPhase phase, long nanos) {}
+
+}
@@ -0,0 +1,32 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+import java.util.function.Predicate;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+
+/**
+ * The kinds of traveller a route can be found for. Each profile decides which 
+ * places a route may pass through; a map builds the restricted graph of each 
+ * profile once per version, so a search never asks it about single edges.
+ */
+
+public enum RoutingProfile {
+    /** Every path on the map. */
+    DEFAULT(bldg -> true),
+    /** Only places that can be entered without steps. */
+    STEP_FREE(Building::isStepFree);
+    
+    private final Predicate<Building> allows;
+    
+    RoutingProfile(Predicate<Building> allows) {
+        this.allows = allows;
+    }
+    
+    /**
+     * @return true if routes of this profile may start at, end at or pass through bldg
+     */
+    public boolean allows(Building bldg) {
+        return allows.test(bldg);
+    }
+    
+}
@@ -0,0 +1,46 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+/**
+ * <b>SearchStats</b> counts the work done by one shortest-path search. Pass an 
+ * instance to a search to have it filled in; the counters are overwritten by 
+ * every search that is given this instance.
+ */
+
+public final class SearchStats {
+    private int nodesExpanded;
+    private int edgesRelaxed;
+    private int heapPushes;
+    
+    /**
+     * @return the number of nodes taken off the queue and expanded
+     */
+    public int getNodesExpanded() {
+        return nodesExpanded;
+    }
+    
+    /**
+     * @return the number of edges looked at while expanding nodes
+     */
+    public int getEdgesRelaxed() {
+        return edgesRelaxed;
+    }
+    
+    /**
+     * @return the number of times a node was added to the queue or had its key lowered
+     */
+    public int getHeapPushes() {
+        return heapPushes;
+    }
+    
+    void record(int nodesExpanded, int edgesRelaxed, int heapPushes) {
+        this.nodesExpanded = nodesExpanded;
+        this.edgesRelaxed = edgesRelaxed;
+        this.heapPushes = heapPushes;
+    }
+    
+    @Override
+    public String toString() {
+        return "SearchStats[nodesExpanded=" + nodesExpanded + ", edgesRelaxed=" + edgesRelaxed + ", heapPushes=" + heapPushes + "]";
+    }
+    
+}
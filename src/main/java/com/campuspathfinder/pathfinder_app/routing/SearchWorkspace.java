@@ -0,0 +1,150 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+import java.util.Arrays;
+
+/**
+ * <b>SearchWorkspace</b> holds the per-node state of one shortest-path search: 
+ * the best known distance, the parent node and the edge used to reach it, plus 
+ * the heap of queued nodes for Dijkstra-style searches or a plain queue for 
+ * breadth-first ones.
+ * <p>
+ * A workspace is thread-confined and reused between searches. Entries are 
+ * stamped with the generation of the search that wrote them, so starting a 
+ * new search is O(1) instead of clearing every array.
+ */
+
+public final class SearchWorkspace {
+    private static final ThreadLocal<SearchWorkspace[]> LOCAL = ThreadLocal.withInitial(() -> new SearchWorkspace[] {
+        new SearchWorkspace(64), new SearchWorkspace(64)
+    });
+    
+    private double[] dist;
+    private int[] parent;
+    private int[] parentEdge;
+    private int[] stamp;
+    private int generation;
+    private int[] queue;
+    private int[] targetStamp;
+    private final IndexedMinHeap heap;
+    
+    public SearchWorkspace(int capacity) {
+        dist = new double[capacity];
+        parent = new int[capacity];
+        parentEdge = new int[capacity];
+        stamp = new int[capacity];
+        queue = new int[capacity];
+        targetStamp = new int[capacity];
+        heap = new IndexedMinHeap(capacity);
+    }
+    
+    /**
+     * @param size The number of nodes in the graph about to be searched.
+     * @return the calling thread's workspace, reset for a new search
+     */
+    public static SearchWorkspace get(int size) {
+        SearchWorkspace workspace = LOCAL.get()[0];
+        workspace.reset(size);
+        return workspace;
+    }
+    
+    /**
+     * @param size The number of nodes in the graph about to be searched.
+     * @return a second workspace of the calling thread, distinct from {@link #get}, 
+     *         reset for the backward half of a bidirectional search
+     */
+    public static SearchWorkspace getBackward(int size) {
+        SearchWorkspace workspace = LOCAL.get()[1];
+        workspace.reset(size);
+        return workspace;
+    }
+    
+    /**
+     * Forget the previous search and make room for ids in [0, size).
+     */
+    public void reset(int size) {
+        if (size > stamp.length) {
+            int grown = Math.max(size, stamp.length * 2);
+            dist = new double[grown];
+            parent = new int[grown];
+            parentEdge = new int[grown];
+            stamp = new int[grown];
+            queue = new int[grown];
+            targetStamp = new int[grown];
+            generation = 0;
+        }
+        if (++generation == 0) {
+            Arrays.fill(stamp, 0);
+            Arrays.fill(targetStamp, 0);
+            generation = 1;
+        }
+        heap.clear(size);
+    }
+    
+    public IndexedMinHeap heap() {
+        return heap;
+    }
+    
+    /**
+     * @return a scratch array with room for every node id, for breadth-first queues
+     */
+    public int[] queue() {
+        return queue;
+    }
+    
+    /**
+     * Mark v as one of the targets of this search.
+     *
+     * @return true if v was not already marked
+     */
+    public boolean markTarget(int v) {
+        if (targetStamp[v] == generation) return false;
+        targetStamp[v] = generation;
+        return true;
+    }
+    
+    /**
+     * @return true if v has been marked as a target of this search
+     */
+    public boolean isTarget(int v) {
+        return targetStamp[v] == generation;
+    }
+    
+    /**
+     * @return true if this search has reached node v
+     */
+    public boolean reached(int v) {
+        return stamp[v] == generation;
+    }
+    
+    /**
+     * @return the best known distance to v, or positive infinity if v has not been reached
+     */
+    public double distance(int v) {
+        return stamp[v] == generation ? dist[v] : Double.POSITIVE_INFINITY;
+    }
+    
+    /**
+     * @return the node v was reached from, or -1 for the source or an unreached node
+     */
+    public int parent(int v) {
+        return stamp[v] == generation ? parent[v] : -1;
+    }
+    
+    /**
+     * @return the edge v was reached through, or -1 for the source or an unreached node
+     */
+    public int parentEdge(int v) {
+        return stamp[v] == generation ? parentEdge[v] : -1;
+    }
+    
+    /**
+     * Record that v is reachable at distance d through edge e from node p.
+     */
+    public void update(int v, double d, int p, int e) {
+        stamp[v] = generation;
+        dist[v] = d;
+        parent[v] = p;
+        parentEdge[v] = e;
+    }
+    
+}
@@ -0,0 +1,117 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import com.campuspathfinder.pathfinder_app.models.Edge;
+import com.campuspathfinder.pathfinder_app.models.FrozenGraph;
+
+/**
+ * <b>ShortestPathTree</b> is an <b>immutable</b> record of one single-source 
+ * search: the cost of the cheapest path from the source to every node, and 
+ * the node before each one on that path. One tree answers any number of 
+ * route and distance questions from the same source.
+ */
+
+public final class ShortestPathTree<NT extends Comparable<NT>> {
+    private final FrozenGraph<NT> graph;
+    private final int source;
+    private final double[] distances;
+    private final int[] parents;
+    private final int[] order;
+    
+    /* Abstraction Function:
+       distances[v] is the cost of the cheapest path from source to v (positive 
+       infinity if v is unreachable) and parents[v] is the node before v on it 
+       (-1 for the source and unreachable nodes). order lists the reachable 
+       nodes, nearest first.
+    */
+    
+    private ShortestPathTree(FrozenGraph<NT> graph, int source, double[] distances, int[] parents, int[] order) {
+        this.graph = graph;
+        this.source = source;
+        this.distances = distances;
+        this.parents = parents;
+        this.order = order;
+    }
+    
+    /**
+     * Run one search from source over the whole graph.
+     */
+    public static <NT extends Comparable<NT>> ShortestPathTree<NT> of(FrozenGraph<NT> graph, int source) {
+        return of(graph, source, null);
+    }
+    
+    /**
+     * Run one search from source over the whole graph, with edge weights read 
+     * through overlay, or the plain weights if it is null. Nodes reachable only 
+     * over blocked edges are unreachable.
+     */
+    public static <NT extends Comparable<NT>> ShortestPathTree<NT> of(FrozenGraph<NT> graph, int source, EdgeOverlay.View<?> overlay) {
+        int n = graph.size();
+        int[] order = new int[n];
+        SearchWorkspace ws = SearchWorkspace.get(n);
+        int settled = Dijkstra.settleAll(graph, source, ws, order, overlay);
+        
+        double[] distances = new double[n];
+        int[] parents = new int[n];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        Arrays.fill(parents, -1);
+        for (int i = 0; i < settled; i++) {
+            int v = order[i];
+            distances[v] = ws.distance(v);
+            parents[v] = ws.parent(v);
+        }
+        return new ShortestPathTree<>(graph, source, distances, parents, Arrays.copyOf(order, settled));
+    }
+    
+    public FrozenGraph<NT> graph() {
+        return graph;
+    }
+    
+    public NT source() {
+        return graph.node(source);
+    }
+    
+    /**
+     * @return the cost of the cheapest path from the source to node, or positive 
+     *         infinity if node is unreachable or not in the graph
+     */
+    public double distance(NT node) {
+        int v = graph.indexOf(node);
+        return v < 0 ? Double.POSITIVE_INFINITY : distances[v];
+    }
+    
+    /**
+     * @return the node before node on the cheapest path to it, or null for the 
+     *         source and for unreachable nodes
+     */
+    public NT parent(NT node) {
+        int v = graph.indexOf(node);
+        return v < 0 || parents[v] < 0 ? null : graph.node(parents[v]);
+    }
+    
+    /**
+     * @return every reachable node, nearest first, starting with the source
+     */
+    public List<NT> reachable() {
+        List<NT> nodes = new ArrayList<>(order.length);
+        for (int v : order) {
+            nodes.add(graph.node(v));
+        }
+        return nodes;
+    }
+    
+    /**
+     * @return the edges of the cheapest path from the source to node led by a 
+     *         zero-cost self edge on the source, or an empty set if there is none
+     */
+    public LinkedHashSet<Edge<NT, Double>> pathTo(NT node) {
+        int target = graph.indexOf(node);
+        if (target < 0 || distances[target] == Double.POSITIVE_INFINITY) return new LinkedHashSet<>();
+        return RoutePaths.edges(graph, parents, 0, source, target);
+    }
+    
+}
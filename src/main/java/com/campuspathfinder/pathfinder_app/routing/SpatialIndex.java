@@ -0,0 +1,264 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+import com.campuspathfinder.pathfinder_app.models.FrozenGraph;
+
+/**
+ * <b>SpatialIndex</b> is an <b>immutable</b> k-d tree over the coordinates of
+ * the nodes of a {@link FrozenGraph}, answering which nodes lie closest to a
+ * point, or within some distance of it, by straight-line distance. It is built
+ * once and never changed, so any number of threads may query it at once.
+ */
+
+public final class SpatialIndex<NT extends Comparable<NT>> {
+    private final FrozenGraph<NT> graph;
+    private final int[] ids;
+    private final int[] xs;
+    private final int[] ys;
+
+    /* Abstraction Function:
+       The tree over ids[lo, hi) has its root at mid = (lo + hi) >>> 1 and its
+       subtrees over ids[lo, mid) and ids[mid + 1, hi). The root of the whole
+       tree splits on x, and each level below splits on the other axis.
+       (xs[i], ys[i]) are the coordinates of node ids[i].
+
+       Representation Invariant:
+         * ids holds each indexed node id of graph once
+         * for the tree over [lo, hi) splitting on an axis, every node in
+           [lo, mid) has a coordinate on that axis <= that of mid, and every
+           node in (mid, hi) one >= it
+    */
+
+    private SpatialIndex(FrozenGraph<NT> graph, int[] ids, int[] xs, int[] ys) {
+        this.graph = graph;
+        this.ids = ids;
+        this.xs = xs;
+        this.ys = ys;
+    }
+
+    /**
+     * @param graph  The snapshot whose nodes are indexed.
+     * @param xCoord The x coordinate of a node.
+     * @param yCoord The y coordinate of a node.
+     */
+    public static <NT extends Comparable<NT>> SpatialIndex<NT> of(FrozenGraph<NT> graph, ToIntFunction<NT> xCoord, ToIntFunction<NT> yCoord) {
+        return of(graph, u -> true, xCoord, yCoord);
+    }
+
+    /**
+     * @param graph   The snapshot whose nodes are indexed.
+     * @param indexed Which node ids of graph to index; the others are never found.
+     * @param xCoord  The x coordinate of a node.
+     * @param yCoord  The y coordinate of a node.
+     */
+    public static <NT extends Comparable<NT>> SpatialIndex<NT> of(FrozenGraph<NT> graph, IntPredicate indexed,
+            ToIntFunction<NT> xCoord, ToIntFunction<NT> yCoord) {
+        int n = 0;
+        for (int u = 0; u < graph.size(); u++) {
+            if (indexed.test(u)) n++;
+        }
+        int[] ids = new int[n];
+        int[] xs = new int[n];
+        int[] ys = new int[n];
+        int i = 0;
+        for (int u = 0; u < graph.size(); u++) {
+            if (!indexed.test(u)) continue;
+            ids[i] = u;
+            xs[i] = xCoord.applyAsInt(graph.node(u));
+            ys[i] = yCoord.applyAsInt(graph.node(u));
+            i++;
+        }
+        SpatialIndex<NT> index = new SpatialIndex<>(graph, ids, xs, ys);
+        index.build(0, n, true);
+        return index;
+    }
+
+    /**
+     * @return the graph whose nodes are indexed
+     */
+    public FrozenGraph<NT> graph() {
+        return graph;
+    }
+
+    private void build(int lo, int hi, boolean xAxis) {
+        if (hi - lo < 2) return;
+        int mid = (lo + hi) >>> 1;
+        select(lo, hi - 1, mid, xAxis ? xs : ys);
+        build(lo, mid, !xAxis);
+        build(mid + 1, hi, !xAxis);
+    }
+
+    /**
+     * Reorder [lo, hi] so position k holds the node it would in sorted order by
+     * key, with nothing greater before it and nothing less after it.
+     */
+    private void select(int lo, int hi, int k, int[] key) {
+        while (lo < hi) {
+            int pivot = key[(lo + hi) >>> 1];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (key[i] < pivot) i++;
+                while (key[j] > pivot) j--;
+                if (i <= j) swap(i++, j--);
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void swap(int i, int j) {
+        int t = ids[i]; ids[i] = ids[j]; ids[j] = t;
+        t = xs[i]; xs[i] = xs[j]; xs[j] = t;
+        t = ys[i]; ys[i] = ys[j]; ys[j] = t;
+    }
+
+    private double distanceSquared(int i, double x, double y) {
+        double dx = xs[i] - x;
+        double dy = ys[i] - y;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Find the nodes closest to a point.
+     *
+     * @param k      The most nodes to return.
+     * @param filter Which nodes count.
+     * @return up to k nodes matching filter with their straight-line distances
+     *         from (x, y), nearest first
+     */
+    public List<RankedNode<NT>> nearest(double x, double y, int k, Predicate<? super NT> filter) {
+        if (k <= 0) return new ArrayList<>();
+        Closest closest = new Closest(Math.min(k, ids.length));
+        nearest(0, ids.length, true, x, y, filter, closest);
+
+        // the heap holds the farthest first; pop it into the list back to front
+        RankedNode<NT>[] ranked = newArray(closest.size);
+        for (int i = closest.size - 1; i >= 0; i--) {
+            ranked[i] = new RankedNode<>(graph.node(closest.ids[0]), Math.sqrt(closest.distances[0]));
+            closest.pop();
+        }
+        return new ArrayList<>(Arrays.asList(ranked));
+    }
+
+    private void nearest(int lo, int hi, boolean xAxis, double x, double y, Predicate<? super NT> filter, Closest closest) {
+        if (lo >= hi) return;
+        int mid = (lo + hi) >>> 1;
+        double d = distanceSquared(mid, x, y);
+        if (d < closest.bound() && filter.test(graph.node(ids[mid]))) {
+            closest.offer(ids[mid], d);
+        }
+        double delta = xAxis ? x - xs[mid] : y - ys[mid];
+        if (delta < 0) {
+            nearest(lo, mid, !xAxis, x, y, filter, closest);
+            if (delta * delta < closest.bound()) nearest(mid + 1, hi, !xAxis, x, y, filter, closest);
+        } else {
+            nearest(mid + 1, hi, !xAxis, x, y, filter, closest);
+            if (delta * delta < closest.bound()) nearest(lo, mid, !xAxis, x, y, filter, closest);
+        }
+    }
+
+    /**
+     * Find every node within a distance of a point.
+     *
+     * @param filter Which nodes count.
+     * @return the nodes matching filter no farther than radius from (x, y), with
+     *         their straight-line distances, nearest first
+     */
+    public List<RankedNode<NT>> within(double x, double y, double radius, Predicate<? super NT> filter) {
+        List<RankedNode<NT>> found = new ArrayList<>();
+        if (radius >= 0) within(0, ids.length, true, x, y, radius * radius, filter, found);
+        found.sort(Comparator.comparingDouble(RankedNode::getDistance));
+        return found;
+    }
+
+    private void within(int lo, int hi, boolean xAxis, double x, double y, double radiusSquared, Predicate<? super NT> filter,
+            List<RankedNode<NT>> found) {
+        if (lo >= hi) return;
+        int mid = (lo + hi) >>> 1;
+        double d = distanceSquared(mid, x, y);
+        if (d <= radiusSquared && filter.test(graph.node(ids[mid]))) {
+            found.add(new RankedNode<>(graph.node(ids[mid]), Math.sqrt(d)));
+        }
+        double delta = xAxis ? x - xs[mid] : y - ys[mid];
+        if (delta <= 0 || delta * delta <= radiusSquared) within(lo, mid, !xAxis, x, y, radiusSquared, filter, found);
+        if (delta >= 0 || delta * delta <= radiusSquared) within(mid + 1, hi, !xAxis, x, y, radiusSquared, filter, found);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <NT> RankedNode<NT>[] newArray(int size) {
+        return new RankedNode[size];
+    }
+
+    /**
+     * The closest nodes found so far, as a max-heap on squared distance of at most capacity nodes.
+     */
+    private static final class Closest {
+        final int[] ids;
+        final double[] distances;
+        int size;
+
+        Closest(int capacity) {
+            ids = new int[capacity];
+            distances = new double[capacity];
+        }
+
+        /**
+         * @return the squared distance a node must beat to be kept
+         */
+        double bound() {
+            return size < ids.length ? Double.POSITIVE_INFINITY : distances[0];
+        }
+
+        void offer(int id, double distance) {
+            if (size < ids.length) {
+                int i = size++;
+                while (i > 0 && distances[(i - 1) / 2] < distance) {
+                    ids[i] = ids[(i - 1) / 2];
+                    distances[i] = distances[(i - 1) / 2];
+                    i = (i - 1) / 2;
+                }
+                ids[i] = id;
+                distances[i] = distance;
+            } else {
+                siftDown(id, distance);
+            }
+        }
+
+        void pop() {
+            size--;
+            if (size > 0) siftDown(ids[size], distances[size]);
+        }
+
+        /**
+         * Replace the root with (id, distance) and restore the heap.
+         */
+        private void siftDown(int id, double distance) {
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) break;
+                if (child + 1 < size && distances[child + 1] > distances[child]) child++;
+                if (distances[child] <= distance) break;
+                ids[i] = ids[child];
+                distances[i] = distances[child];
+                i = child;
+            }
+            ids[i] = id;
+            distances[i] = distance;
+        }
+    }
+
+}
@@ -1,12 +1,18 @@
 package com.campuspathfinder.pathfinder_app.services;
 import com.campuspathfinder.pathfinder_app.models.Building;
-import com.campuspathfinder.pathfinder_app.repository.BuildingRepository;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class BuildingService {
+	private final MapStore maps;
+	
+	public BuildingService(MapStore maps) {
+		this.maps = maps;
+	}
+	
 	public List<Building> getAllBuildingsByUniversity(String university){
-		// First find the University Name using the University DB
-		return BuildingRepository.findById(university);
+		// the buildings of the university's stored map, or none if it has no map
+		return maps.load(university).map(map -> new ArrayList<>(map.getBuildings())).orElseGet(ArrayList::new);
 	}
 }
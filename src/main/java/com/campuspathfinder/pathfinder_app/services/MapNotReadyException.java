@@ -0,0 +1,14 @@
+package com.campuspathfinder.pathfinder_app.services;
+
+/**
+ * Thrown when a query asks about a map that is still loading or failed to load.
+ */
+public class MapNotReadyException extends IllegalStateException {
+
+	private static final long serialVersionUID = 1L;
+
+	public MapNotReadyException(String university, MapRegistry.Status status) {
+		super("Map of " + university + " is " + status + ".");
+	}
+
+}
@@ -0,0 +1,217 @@
+package com.campuspathfinder.pathfinder_app.services;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+import com.campuspathfinder.pathfinder_app.models.University;
+import com.campuspathfinder.pathfinder_app.routing.RoutingMetrics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * <b>MapRegistry</b> holds the map of every university the application serves.
+ * <p>
+ * At startup it finds every <i>NAME</i>_map_data_Nodes.csv under the configured
+ * location, pairs it with <i>NAME</i>_map_data_Edges.csv, and loads the maps
+ * concurrently on a fixed number of loader threads. Startup does not wait for
+ * them: each map is {@link Status#LOADING} until it is either {@link Status#READY}
+ * or {@link Status#FAILED}, and a map that is slow or broken only affects itself.
+ */
+@Service
+public class MapRegistry {
+
+	public enum Status { LOADING, READY, FAILED }
+
+	static final String NODES_SUFFIX = "_map_data_Nodes.csv";
+	static final String EDGES_SUFFIX = "_map_data_Edges.csv";
+
+	private static final Logger log = LoggerFactory.getLogger(MapRegistry.class);
+
+	private final ResourcePatternResolver resolver;
+	private final String location;
+	private final ExecutorService loader;
+	private final RoutingMetrics metrics;
+	private final Map<String, CompletableFuture<MapModel>> maps = new ConcurrentSkipListMap<>();
+
+	/**
+	 * @param location Where to look for map data, as a Spring resource location ending in '/'.
+	 * @param threads  The most maps to load at once.
+	 */
+	public MapRegistry(ResourcePatternResolver resolver, String location, int threads) {
+		this(resolver, location, threads, RoutingMetrics.NOOP);
+	}
+
+	@Autowired
+	public MapRegistry(ResourcePatternResolver resolver,
+			@Value("${pathfinder.maps.location:classpath*:data/}") String location,
+			@Value("${pathfinder.maps.loader-threads:2}") int threads,
+			ObjectProvider<RoutingMetrics> metrics) {
+		this(resolver, location, threads, metrics.getIfAvailable(() -> RoutingMetrics.NOOP));
+	}
+
+	/**
+	 * @param metrics Told how long each map takes to load, and about every route query on it.
+	 */
+	public MapRegistry(ResourcePatternResolver resolver, String location, int threads, RoutingMetrics metrics) {
+		this.resolver = resolver;
+		this.location = location;
+		this.metrics = metrics;
+		AtomicInteger count = new AtomicInteger();
+		this.loader = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), task -> {
+			Thread thread = new Thread(task, "map-loader-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Find every map under the location and start loading it.
+	 *
+	 * @throws IOException if the location cannot be searched
+	 */
+	@PostConstruct
+	public void start() throws IOException {
+		for (Resource nodes : resolver.getResources(location + "*" + NODES_SUFFIX)) {
+			String filename = nodes.getFilename();
+			String university = filename.substring(0, filename.length() - NODES_SUFFIX.length());
+			if (maps.containsKey(university)) {
+				log.warn("Ignoring {}: a map of {} was already found", nodes.getDescription(), university);
+				continue;
+			}
+			maps.put(university, CompletableFuture.supplyAsync(() -> load(university, nodes), loader));
+		}
+		log.info("Loading maps of {}", maps.keySet());
+	}
+
+	@PreDestroy
+	public void stop() {
+		loader.shutdownNow();
+	}
+
+	private MapModel load(String university, Resource nodes) {
+		long start = System.nanoTime();
+		try {
+			Resource edges = nodes.createRelative(university + EDGES_SUFFIX);
+			if (!edges.exists()) {
+				throw new IOException("Map of " + university + " has no " + university + EDGES_SUFFIX + ".");
+			}
+			ReadableByteChannel buildingsChannel = Channels.newChannel(nodes.getInputStream());
+			ReadableByteChannel edgesChannel;
+			try {
+				edgesChannel = Channels.newChannel(edges.getInputStream());
+			} catch (IOException e) {
+				buildingsChannel.close();
+				throw e;
+			}
+			MapModel map = MapModel.load(university, buildingsChannel, edgesChannel, metrics);
+			log.info("Loaded map of {} with {} buildings in {} ms", university, map.getBuildingsById().size(),
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+			return map;
+		} catch (IOException | RuntimeException e) {
+			log.error("Could not load map of {}", university, e);
+			throw new CompletionException(e);
+		}
+	}
+
+	/**
+	 * @return every university with a map, loaded or not, in name order
+	 */
+	public List<University> universities() {
+		List<University> universities = new ArrayList<>();
+		for (String name : maps.keySet()) {
+			universities.add(new University(universities.size() + 1, name));
+		}
+		return universities;
+	}
+
+	/**
+	 * @return the status of the map of university, or empty if it has none
+	 */
+	public Optional<Status> status(String university) {
+		CompletableFuture<MapModel> map = maps.get(university);
+		return map == null ? Optional.empty() : Optional.of(status(map));
+	}
+
+	/**
+	 * @return the status of every map, by university name
+	 */
+	public Map<String, Status> statuses() {
+		Map<String, Status> statuses = new TreeMap<>();
+		maps.forEach((university, map) -> statuses.put(university, status(map)));
+		return statuses;
+	}
+
+	private static Status status(CompletableFuture<MapModel> map) {
+		if (!map.isDone()) return Status.LOADING;
+		return map.isCompletedExceptionally() ? Status.FAILED : Status.READY;
+	}
+
+	/**
+	 * @return the map of university if it has finished loading, otherwise empty
+	 */
+	public Optional<MapModel> map(String university) {
+		CompletableFuture<MapModel> map = maps.get(university);
+		if (map == null || status(map) != Status.READY) return Optional.empty();
+		return Optional.of(map.join());
+	}
+
+	/**
+	 * @return why the map of university failed to load, or empty if it has not failed
+	 */
+	public Optional<Throwable> failure(String university) {
+		CompletableFuture<MapModel> map = maps.get(university);
+		if (map == null || status(map) != Status.FAILED) return Optional.empty();
+		try {
+			map.join();
+			return Optional.empty();
+		} catch (CompletionException e) {
+			return Optional.of(e.getCause());
+		}
+	}
+
+	/**
+	 * Wait for the map of university to finish loading.
+	 *
+	 * @return the map, or empty if university has none
+	 * @throws IOException if the map failed to load
+	 * @throws TimeoutException if it is still loading after the timeout
+	 */
+	public Optional<MapModel> await(String university, long timeout, TimeUnit unit)
+			throws IOException, InterruptedException, TimeoutException {
+		CompletableFuture<MapModel> map = maps.get(university);
+		if (map == null) return Optional.empty();
+		try {
+			return Optional.of(map.get(timeout, unit));
+		} catch (ExecutionException e) {
+			throw new IOException("Map of " + university + " failed to load.", e.getCause());
+		}
+	}
+
+}
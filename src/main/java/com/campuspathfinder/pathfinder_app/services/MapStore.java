@@ -0,0 +1,57 @@
+package com.campuspathfinder.pathfinder_app.services;
+
+import java.util.Optional;
+
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+import com.campuspathfinder.pathfinder_app.repository.MapRepository;
+
+/**
+ * <b>MapStore</b> reads and writes maps in the database.
+ * <p>
+ * A map is loaded whole, in a fixed number of queries however many buildings
+ * and edges it has: one for the map and its buildings, one for its edges, and
+ * one for the access points of all its buildings. Maps, buildings and edges are
+ * kept in the second-level cache, so loading a map again usually runs none.
+ */
+@Service
+public class MapStore {
+
+	private final MapRepository repository;
+
+	public MapStore(MapRepository repository) {
+		this.repository = repository;
+	}
+
+	/**
+	 * @return the stored map of university with all its buildings and edges
+	 *         loaded and its graph built from them, or empty if none is stored
+	 */
+	@Transactional(readOnly = true)
+	public Optional<MapModel> load(String university) {
+		Optional<MapModel> map = repository.findByUniversity(university);
+		map.ifPresent(found -> {
+			repository.fetchEdges(found.getId());
+			// the first building's access points bring those of all the others with them
+			found.getBuildings().stream().findAny().ifPresent(bldg -> Hibernate.initialize(bldg.getAccessPoints()));
+			found.restoreGraph();
+		});
+		return map;
+	}
+
+	/**
+	 * Store a map as its graph is now, with its buildings and edges. A map that
+	 * was not loaded from the database is stored as a new map.
+	 *
+	 * @return the stored map
+	 */
+	@Transactional
+	public MapModel save(MapModel map) {
+		map.populateEntities();
+		return repository.save(map);
+	}
+
+}
@@ -0,0 +1,118 @@
+package com.campuspathfinder.pathfinder_app.services;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.campuspathfinder.pathfinder_app.routing.RouteOptions;
+import com.campuspathfinder.pathfinder_app.routing.RoutingMetrics;
+import com.campuspathfinder.pathfinder_app.routing.RoutingProfile;
+import com.campuspathfinder.pathfinder_app.routing.SearchStats;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * <b>MicrometerRoutingMetrics</b> publishes routing measurements to Micrometer,
+ * and so through Actuator at /actuator/metrics:
+ * <ul>
+ * <li>pathfinder.route: a latency histogram of route queries, by map, algorithm
+ *     and profile, and by outcome: whether the route came from the cache, the
+ *     route table or a search</li>
+ * <li>pathfinder.route.nodes.settled, .edges.relaxed and .heap.pushes: the work
+ *     done by each search, by map</li>
+ * <li>pathfinder.route.length: the number of edges on each route found, by map</li>
+ * <li>pathfinder.map.load: how long each phase of loading each map took</li>
+ * </ul>
+ * Meters are registered once per map and kept, so recording a query costs a
+ * map lookup and an array read rather than a registry lookup. It is not
+ * created when pathfinder.metrics.enabled is false, leaving maps with
+ * {@link RoutingMetrics#NOOP}.
+ */
+@Component
+@ConditionalOnProperty(name = "pathfinder.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class MicrometerRoutingMetrics implements RoutingMetrics {
+
+	private final MeterRegistry registry;
+	private final Map<String, MapMeters> maps = new ConcurrentHashMap<>();
+
+	public MicrometerRoutingMetrics(MeterRegistry registry) {
+		this.registry = registry;
+	}
+
+	/**
+	 * The meters of one map. Route timers are registered the first time their
+	 * algorithm and profile are used; two threads may both register one, and
+	 * the registry hands both the same timer.
+	 */
+	private final class MapMeters {
+		final String map;
+		final Timer[] routes = new Timer[Outcome.values().length * RouteOptions.Algorithm.values().length * RoutingProfile.values().length];
+		final DistributionSummary nodesSettled;
+		final DistributionSummary edgesRelaxed;
+		final DistributionSummary heapPushes;
+		final DistributionSummary pathLength;
+
+		MapMeters(String map) {
+			this.map = map;
+			nodesSettled = summary("pathfinder.route.nodes.settled", "Nodes taken off the queue by a route search");
+			edgesRelaxed = summary("pathfinder.route.edges.relaxed", "Edges looked at by a route search");
+			heapPushes = summary("pathfinder.route.heap.pushes", "Queue insertions and decreases by a route search");
+			pathLength = summary("pathfinder.route.length", "Edges on a route found");
+		}
+
+		private DistributionSummary summary(String name, String description) {
+			return DistributionSummary.builder(name).description(description).tag("map", map).register(registry);
+		}
+
+		Timer route(RouteOptions options, Outcome outcome) {
+			int index = (options.getAlgorithm().ordinal() * RoutingProfile.values().length + options.getProfile().ordinal())
+					* Outcome.values().length + outcome.ordinal();
+			Timer timer = routes[index];
+			if (timer == null) {
+				timer = Timer.builder("pathfinder.route")
+						.description("Route query latency")
+						.tag("map", map)
+						.tag("algorithm", options.getAlgorithm().name())
+						.tag("profile", options.getProfile().name())
+						.tag("outcome", outcome.name().toLowerCase())
+						.publishPercentileHistogram()
+						.register(registry);
+				routes[index] = timer;
+			}
+			return timer;
+		}
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return true;
+	}
+
+	@Override
+	public void routeFound(String map, RouteOptions options, Outcome outcome, long nanos, SearchStats stats, int pathLength) {
+		MapMeters meters = maps.computeIfAbsent(map, MapMeters::new);
+		meters.route(options, outcome).record(nanos, TimeUnit.NANOSECONDS);
+		if (outcome == Outcome.SEARCH) {
+			meters.nodesSettled.record(stats.getNodesExpanded());
+			meters.edgesRelaxed.record(stats.getEdgesRelaxed());
+			meters.heapPushes.record(stats.getHeapPushes());
+		}
+		meters.pathLength.record(pathLength);
+	}
+
+	@Override
+	public void mapLoaded(String map, LoadPhase phase, long nanos) {
+		Timer.builder("pathfinder.map.load")
+				.description("Time to load a map, by phase")
+				.tag("map", map)
+				.tag("phase", phase.name().toLowerCase())
+				.register(registry)
+				.record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+}
@@ -0,0 +1,196 @@
+package com.campuspathfinder.pathfinder_app.services;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.Edge;
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+import com.campuspathfinder.pathfinder_app.routing.RankedNode;
+import com.campuspathfinder.pathfinder_app.routing.RouteOptions;
+import com.campuspathfinder.pathfinder_app.routing.RoutingProfile;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * <b>RoutingService</b> answers route queries on the maps held by {@link MapRegistry}.
+ * <p>
+ * Searches run on a fixed pool of routing threads rather than on the caller's,
+ * so a web request thread is free while its route is found. The pool has a
+ * bounded queue: once it is full, new queries fail straight away with a
+ * RejectedExecutionException instead of piling up. Every query also has a
+ * deadline, after which its future fails with a TimeoutException. A query
+ * still queued at its deadline is dropped without being run; one already
+ * running is not interrupted, but the caller stops waiting for it.
+ * <p>
+ * Queries about a map that does not exist fail with UnknownMapException, about
+ * a building not on the map with UnknownBuildingException, and about a map that
+ * is still loading or failed to load with MapNotReadyException.
+ */
+@Service
+public class RoutingService {
+
+	private final MapRegistry maps;
+	private final ThreadPoolExecutor executor;
+	private final long timeoutMillis;
+
+	/**
+	 * @param threads       The number of routing threads, or 0 for one per processor.
+	 * @param queueSize     The most queries that may wait for a routing thread.
+	 * @param timeoutMillis How long a query may take, waiting included.
+	 */
+	public RoutingService(MapRegistry maps,
+			@Value("${pathfinder.routing.threads:0}") int threads,
+			@Value("${pathfinder.routing.queue-size:1000}") int queueSize,
+			@Value("${pathfinder.routing.timeout-ms:2000}") long timeoutMillis) {
+		this.maps = maps;
+		this.timeoutMillis = timeoutMillis;
+		int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		AtomicInteger count = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize), task -> {
+			Thread thread = new Thread(task, "routing-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@PreDestroy
+	public void stop() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * @return the map of university
+	 * @throws UnknownMapException if there is no map of university
+	 * @throws MapNotReadyException if the map has not loaded
+	 */
+	public MapModel map(String university) {
+		MapRegistry.Status status = maps.status(university).orElseThrow(() -> new UnknownMapException(university));
+		if (status != MapRegistry.Status.READY) {
+			throw new MapNotReadyException(university, status);
+		}
+		return maps.map(university).get();
+	}
+
+	/**
+	 * @return the building with the given id on map
+	 * @throws UnknownBuildingException if map has no such building
+	 */
+	public static Building building(MapModel map, int id) {
+		Building bldg = map.getBuildingsById().get(id);
+		if (bldg == null) {
+			throw new UnknownBuildingException(map.getUniversityName(), id);
+		}
+		return bldg;
+	}
+
+	/**
+	 * @return every named building on the map of university, by name, as an unmodifiable list
+	 */
+	public List<Building> buildings(String university) {
+		return map(university).allBuildings();
+	}
+
+	/**
+	 * Find the cheapest route between two buildings.
+	 *
+	 * @return a future of the route's edges led by a zero-cost self edge on from,
+	 *         or of an empty set if there is no route
+	 */
+	public CompletableFuture<LinkedHashSet<Edge<Building, Double>>> route(String university, int from, int to, RouteOptions options) {
+		return submit(() -> {
+			MapModel map = map(university);
+			Building source = building(map, from);
+			Building target = building(map, to);
+			return () -> map.findRoute(source, target, options);
+		});
+	}
+
+	/**
+	 * Find the named buildings closest to a building by route cost.
+	 *
+	 * @param type Only buildings of this type count, or null for any.
+	 * @return a future of up to k buildings with their route costs, nearest first
+	 */
+	public CompletableFuture<List<RankedNode<Building>>> nearest(String university, int from, int k, String type) {
+		return submit(() -> {
+			MapModel map = map(university);
+			Building source = building(map, from);
+			return () -> map.nearestBuildings(source, k, bldg -> type == null || type.equals(bldg.getType()));
+		});
+	}
+
+	/**
+	 * Find the cost of the cheapest route from each of a block of origins to every
+	 * destination, as one query: a streamed distance matrix asks for one block of
+	 * rows at a time, so each block waits its turn for a routing thread and has
+	 * its own deadline.
+	 *
+	 * @param matrix The distance matrix the block belongs to, from
+	 *               {@link MapModel#distanceMatrix(List, RoutingProfile)}.
+	 * @return a future of the rows of matrix for origins
+	 */
+	public CompletableFuture<double[][]> distanceMatrix(Function<List<Building>, double[][]> matrix, List<Building> origins) {
+		return submit(() -> () -> matrix.apply(origins));
+	}
+
+	/**
+	 * Check a query on the calling thread, then run it on a routing thread. A query
+	 * still waiting for a thread when its deadline passes is taken off the queue,
+	 * and one that reaches a thread after its deadline is never run, so an
+	 * overloaded pool does not spend its time on answers nobody is waiting for.
+	 *
+	 * @param prepare Validates the query and returns the search to run; throws if the query is invalid.
+	 */
+	private <T> CompletableFuture<T> submit(Supplier<Supplier<T>> prepare) {
+		Supplier<T> search;
+		try {
+			search = prepare.get();
+		} catch (UnknownMapException | UnknownBuildingException | MapNotReadyException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+		CompletableFuture<T> result = new CompletableFuture<>();
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+		Runnable task = () -> {
+			if (result.isDone()) return;
+			if (System.nanoTime() - deadline >= 0) {
+				result.completeExceptionally(new TimeoutException());
+				return;
+			}
+			try {
+				result.complete(search.get());
+			} catch (Throwable e) {
+				result.completeExceptionally(e);
+			}
+		};
+		try {
+			executor.execute(task);
+		} catch (RejectedExecutionException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+		result.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS).whenComplete((value, failure) -> {
+			if (failure instanceof TimeoutException) executor.remove(task);
+		});
+		return result;
+	}
+
+	/**
+	 * @return the pool queries run on, for tests to inspect
+	 */
+	ThreadPoolExecutor executor() {
+		return executor;
+	}
+
+}
@@ -0,0 +1,16 @@
+package com.campuspathfinder.pathfinder_app.services;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Thrown when a query names a building that is not on the map it asks about.
+ */
+public class UnknownBuildingException extends NoSuchElementException {
+
+	private static final long serialVersionUID = 1L;
+
+	public UnknownBuildingException(String university, int id) {
+		super("No building " + id + " on the map of " + university + ".");
+	}
+
+}
@@ -0,0 +1,16 @@
+package com.campuspathfinder.pathfinder_app.services;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Thrown when a query names a university that has no map.
+ */
+public class UnknownMapException extends NoSuchElementException {
+
+	private static final long serialVersionUID = 1L;
+
+	public UnknownMapException(String university) {
+		super("No map of " + university + ".");
+	}
+
+}
@@ -0,0 +1,133 @@
+package com.campuspathfinder.pathfinder_app.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+
+/**
+ * <b>BuildingCatalogue</b> is an <b>immutable</b> list of the named buildings
+ * of a map, sorted by name, for listing them page by page. It is built once per
+ * set of nodes, so listing buildings neither copies nor sorts anything, and any
+ * number of threads may read it at once.
+ * <p>
+ * Each catalogue carries a {@link #tag() tag} that differs from that of any
+ * other catalogue of the same map, and the time it was built, which together
+ * let clients cache what they were sent until the buildings change.
+ */
+public final class BuildingCatalogue {
+
+	private static final Comparator<Building> BY_NAME = Comparator.comparing(Building::getBldgName)
+			.thenComparingInt(Building::getBldgId);
+
+	private final List<Building> buildings;
+	private final Map<String, List<Building>> byType;
+	private final String tag;
+	private final long builtAt;
+
+	/* Abstraction Function:
+	   The catalogue lists buildings, which was built at time builtAt.
+
+	   Representation Invariant:
+	     * buildings holds no intersection, i.e. no building with an empty name,
+	       and is sorted by name, then id
+	     * byType.get(t) is the buildings of type t, in the order of buildings
+	     * buildings and every list in byType are unmodifiable
+	*/
+
+	private BuildingCatalogue(List<Building> buildings, Map<String, List<Building>> byType, String tag, long builtAt) {
+		this.buildings = buildings;
+		this.byType = byType;
+		this.tag = tag;
+		this.builtAt = builtAt;
+	}
+
+	/**
+	 * @param nodes   The nodes of a map; intersections among them are left out.
+	 * @param version The version of the graph the nodes were taken from.
+	 */
+	public static BuildingCatalogue of(Collection<Building> nodes, long version) {
+		List<Building> buildings = new ArrayList<>(nodes.size());
+		for (Building bldg : nodes) {
+			if (!bldg.getBldgName().isEmpty()) buildings.add(bldg);
+		}
+		buildings.sort(BY_NAME);
+
+		Map<String, List<Building>> byType = new TreeMap<>();
+		for (Building bldg : buildings) {
+			String type = bldg.getType() == null ? "" : bldg.getType();
+			byType.computeIfAbsent(type, t -> new ArrayList<>()).add(bldg);
+		}
+		byType.replaceAll((type, list) -> Collections.unmodifiableList(list));
+
+		long builtAt = System.currentTimeMillis();
+		String tag = Long.toString(version, 36) + "-" + Long.toString(builtAt, 36);
+		return new BuildingCatalogue(Collections.unmodifiableList(buildings), Collections.unmodifiableMap(byType), tag, builtAt);
+	}
+
+	/**
+	 * @return every building, by name
+	 */
+	public List<Building> buildings() {
+		return buildings;
+	}
+
+	/**
+	 * @param type The type of building to list, or null for any.
+	 * @return the buildings of type, by name
+	 */
+	public List<Building> buildings(String type) {
+		if (type == null) return buildings;
+		return byType.getOrDefault(type, Collections.emptyList());
+	}
+
+	/**
+	 * List one page of the buildings. The page is a view of the catalogue, so
+	 * taking it copies nothing.
+	 *
+	 * @param type   The type of building to list, or null for any.
+	 * @param offset How many buildings to skip; a negative offset counts as 0.
+	 * @param limit  The most buildings to list; a negative limit counts as 0.
+	 * @return the buildings of type from offset on, by name
+	 */
+	public List<Building> page(String type, int offset, int limit) {
+		List<Building> all = buildings(type);
+		int from = Math.min(Math.max(offset, 0), all.size());
+		int to = from + Math.min(Math.max(limit, 0), all.size() - from);
+		return all.subList(from, to);
+	}
+
+	/**
+	 * @return every type of building in the catalogue, in order
+	 */
+	public Collection<String> types() {
+		return byType.keySet();
+	}
+
+	/**
+	 * @return the number of buildings
+	 */
+	public int size() {
+		return buildings.size();
+	}
+
+	/**
+	 * @return a tag naming this catalogue, fit for an HTTP entity tag
+	 */
+	public String tag() {
+		return tag;
+	}
+
+	/**
+	 * @return when the catalogue was built, in milliseconds since the epoch
+	 */
+	public long lastModified() {
+		return builtAt;
+	}
+
+}
@@ -0,0 +1,163 @@
+package com.campuspathfinder.pathfinder_app.util;
+
+import java.util.LinkedHashSet;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.Edge;
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+
+/**
+ * <b>CompactRoute</b> writes a route as a small JSON document:
+ * <pre>
+ *   {"ids": [building ids, first to last],
+ *    "polyline": "...",
+ *    "cost": total length, or null if there is no route,
+ *    "directions": [{"heading": "North", "length": 12.5, "to": building id}, ...]}
+ * </pre>
+ * The polyline holds the coordinates of every building on the route in the
+ * encoded polyline format used by map clients: the first point, then the
+ * difference from each point to the next, each number zig-zag encoded and
+ * written as 5-bit groups in the characters '?' to '~'. Directions merge
+ * consecutive hops with the same {@link MapModel#findDirection heading} into
+ * one leg.
+ * <p>
+ * Every character of the document is ASCII, so its string length is its size
+ * in bytes.
+ */
+public final class CompactRoute {
+
+	private CompactRoute() {}
+
+	/**
+	 * @param map  The map the route was found on, for its headings.
+	 * @param path A route as returned by {@link MapModel#findRoute}.
+	 * @return the route as a compact JSON document
+	 */
+	public static String encode(MapModel map, LinkedHashSet<Edge<Building, Double>> path) {
+		// one more than the edges, in case the leading self edge is missing
+		int n = path.size() + 1;
+		int[] ids = new int[n];
+		int[] xs = new int[n];
+		int[] ys = new int[n];
+		Building[] buildings = new Building[n];
+		double[] lengths = new double[n];
+		int count = 0;
+		for (Edge<Building, Double> edge : path) {
+			if (count == 0) {
+				// the path is led by a zero-cost self edge on its first building
+				buildings[count++] = edge.getSourceNode().getNodeData();
+				if (edge.getSourceNode().equals(edge.getTargetNode())) continue;
+			}
+			lengths[count] = edge.getLabel();
+			buildings[count++] = edge.getTargetNode().getNodeData();
+		}
+
+		StringBuilder out = new StringBuilder(32 + 12 * count);
+		out.append("{\"ids\":[");
+		double cost = 0.0;
+		for (int i = 0; i < count; i++) {
+			if (i > 0) out.append(',');
+			ids[i] = buildings[i].getBldgId();
+			xs[i] = buildings[i].getBldgXCoord();
+			ys[i] = buildings[i].getBldgYCoord();
+			cost += lengths[i];
+			out.append(ids[i]);
+		}
+		out.append("],\"polyline\":\"");
+		appendPolyline(out, xs, ys, count, true);
+		out.append("\",\"cost\":").append(count == 0 ? "null" : Double.toString(cost));
+		out.append(",\"directions\":[");
+		String heading = null;
+		double legLength = 0.0;
+		boolean first = true;
+		for (int i = 1; i < count; i++) {
+			String next = map.findDirection(buildings[i - 1], buildings[i]);
+			if (!next.equals(heading) && heading != null) {
+				appendLeg(out, heading, legLength, ids[i - 1], first);
+				first = false;
+				legLength = 0.0;
+			}
+			heading = next;
+			legLength += lengths[i];
+		}
+		if (heading != null) appendLeg(out, heading, legLength, ids[count - 1], first);
+		out.append("]}");
+		return out.toString();
+	}
+
+	private static void appendLeg(StringBuilder out, String heading, double length, int to, boolean first) {
+		if (!first) out.append(',');
+		out.append("{\"heading\":\"").append(heading).append("\",\"length\":").append(length).append(",\"to\":").append(to).append('}');
+	}
+
+	/**
+	 * @return the encoded polyline through the points (xs[i], ys[i])
+	 */
+	public static String polyline(int[] xs, int[] ys) {
+		StringBuilder out = new StringBuilder();
+		appendPolyline(out, xs, ys, xs.length, false);
+		return out.toString();
+	}
+
+	/**
+	 * @param json Whether to escape '\', the one polyline character that needs it, for a JSON string.
+	 */
+	private static void appendPolyline(StringBuilder out, int[] xs, int[] ys, int count, boolean json) {
+		int lastX = 0;
+		int lastY = 0;
+		for (int i = 0; i < count; i++) {
+			appendNumber(out, xs[i] - lastX, json);
+			appendNumber(out, ys[i] - lastY, json);
+			lastX = xs[i];
+			lastY = ys[i];
+		}
+	}
+
+	private static void appendNumber(StringBuilder out, int value, boolean json) {
+		int bits = (value << 1) ^ (value >> 31);
+		while (bits >= 0x20) {
+			appendChar(out, (char) ((0x20 | (bits & 0x1f)) + 63), json);
+			bits >>>= 5;
+		}
+		appendChar(out, (char) (bits + 63), json);
+	}
+
+	private static void appendChar(StringBuilder out, char c, boolean json) {
+		if (json && c == '\\') out.append('\\');
+		out.append(c);
+	}
+
+	/**
+	 * @return the points of an encoded polyline, as {xs, ys}
+	 * @throws IllegalArgumentException if polyline is not a valid encoding
+	 */
+	public static int[][] decodePolyline(String polyline) {
+		int[] values = new int[polyline.length()];
+		int count = 0;
+		int shift = 0;
+		int bits = 0;
+		for (int i = 0; i < polyline.length(); i++) {
+			int chunk = polyline.charAt(i) - 63;
+			if (chunk < 0 || chunk > 63) throw new IllegalArgumentException("'" + polyline.charAt(i) + "' is not a polyline character");
+			bits |= (chunk & 0x1f) << shift;
+			shift += 5;
+			if (chunk < 0x20) {
+				values[count++] = (bits >>> 1) ^ -(bits & 1);
+				shift = 0;
+				bits = 0;
+			}
+		}
+		if (shift != 0 || count % 2 != 0) throw new IllegalArgumentException("Polyline ends part way through a point");
+
+		int[] xs = new int[count / 2];
+		int[] ys = new int[count / 2];
+		for (int i = 0, x = 0, y = 0; i < count / 2; i++) {
+			x += values[2 * i];
+			y += values[2 * i + 1];
+			xs[i] = x;
+			ys[i] = y;
+		}
+		return new int[][] {xs, ys};
+	}
+
+}
@@ -0,0 +1,193 @@
+package com.campuspathfinder.pathfinder_app.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * <b>CsvRows</b> reads a comma separated file one row at a time through a single 
+ * reused byte buffer. Fields are located by offset into the buffer and parsed 
+ * straight from bytes, so reading a row of numbers allocates nothing; only 
+ * {@link #string} creates a String.
+ * <p>
+ * Rows and fields follow BufferedReader.readLine and String.split(","), which 
+ * MapParser used before: lines end at \n, \r or \r\n, and empty fields at the 
+ * end of a row are not counted. Fields are trimmed like String.trim.
+ */
+final class CsvRows implements Closeable {
+    
+    private static final int BUFFER_SIZE = 1 << 16;
+    
+    private final ReadableByteChannel channel;
+    private byte[] bytes = new byte[BUFFER_SIZE];
+    private ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    private int limit;
+    private int position;
+    private boolean eof;
+    private boolean skipLineFeed;
+    
+    private int[] fieldStart = new int[8];
+    private int[] fieldEnd = new int[8];
+    private int fields;
+    private int line;
+    
+    CsvRows(ReadableByteChannel channel) {
+        this.channel = channel;
+    }
+    
+    /**
+     * Move to the next row.
+     *
+     * @return false at the end of the input
+     * @throws IOException if the channel cannot be read
+     */
+    boolean next() throws IOException {
+        while (true) {
+            if (skipLineFeed) {
+                if (position == limit && !fill()) return false;
+                if (bytes[position] == '\n') position++;
+                skipLineFeed = false;
+            }
+            
+            int end = position;
+            while (end < limit && bytes[end] != '\n' && bytes[end] != '\r') end++;
+            if (end == limit && !eof) {
+                // the row runs past the buffered bytes; shift it to the front and read more
+                fill();
+                continue;
+            }
+            if (end == position && end == limit) return false;
+            
+            split(position, end);
+            line++;
+            position = end;
+            if (end < limit) {
+                skipLineFeed = bytes[end] == '\r';
+                position++;
+            }
+            return true;
+        }
+    }
+    
+    /**
+     * @return the number of fields in the current row, leaving out empty trailing ones
+     */
+    int fields() {
+        return fields;
+    }
+    
+    /**
+     * @return the 1-based number of the current row
+     */
+    int line() {
+        return line;
+    }
+    
+    /**
+     * @return field i of the current row, trimmed
+     */
+    String string(int i) {
+        int start = trimStart(i);
+        int end = trimEnd(i, start);
+        return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * @return field i of the current row as a decimal int
+     * @throws NumberFormatException as Integer.parseInt would, if the trimmed field is not an int
+     */
+    int integer(int i) {
+        int start = trimStart(i);
+        int end = trimEnd(i, start);
+        int p = start;
+        boolean negative = false;
+        if (p < end && (bytes[p] == '-' || bytes[p] == '+')) {
+            negative = bytes[p] == '-';
+            p++;
+        }
+        if (p == end) throw badInt(start, end);
+        // accumulate negatively so Integer.MIN_VALUE fits
+        int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int result = 0;
+        for (; p < end; p++) {
+            int digit = bytes[p] - '0';
+            if (digit < 0 || digit > 9 || result < limit / 10) throw badInt(start, end);
+            result *= 10;
+            if (result < limit + digit) throw badInt(start, end);
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+    
+    private void split(int start, int end) {
+        fields = 0;
+        int from = start;
+        for (int p = start; p <= end; p++) {
+            if (p == end || bytes[p] == ',') {
+                if (fields == fieldStart.length) {
+                    fieldStart = Arrays.copyOf(fieldStart, fields * 2);
+                    fieldEnd = Arrays.copyOf(fieldEnd, fields * 2);
+                }
+                fieldStart[fields] = from;
+                fieldEnd[fields] = p;
+                fields++;
+                from = p + 1;
+            }
+        }
+        // String.split drops trailing empty strings, but keeps a lone empty row as one field
+        while (fields > 1 && fieldStart[fields - 1] == fieldEnd[fields - 1]) fields--;
+    }
+    
+    private int trimStart(int i) {
+        int start = fieldStart[i];
+        while (start < fieldEnd[i] && (bytes[start] & 0xff) <= ' ') start++;
+        return start;
+    }
+    
+    private int trimEnd(int i, int start) {
+        int end = fieldEnd[i];
+        while (end > start && (bytes[end - 1] & 0xff) <= ' ') end--;
+        return end;
+    }
+    
+    private NumberFormatException badInt(int start, int end) {
+        return new NumberFormatException("For input string: \"" + new String(bytes, start, end - start, StandardCharsets.UTF_8) + "\"");
+    }
+    
+    /**
+     * Keep the unread bytes, moved to the front of the buffer, and read more after them. 
+     * The buffer doubles when it is full of one unfinished row.
+     *
+     * @return false if nothing more could be read
+     */
+    private boolean fill() throws IOException {
+        int unread = limit - position;
+        if (unread == bytes.length) {
+            bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            buffer = ByteBuffer.wrap(bytes);
+        } else {
+            System.arraycopy(bytes, position, bytes, 0, unread);
+        }
+        position = 0;
+        limit = unread;
+        
+        buffer.limit(bytes.length).position(limit);
+        int read = 0;
+        while (read == 0) read = channel.read(buffer);
+        if (read < 0) {
+            eof = true;
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+    
+}
@@ -1,48 +1,64 @@
 package com.campuspathfinder.pathfinder_app.util;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
+
 import com.campuspathfinder.pathfinder_app.models.Building;
 
 public class MapParser {
 	
+	/**
+	 * Receives the rows of an edges file as they are parsed.
+	 */
+	@FunctionalInterface
+	public interface EdgeSink {
+		/**
+		 * @throws IOException to stop reading, e.g. if an id names no building
+		 */
+		void edge(int id1, int id2) throws IOException;
+	}
+	
 	public static void readEdges(String filename, Map<Building, Set<Integer>> pathways, Map<Integer, Building> buildings) 
 			throws IOException {
-		try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
-			String line = null;
-
-			while ((line = reader.readLine()) != null) {
-				String[] objectIds = line.split(",");
-				
-				if (objectIds.length < 2) {
-					throw new IOException("File " + filename + " not a CSV (ID1,ID2) file.");
-				}
-				
-				int id1 = Integer.parseInt(objectIds[0].trim());
-				int id2 = Integer.parseInt(objectIds[1].trim());
-				
-				Building b1 = buildings.get(id1);
-				Building b2 = buildings.get(id2);
-				Set<Integer> i1 = pathways.get(b1);
-				Set<Integer> i2 = pathways.get(b2);
-				
-				if(i1 == null) {
-					i1 = new HashSet<Integer>();
-					pathways.put(b1, i1);
-				}
-				i1.add(id2);
-				
-				if(i2 == null) {
-					i2 = new HashSet<Integer>();
-					pathways.put(b2, i2);
+		readEdges(Path.of(filename), (id1, id2) -> {
+			Building b1 = buildings.get(id1);
+			Building b2 = buildings.get(id2);
+			pathways.computeIfAbsent(b1, b -> new HashSet<Integer>()).add(id2);
+			pathways.computeIfAbsent(b2, b -> new HashSet<Integer>()).add(id1);
+		});
+	}
+	
+	/**
+	 * Stream the (ID1,ID2) rows of an edges file to sink without building any 
+	 * intermediate collection. Each row is passed once, in file order.
+	 *
+	 * @throws IOException if the file cannot be read, a row has fewer than two fields, 
+	 *                     or sink throws
+	 * @throws NumberFormatException if an id is not an int
+	 */
+	public static void readEdges(Path file, EdgeSink sink) throws IOException {
+		readEdges(FileChannel.open(file, StandardOpenOption.READ), file.toString(), sink);
+	}
+	
+	/**
+	 * As {@link #readEdges(Path, EdgeSink)}, reading from channel, which is closed 
+	 * afterwards. name identifies the input in error messages.
+	 */
+	public static void readEdges(ReadableByteChannel channel, String name, EdgeSink sink) throws IOException {
+		try (CsvRows rows = new CsvRows(channel)) {
+			while (rows.next()) {
+				if (rows.fields() < 2) {
+					throw new IOException("File " + name + " not a CSV (ID1,ID2) file.");
 				}
-				
-				i2.add(id1); 
+				sink.edge(rows.integer(0), rows.integer(1));
 			}
 		}
 	}
@@ -65,29 +81,39 @@ public class MapParser {
 	 */
 	public static void readBuildings(String filename, Map<Integer, Building> buildings, Map<String, Building> buildingsMap)
 			throws IOException {
-
-		try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
-			String line = null;
-
-			while ((line = reader.readLine()) != null) {
-				String[] bldgData = line.split(",");
-				
-				if (bldgData.length < 4) {
-					throw new IOException("File " + filename + " not a CSV (BUILDING NAME,BUILDING ID,X-COORDINATE,Y-COORDINATE) file.");
+		readBuildings(Path.of(filename), bldg -> {
+			buildings.put(bldg.getBldgId(), bldg);
+			buildingsMap.put(bldg.getName(), bldg);
+		});
+	}
+	
+	/**
+	 * Stream the buildings of a (BUILDING NAME,BUILDING ID,X-COORDINATE,Y-COORDINATE) 
+	 * file to sink, in file order. The name is the only String made per row.
+	 *
+	 * @throws IOException if the file cannot be read or a row has fewer than four fields
+	 * @throws NumberFormatException if an id or coordinate is not an int
+	 */
+	public static void readBuildings(Path file, Consumer<Building> sink) throws IOException {
+		readBuildings(FileChannel.open(file, StandardOpenOption.READ), file.toString(), sink);
+	}
+	
+	/**
+	 * As {@link #readBuildings(Path, Consumer)}, reading from channel, which is closed 
+	 * afterwards. name identifies the input in error messages.
+	 */
+	public static void readBuildings(ReadableByteChannel channel, String name, Consumer<Building> sink) throws IOException {
+		try (CsvRows rows = new CsvRows(channel)) {
+			while (rows.next()) {
+				if (rows.fields() < 4) {
+					throw new IOException("File " + name + " not a CSV (BUILDING NAME,BUILDING ID,X-COORDINATE,Y-COORDINATE) file.");
 				}
 				
-				String buildingName = bldgData[0].trim();
-	            int buildingId = Integer.parseInt(bldgData[1].trim());
-	            int xCoord = Integer.parseInt(bldgData[2].trim());
-	            int yCoord = Integer.parseInt(bldgData[3].trim());
-	            
-//	            StringBuilder sb = new StringBuilder();
-//	            sb.append(buildingName).append(",").append(buildingId).append(",").append(xCoord).append(",").append(yCoord);
-//	            System.out.println(sb);
-	            
-	            Building bldg = new Building(buildingName, buildingId, xCoord, yCoord);
-	            buildings.put(buildingId, bldg);
-	            buildingsMap.put(buildingName, bldg);
+				String buildingName = rows.string(0);
+				int buildingId = rows.integer(1);
+				int xCoord = rows.integer(2);
+				int yCoord = rows.integer(3);
+				sink.accept(new Building(buildingName, buildingId, xCoord, yCoord));
 			}
 		}
 	}
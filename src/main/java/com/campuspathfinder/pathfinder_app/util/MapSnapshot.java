@@ -0,0 +1,184 @@
+package com.campuspathfinder.pathfinder_app.util;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.FrozenGraph;
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+
+/**
+ * <b>MapSnapshot</b> reads and writes a campus map in a compact binary format,
+ * so a map can be loaded without parsing CSV files or recomputing edge weights.
+ * <p>
+ * A file holds, in big-endian order:
+ * <pre>
+ *   int    MAGIC, FORMAT_VERSION
+ *   int    nodeCount, edgeCount, nameBytes
+ *   int    buildingId[nodeCount], xCoord[nodeCount], yCoord[nodeCount]
+ *   int    offsets[nodeCount + 1]
+ *   int    targets[edgeCount]
+ *   double weights[edgeCount]
+ *   int    nameOffsets[nodeCount + 1]
+ *   byte   names[nameBytes]          (UTF-8, name i is [nameOffsets[i], nameOffsets[i + 1]))
+ * </pre>
+ * Node i of the file is node i of the {@link FrozenGraph} it was written from, and
+ * the edges are that graph's compressed sparse rows, weights included.
+ * <p>
+ * FORMAT_VERSION changes whenever the layout does; files of any other version are
+ * rejected rather than guessed at.
+ */
+public final class MapSnapshot {
+
+	/** "PFMS" */
+	public static final int MAGIC = 0x50464D53;
+
+	public static final int FORMAT_VERSION = 1;
+
+	private static final int HEADER_BYTES = 5 * Integer.BYTES;
+
+	private MapSnapshot() {}
+
+	/**
+	 * Write graph to file, replacing it if it exists. The file is written next to
+	 * its final name and moved into place, so readers never see half a file.
+	 *
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void write(FrozenGraph<Building> graph, Path file) throws IOException {
+		int n = graph.size();
+		int m = graph.edgeCount();
+		byte[][] names = new byte[n][];
+		int nameBytes = 0;
+		for (int i = 0; i < n; i++) {
+			names[i] = graph.node(i).getName().getBytes(StandardCharsets.UTF_8);
+			nameBytes += names[i].length;
+		}
+
+		ByteBuffer out = ByteBuffer.allocate(size(n, m, nameBytes));
+		out.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(n).putInt(m).putInt(nameBytes);
+		for (int i = 0; i < n; i++) out.putInt(graph.node(i).getBldgId());
+		for (int i = 0; i < n; i++) out.putInt(graph.node(i).getBldgXCoord());
+		for (int i = 0; i < n; i++) out.putInt(graph.node(i).getBldgYCoord());
+		for (int u = 0; u < n; u++) out.putInt(graph.firstEdge(u));
+		out.putInt(m);
+		for (int e = 0; e < m; e++) out.putInt(graph.target(e));
+		for (int e = 0; e < m; e++) out.putDouble(graph.weight(e));
+		int nameOffset = 0;
+		for (int i = 0; i < n; i++) {
+			out.putInt(nameOffset);
+			nameOffset += names[i].length;
+		}
+		out.putInt(nameOffset);
+		for (byte[] name : names) out.put(name);
+		out.flip();
+
+		Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			while (out.hasRemaining()) channel.write(out);
+		}
+		Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Memory-map file and build the graph it holds. Numbers are copied out of
+	 * the mapping in bulk; only the building names are decoded one by one.
+	 *
+	 * @throws IOException if the file cannot be read, is not a map snapshot, has
+	 *                     another format version, or is truncated or inconsistent
+	 */
+	public static FrozenGraph<Building> read(Path file) throws IOException {
+		MappedByteBuffer in;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		try {
+			if (in.remaining() < HEADER_BYTES || in.getInt() != MAGIC) {
+				throw new IOException("File " + file + " is not a map snapshot.");
+			}
+			int version = in.getInt();
+			if (version != FORMAT_VERSION) {
+				throw new IOException("File " + file + " has snapshot format version " + version + ", expected " + FORMAT_VERSION + ".");
+			}
+			int n = in.getInt();
+			int m = in.getInt();
+			int nameBytes = in.getInt();
+			if (n < 0 || m < 0 || nameBytes < 0 || in.capacity() != size(n, m, nameBytes)) {
+				throw new IOException("File " + file + " is truncated or corrupt.");
+			}
+
+			int[] ids = ints(in, n);
+			int[] xs = ints(in, n);
+			int[] ys = ints(in, n);
+			int[] offsets = ints(in, n + 1);
+			int[] targets = ints(in, m);
+			double[] weights = new double[m];
+			in.asDoubleBuffer().get(weights);
+			in.position(in.position() + m * Double.BYTES);
+			int[] nameOffsets = ints(in, n + 1);
+			byte[] names = new byte[nameBytes];
+			in.get(names);
+
+			List<Building> nodes = new ArrayList<>(n);
+			for (int i = 0; i < n; i++) {
+				int from = nameOffsets[i];
+				int to = nameOffsets[i + 1];
+				if (from < 0 || to < from || to > nameBytes) {
+					throw new IOException("File " + file + " is truncated or corrupt.");
+				}
+				nodes.add(new Building(new String(names, from, to - from, StandardCharsets.UTF_8), ids[i], xs[i], ys[i]));
+			}
+			return FrozenGraph.of(nodes, offsets, targets, weights, 0);
+		} catch (IllegalArgumentException | BufferUnderflowException e) {
+			throw new IOException("File " + file + " is truncated or corrupt.", e);
+		}
+	}
+
+	private static int[] ints(ByteBuffer in, int count) {
+		int[] values = new int[count];
+		in.asIntBuffer().get(values);
+		in.position(in.position() + count * Integer.BYTES);
+		return values;
+	}
+
+	private static int size(int n, int m, int nameBytes) {
+		long size = HEADER_BYTES + (3L * n + (n + 1) + m + (n + 1)) * Integer.BYTES + (long) m * Double.BYTES + nameBytes;
+		// larger than a buffer can hold; never equal to a real file's capacity
+		return size > Integer.MAX_VALUE ? -1 : (int) size;
+	}
+
+	/**
+	 * Convert a pair of map CSV files to a snapshot:
+	 * MapSnapshot nodes.csv edges.csv out.pfmap
+	 * <p>
+	 * Exits with status 1, writing nothing, if either file cannot be read or is malformed.
+	 */
+	public static void main(String[] args) {
+		if (args.length != 3) {
+			System.err.println("usage: MapSnapshot <nodes.csv> <edges.csv> <out.pfmap>");
+			System.exit(2);
+		}
+		try {
+			MapModel map = MapModel.load(Path.of(args[0]).getFileName().toString(),
+					FileChannel.open(Path.of(args[0]), StandardOpenOption.READ),
+					FileChannel.open(Path.of(args[1]), StandardOpenOption.READ));
+			map.exportSnapshot(Path.of(args[2]));
+			System.out.println("Wrote " + map.getModel().getAllNodes().size() + " buildings to " + args[2]);
+		}
+		catch (IOException e) {
+			System.err.println("Could not write " + args[2] + ": " + e.getMessage());
+			System.exit(1);
+		}
+	}
+
+}
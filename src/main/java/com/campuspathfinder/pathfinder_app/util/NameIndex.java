@@ -0,0 +1,418 @@
+package com.campuspathfinder.pathfinder_app.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+
+/**
+ * <b>NameIndex</b> is an <b>immutable</b> index of building names for search as
+ * you type. A query is matched, ignoring case and punctuation, against:
+ * <ol>
+ * <li>the start of a name, e.g. "acad" finds "Academy Hall";</li>
+ * <li>the start of a later word of a name, e.g. "union" finds "Rensselaer Union";</li>
+ * <li>any part of a name with a few typing mistakes, e.g. "rensalaer" finds
+ *     "Rensselaer Union", allowing one edit per four characters of the query.</li>
+ * </ol>
+ * Matches are ranked in that order: the first kind alphabetically, the second
+ * alphabetically from the matching word on, and misspelled matches by fewest
+ * edits, then shortest name. An edit is a character inserted, deleted or
+ * replaced, or two adjacent characters swapped. Names are kept in sorted
+ * arrays for the first two kinds and in a bigram index for the third, which
+ * narrows the names that are checked with an edit distance.
+ * <p>
+ * Any number of threads may search at once. A search allocates only the list
+ * it returns; its working arrays are kept per thread and reused.
+ */
+public final class NameIndex {
+
+	/** Character codes: 0 for a space, 1 to 26 for letters and 27 to 36 for digits. */
+	private static final int ALPHABET = 37;
+
+	private static final ThreadLocal<Scratch> LOCAL = ThreadLocal.withInitial(Scratch::new);
+
+	private final Building[] buildings;
+	private final String[] keys;
+	private final long[] masks;
+	private final String[] words;
+	private final int[] wordOwners;
+	private final int[] bigramStart;
+	private final int[] postings;
+
+	/* Abstraction Function:
+	   The index holds buildings[i] under the name keys[i] for every i.
+
+	   Representation Invariant:
+	     * keys[i] is the normalized name of buildings[i], and keys is sorted
+	     * bit c of masks[i] is set if and only if keys[i] has a character with code c
+	     * words holds keys[wordOwners[j]] from the start of each of its words
+	       after the first, sorted
+	     * postings[bigramStart[b], bigramStart[b + 1]) are the ids, in
+	       ascending order and without repeats, of the keys containing the
+	       bigram whose characters have codes (b / ALPHABET, b % ALPHABET)
+	*/
+
+	private NameIndex(Building[] buildings, String[] keys, long[] masks, String[] words, int[] wordOwners, int[] bigramStart, int[] postings) {
+		this.buildings = buildings;
+		this.keys = keys;
+		this.masks = masks;
+		this.words = words;
+		this.wordOwners = wordOwners;
+		this.bigramStart = bigramStart;
+		this.postings = postings;
+	}
+
+	/**
+	 * @param buildings The buildings to index; those with an empty name are left out.
+	 */
+	public static NameIndex of(Collection<Building> buildings) {
+		List<Building> named = new ArrayList<>(buildings.size());
+		for (Building bldg : buildings) {
+			if (!normalize(bldg.getBldgName()).isEmpty()) named.add(bldg);
+		}
+		named.sort(Comparator.comparing((Building bldg) -> normalize(bldg.getBldgName())).thenComparing(Building::getBldgId));
+		int n = named.size();
+		Building[] sorted = named.toArray(new Building[n]);
+		String[] keys = new String[n];
+		long[] masks = new long[n];
+		for (int i = 0; i < n; i++) {
+			keys[i] = normalize(sorted[i].getBldgName());
+			for (int j = 0; j < keys[i].length(); j++) {
+				masks[i] |= 1L << code(keys[i].charAt(j));
+			}
+		}
+
+		List<Integer> wordList = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			for (int p = keys[i].indexOf(' '); p >= 0; p = keys[i].indexOf(' ', p + 1)) {
+				wordList.add(i);
+				wordList.add(p + 1);
+			}
+		}
+		Integer[] order = new Integer[wordList.size() / 2];
+		String[] suffixes = new String[order.length];
+		for (int j = 0; j < order.length; j++) {
+			order[j] = j;
+			suffixes[j] = keys[wordList.get(2 * j)].substring(wordList.get(2 * j + 1));
+		}
+		Arrays.sort(order, Comparator.comparing((Integer j) -> suffixes[j]));
+		String[] words = new String[order.length];
+		int[] wordOwners = new int[order.length];
+		for (int j = 0; j < order.length; j++) {
+			words[j] = suffixes[order[j]];
+			wordOwners[j] = wordList.get(2 * order[j]);
+		}
+
+		int bigrams = ALPHABET * ALPHABET;
+		int[] bigramStart = new int[bigrams + 1];
+		int[] lastSeen = new int[bigrams];
+		Arrays.fill(lastSeen, -1);
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j + 2 <= keys[i].length(); j++) {
+				int b = bigram(keys[i].charAt(j), keys[i].charAt(j + 1));
+				if (lastSeen[b] != i) {
+					lastSeen[b] = i;
+					bigramStart[b + 1]++;
+				}
+			}
+		}
+		for (int b = 0; b < bigrams; b++) {
+			bigramStart[b + 1] += bigramStart[b];
+		}
+		int[] postings = new int[bigramStart[bigrams]];
+		int[] next = Arrays.copyOf(bigramStart, bigrams);
+		Arrays.fill(lastSeen, -1);
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j + 2 <= keys[i].length(); j++) {
+				int b = bigram(keys[i].charAt(j), keys[i].charAt(j + 1));
+				if (lastSeen[b] != i) {
+					lastSeen[b] = i;
+					postings[next[b]++] = i;
+				}
+			}
+		}
+		return new NameIndex(sorted, keys, masks, words, wordOwners, bigramStart, postings);
+	}
+
+	/**
+	 * @return the number of buildings in the index
+	 */
+	public int size() {
+		return buildings.length;
+	}
+
+	/**
+	 * @return name in lower case, with every run of characters other than letters
+	 *         and digits replaced by one space and none at either end
+	 */
+	static String normalize(String name) {
+		StringBuilder key = new StringBuilder(name.length());
+		for (int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			if (Character.isLetterOrDigit(c)) {
+				key.append(Character.toLowerCase(c));
+			} else if (key.length() > 0 && key.charAt(key.length() - 1) != ' ') {
+				key.append(' ');
+			}
+		}
+		int end = key.length();
+		if (end > 0 && key.charAt(end - 1) == ' ') end--;
+		return key.substring(0, end);
+	}
+
+	/**
+	 * Normalize query into out as {@link #normalize} would.
+	 *
+	 * @return the length of the normalized query
+	 */
+	private static int normalize(String query, char[] out) {
+		int m = 0;
+		for (int i = 0; i < query.length(); i++) {
+			char c = query.charAt(i);
+			if (Character.isLetterOrDigit(c)) {
+				out[m++] = Character.toLowerCase(c);
+			} else if (m > 0 && out[m - 1] != ' ') {
+				out[m++] = ' ';
+			}
+		}
+		return m > 0 && out[m - 1] == ' ' ? m - 1 : m;
+	}
+
+	private static int code(char c) {
+		if (c >= 'a' && c <= 'z') return c - 'a' + 1;
+		if (c >= '0' && c <= '9') return c - '0' + 27;
+		return 0;
+	}
+
+	private static int bigram(char a, char b) {
+		return code(a) * ALPHABET + code(b);
+	}
+
+	/**
+	 * Find the buildings whose names best match a query.
+	 *
+	 * @param k The most buildings to return.
+	 * @return up to k buildings, best match first, or none if the query has no letters or digits
+	 */
+	public List<Building> search(String query, int k) {
+		List<Building> found = new ArrayList<>(Math.max(0, Math.min(k, buildings.length)));
+		if (k <= 0) return found;
+		Scratch scratch = LOCAL.get();
+		scratch.reset(buildings.length, query.length());
+		char[] q = scratch.query;
+		int m = normalize(query, q);
+		if (m == 0) return found;
+
+		for (int i = lowerBound(keys, q, m); i < keys.length && found.size() < k && startsWith(keys[i], q, m); i++) {
+			add(scratch, i, found);
+		}
+		for (int j = lowerBound(words, q, m); j < words.length && found.size() < k && startsWith(words[j], q, m); j++) {
+			add(scratch, wordOwners[j], found);
+		}
+		// shorter queries are still being typed, and one edit would match almost anything
+		if (found.size() < k && m >= 4 && m <= 64) {
+			searchMisspelled(scratch, q, m, k, found);
+		}
+		return found;
+	}
+
+	private void add(Scratch scratch, int i, List<Building> found) {
+		if (scratch.mark(i)) found.add(buildings[i]);
+	}
+
+	private void searchMisspelled(Scratch scratch, char[] q, int m, int k, List<Building> found) {
+		int maxEdits = m / 4;
+		// a part of a name within maxEdits of the query has at least this many of its bigrams,
+		// counted by position: an edit spoils at most the two that hold a character, and a swap
+		// three; this is at least m / 4 - 1, so it prunes every query of five characters or more
+		int minShared = m - 1 - 3 * maxEdits;
+		// and lacks at most maxEdits of its characters, as only a replacement or deletion loses one
+		long queryMask = 0;
+		Arrays.fill(scratch.peq, 0);
+		for (int j = 0; j < m; j++) {
+			queryMask |= 1L << code(q[j]);
+			if (q[j] == ' ' || code(q[j]) != 0) scratch.peq[code(q[j])] |= 1L << j;
+		}
+		int candidates = 0;
+		if (minShared >= 1) {
+			int touched = 0;
+			for (int j = 0; j + 2 <= m; j++) {
+				int b = bigram(q[j], q[j + 1]);
+				for (int p = bigramStart[b]; p < bigramStart[b + 1]; p++) {
+					int i = postings[p];
+					if (scratch.shared[i]++ == 0) scratch.touched[touched++] = i;
+				}
+			}
+			for (int x = 0; x < touched; x++) {
+				int i = scratch.touched[x];
+				if (scratch.shared[i] >= minShared && !scratch.isMarked(i)) candidates = check(scratch, i, q, m, queryMask, maxEdits, candidates);
+				scratch.shared[i] = 0;
+			}
+		} else {
+			for (int i = 0; i < keys.length; i++) {
+				if (!scratch.isMarked(i)) candidates = check(scratch, i, q, m, queryMask, maxEdits, candidates);
+			}
+		}
+
+		// candidates are few and k is small, so pick the best one at a time
+		while (found.size() < k) {
+			int best = -1;
+			for (int x = 0; x < candidates; x++) {
+				int i = scratch.candidates[x];
+				if (scratch.isMarked(i)) continue;
+				if (best < 0 || scratch.edits[x] < scratch.edits[best]
+						|| (scratch.edits[x] == scratch.edits[best] && keys[i].length() < keys[scratch.candidates[best]].length())) {
+					best = x;
+				}
+			}
+			if (best < 0) break;
+			add(scratch, scratch.candidates[best], found);
+		}
+	}
+
+	/**
+	 * Keep key i as a candidate if some part of it is within maxEdits of the query.
+	 *
+	 * @return the new number of candidates
+	 */
+	private int check(Scratch scratch, int i, char[] q, int m, long queryMask, int maxEdits, int candidates) {
+		if (Long.bitCount(queryMask & ~masks[i]) > maxEdits) return candidates;
+		int edits = editsToPart(keys[i], q, m, scratch.peq);
+		if (edits > maxEdits) return candidates;
+		scratch.candidates[candidates] = i;
+		scratch.edits[candidates] = edits;
+		return candidates + 1;
+	}
+
+	/**
+	 * @param peq Bit j of peq[code(c)] is set if and only if q[j] is c, for a space and each letter or digit with a code.
+	 * @return the fewest insertions, deletions, replacements and swaps of two
+	 *         adjacent characters that turn the query, of at most 64 characters,
+	 *         into some run of consecutive characters of key
+	 */
+	private static int editsToPart(String key, char[] q, int m, long[] peq) {
+		// Myers' bit-parallel edit distance with Hyyro's extension for swaps: bit j
+		// of vp and vn says whether row j of the current column is one more or one
+		// less than row j - 1, and the last row is the distance to a part ending here
+		long last = 1L << (m - 1);
+		long vp = -1L;
+		long vn = 0;
+		long d0 = 0;
+		long pmBefore = 0;
+		int edits = m;
+		int best = m;
+		for (int p = 0; p < key.length(); p++) {
+			char c = key.charAt(p);
+			long pm = c == ' ' || code(c) != 0 ? peq[code(c)] : matches(c, q, m);
+			d0 = ((((~d0) & pm) << 1) & pmBefore) | (((pm & vp) + vp) ^ vp) | pm | vn;
+			long hp = vn | ~(d0 | vp);
+			long hn = vp & d0;
+			if ((hp & last) != 0) {
+				edits++;
+			} else if ((hn & last) != 0) {
+				edits--;
+			}
+			// a part may start anywhere, so the top row stays zero and nothing is shifted in
+			hp <<= 1;
+			hn <<= 1;
+			vp = hn | ~(d0 | hp);
+			vn = d0 & hp;
+			pmBefore = pm;
+			best = Math.min(best, edits);
+		}
+		return best;
+	}
+
+	/**
+	 * @return the positions in q[0, m) of a character without a code
+	 */
+	private static long matches(char c, char[] q, int m) {
+		long pm = 0;
+		for (int j = 0; j < m; j++) {
+			if (q[j] == c) pm |= 1L << j;
+		}
+		return pm;
+	}
+
+	/**
+	 * @return the first index of sorted whose string is not less than q[0, m)
+	 */
+	private static int lowerBound(String[] sorted, char[] q, int m) {
+		int lo = 0;
+		int hi = sorted.length;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (compare(sorted[mid], q, m) < 0) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+
+	private static int compare(String s, char[] q, int m) {
+		int n = Math.min(s.length(), m);
+		for (int i = 0; i < n; i++) {
+			if (s.charAt(i) != q[i]) return s.charAt(i) - q[i];
+		}
+		return s.length() - m;
+	}
+
+	private static boolean startsWith(String s, char[] q, int m) {
+		if (s.length() < m) return false;
+		for (int i = 0; i < m; i++) {
+			if (s.charAt(i) != q[i]) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * The working arrays of one thread's searches, grown as needed and reused.
+	 */
+	private static final class Scratch {
+		char[] query = new char[16];
+		final long[] peq = new long[ALPHABET];
+		int[] shared = new int[0];
+		int[] touched = new int[0];
+		int[] candidates = new int[0];
+		int[] edits = new int[0];
+		int[] stamp = new int[0];
+		int generation;
+
+		void reset(int size, int queryLength) {
+			if (query.length < queryLength) {
+				query = new char[queryLength];
+			}
+			if (stamp.length < size) {
+				shared = new int[size];
+				touched = new int[size];
+				candidates = new int[size];
+				edits = new int[size];
+				stamp = new int[size];
+				generation = 0;
+			}
+			if (++generation == 0) {
+				Arrays.fill(stamp, 0);
+				generation = 1;
+			}
+		}
+
+		/**
+		 * @return true if i was not yet marked by this search
+		 */
+		boolean mark(int i) {
+			if (stamp[i] == generation) return false;
+			stamp[i] = generation;
+			return true;
+		}
+
+		boolean isMarked(int i) {
+			return stamp[i] == generation;
+		}
+	}
+
+}
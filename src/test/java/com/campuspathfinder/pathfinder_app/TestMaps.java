@@ -0,0 +1,56 @@
+package com.campuspathfinder.pathfinder_app;
+
+import java.util.LinkedHashSet;
+import java.util.Random;
+
+import com.campuspathfinder.pathfinder_app.models.Edge;
+import com.campuspathfinder.pathfinder_app.models.Graph;
+
+/**
+ * The maps and graphs the tests are run on, and what they measure about routes.
+ */
+public final class TestMaps {
+
+	public static final String BLDG_FILE = "src/main/resources/data/RPI_map_data_Nodes.csv";
+	public static final String EDGES_FILE = "src/main/resources/data/RPI_map_data_Edges.csv";
+
+	private TestMaps() {
+	}
+
+	/**
+	 * @return a graph of nodes "n0" to "n" + (nodes - 1) and edges between random
+	 *         pairs of them, weighing 1 to 50 each
+	 */
+	public static Graph<String, Double> randomGraph(Random random, int nodes, int edges) {
+		Graph<String, Double> graph = new Graph<>();
+		for (int i = 0; i < nodes; i++) {
+			graph.addNode("n" + i);
+		}
+		for (int i = 0; i < edges; i++) {
+			String source = "n" + random.nextInt(nodes);
+			String target = "n" + random.nextInt(nodes);
+			graph.addEdge(source, target, (double) (1 + random.nextInt(50)));
+		}
+		return graph;
+	}
+
+	/**
+	 * Add an edge of weight between n1 and n2 each way.
+	 */
+	public static <N extends Comparable<N>> void connect(Graph<N, Double> graph, N n1, N n2, double weight) {
+		graph.addEdge(n1, n2, weight);
+		graph.addEdge(n2, n1, weight);
+	}
+
+	/**
+	 * @return the sum of the labels of the edges of path
+	 */
+	public static <N extends Comparable<N>> double cost(LinkedHashSet<Edge<N, Double>> path) {
+		double cost = 0.0;
+		for (Edge<N, Double> edge : path) {
+			cost += edge.getLabel();
+		}
+		return cost;
+	}
+
+}
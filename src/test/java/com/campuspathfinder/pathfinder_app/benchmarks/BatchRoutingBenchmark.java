@@ -0,0 +1,81 @@
+package com.campuspathfinder.pathfinder_app.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.Edge;
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+import com.campuspathfinder.pathfinder_app.routing.RouteOptions;
+
+/**
+ * Times a timetable-shaped batch of routes: every student walks between the 
+ * consecutive classes of their day, and classes are held in a limited set of 
+ * buildings, so many pairs share a source. Compares one findRoutes call with 
+ * a findRoute call per pair.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchRoutingBenchmark {
+	
+	static final int STUDENTS = 1000;
+	static final int CLASS_BUILDINGS = 40;
+	
+	@Param({"RPI", "GRID_10K", "GEOMETRIC_10K"})
+	public BenchmarkMap map;
+	
+	private MapModel model;
+	private List<Map.Entry<Building, Building>> pairs;
+	
+	@Setup
+	public void setup() {
+		model = new MapModel(map.nodesFile(), map.edgesFile());
+		Building[] classes = new Building[CLASS_BUILDINGS];
+		RoutingBenchmark.pickPairs(model.getModel(), classes, new Building[CLASS_BUILDINGS]);
+		Random random = new Random(7);
+		pairs = new ArrayList<>();
+		for (int student = 0; student < STUDENTS; student++) {
+			Building previous = classes[random.nextInt(CLASS_BUILDINGS)];
+			for (int i = 1 + random.nextInt(4); i > 0; i--) {
+				Building next = classes[random.nextInt(CLASS_BUILDINGS)];
+				pairs.add(Map.entry(previous, next));
+				previous = next;
+			}
+		}
+	}
+	
+	@Benchmark
+	public List<LinkedHashSet<Edge<Building, Double>>> findRoutes() {
+		return model.findRoutes(pairs, RouteOptions.DEFAULT);
+	}
+	
+	@Benchmark
+	public List<LinkedHashSet<Edge<Building, Double>>> findRouteEach() {
+		List<LinkedHashSet<Edge<Building, Double>>> routes = new ArrayList<>(pairs.size());
+		for (Map.Entry<Building, Building> pair : pairs) {
+			routes.add(model.findRoute(pair.getKey(), pair.getValue()));
+		}
+		return routes;
+	}
+	
+}
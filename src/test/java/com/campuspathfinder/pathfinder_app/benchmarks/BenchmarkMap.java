@@ -0,0 +1,143 @@
+package com.campuspathfinder.pathfinder_app.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * <b>BenchmarkMap</b> names the maps the benchmarks run on: the bundled RPI map 
+ * plus synthetic grids and random geometric graphs of 1k, 10k and 100k nodes, 
+ * and a larger grid for the parsers.
+ * <p>
+ * Synthetic maps are written once, in the same CSV formats as the RPI data, to 
+ * target/benchmark-maps, so they go through exactly the same loading code. They 
+ * are generated from a fixed seed and are identical between runs.
+ */
+public enum BenchmarkMap {
+	
+	RPI(0, false),
+	GRID_1K(1_000, false),
+	GRID_10K(10_000, false),
+	GRID_100K(100_000, false),
+	GEOMETRIC_1K(1_000, true),
+	GEOMETRIC_10K(10_000, true),
+	GEOMETRIC_100K(100_000, true),
+	/** About 1M edge rows, for timing the parsers. */
+	GRID_500K(500_000, false);
+	
+	private static final String DATA_DIR = "src/main/resources/data";
+	private static final Path SYNTHETIC_DIR = Path.of("target", "benchmark-maps");
+	
+	/** Distance between neighbouring grid points, and the mean spacing of geometric points. */
+	private static final int SPACING = 100;
+	
+	/** Geometric points closer than this are joined, giving about six neighbours each. */
+	private static final int RADIUS = 140;
+	
+	private final int nodes;
+	private final boolean geometric;
+	
+	BenchmarkMap(int nodes, boolean geometric) {
+		this.nodes = nodes;
+		this.geometric = geometric;
+	}
+	
+	/**
+	 * @return the path of the buildings CSV, generating the map first if needed
+	 */
+	public String nodesFile() {
+		return this == RPI ? DATA_DIR + "/RPI_map_data_Nodes.csv" : generate().resolve(name() + "_Nodes.csv").toString();
+	}
+	
+	/**
+	 * @return the path of the edges CSV, generating the map first if needed
+	 */
+	public String edgesFile() {
+		return this == RPI ? DATA_DIR + "/RPI_map_data_Edges.csv" : generate().resolve(name() + "_Edges.csv").toString();
+	}
+	
+	private synchronized Path generate() {
+		Path nodesPath = SYNTHETIC_DIR.resolve(name() + "_Nodes.csv");
+		Path edgesPath = SYNTHETIC_DIR.resolve(name() + "_Edges.csv");
+		if (Files.exists(nodesPath) && Files.exists(edgesPath)) return SYNTHETIC_DIR;
+		
+		int side = (int) Math.ceil(Math.sqrt(nodes));
+		int[] x = new int[nodes];
+		int[] y = new int[nodes];
+		Random random = new Random(nodes);
+		for (int i = 0; i < nodes; i++) {
+			x[i] = geometric ? random.nextInt(side * SPACING) : (i % side) * SPACING;
+			y[i] = geometric ? random.nextInt(side * SPACING) : (i / side) * SPACING;
+		}
+		
+		try {
+			Files.createDirectories(SYNTHETIC_DIR);
+			try (BufferedWriter writer = Files.newBufferedWriter(nodesPath)) {
+				for (int i = 0; i < nodes; i++) {
+					writer.write("B" + (i + 1) + "," + (i + 1) + "," + x[i] + "," + y[i] + "\n");
+				}
+			}
+			try (BufferedWriter writer = Files.newBufferedWriter(edgesPath)) {
+				if (geometric) {
+					writeGeometricEdges(writer, x, y);
+				} else {
+					writeGridEdges(writer, side);
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return SYNTHETIC_DIR;
+	}
+	
+	/**
+	 * Join every grid point to its right and lower neighbours. Edges are listed 
+	 * once, as in the RPI file; the parser adds both directions.
+	 */
+	private void writeGridEdges(BufferedWriter writer, int side) throws IOException {
+		for (int i = 0; i < nodes; i++) {
+			if (i % side + 1 < side && i + 1 < nodes) {
+				writer.write((i + 1) + "," + (i + 2) + "\n");
+			}
+			if (i + side < nodes) {
+				writer.write((i + 1) + "," + (i + side + 1) + "\n");
+			}
+		}
+	}
+	
+	/**
+	 * Join every pair of points closer than RADIUS, looking only in the 
+	 * neighbouring cells of a RADIUS-sized bucket grid.
+	 */
+	private void writeGeometricEdges(BufferedWriter writer, int[] x, int[] y) throws IOException {
+		Map<Long, List<Integer>> cells = new HashMap<>();
+		for (int i = 0; i < nodes; i++) {
+			cells.computeIfAbsent(cell(x[i] / RADIUS, y[i] / RADIUS), k -> new ArrayList<>()).add(i);
+		}
+		for (int i = 0; i < nodes; i++) {
+			int cx = x[i] / RADIUS;
+			int cy = y[i] / RADIUS;
+			for (int dx = -1; dx <= 1; dx++) {
+				for (int dy = -1; dy <= 1; dy++) {
+					for (int j : cells.getOrDefault(cell(cx + dx, cy + dy), List.of())) {
+						if (j > i && Math.hypot(x[i] - x[j], y[i] - y[j]) <= RADIUS) {
+							writer.write((i + 1) + "," + (j + 1) + "\n");
+						}
+					}
+				}
+			}
+		}
+	}
+	
+	private static long cell(int cx, int cy) {
+		return ((long) cx << 32) | (cy & 0xffffffffL);
+	}
+	
+}
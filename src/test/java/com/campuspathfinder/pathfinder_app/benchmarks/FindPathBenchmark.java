@@ -0,0 +1,131 @@
+package com.campuspathfinder.pathfinder_app.benchmarks;
+
+import static com.campuspathfinder.pathfinder_app.TestMaps.BLDG_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.EDGES_FILE;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.Graph;
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+import com.campuspathfinder.pathfinder_app.models.Node;
+
+/**
+ * Compares {@link Graph#findPath} with the HashMap/LinkedList breadth-first 
+ * search it replaced. Run main, or any JMH runner with -prof gc, and compare 
+ * gc.alloc.rate.norm (bytes per call) between the two benchmarks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FindPathBenchmark {
+	
+	private static final int PAIRS = 256;
+	
+	private Graph<Building, Double> graph;
+	private Building[] sources;
+	private Building[] targets;
+	private int next;
+	
+	@Setup
+	public void setup() {
+		graph = new MapModel(BLDG_FILE, EDGES_FILE).getModel();
+		List<Node<Building>> nodes = graph.getAllNodes();
+		Random random = new Random(42);
+		sources = new Building[PAIRS];
+		targets = new Building[PAIRS];
+		for (int i = 0; i < PAIRS; i++) {
+			sources[i] = nodes.get(random.nextInt(nodes.size())).getNodeData();
+			targets[i] = nodes.get(random.nextInt(nodes.size())).getNodeData();
+		}
+	}
+	
+	@Benchmark
+	public List<Node<Building>> findPath() {
+		int i = next++ & (PAIRS - 1);
+		return graph.findPath(sources[i], targets[i]);
+	}
+	
+	@Benchmark
+	public List<Node<Building>> legacyFindPath() {
+		int i = next++ & (PAIRS - 1);
+		return legacyBfs(graph, new Node<>(sources[i]), new Node<>(targets[i]));
+	}
+	
+	/**
+	 * The breadth-first search findPath used before it moved onto a reused workspace, 
+	 * reading neighbours straight from Graph.Edges as it did.
+	 */
+	private static <NT extends Comparable<NT>> List<Node<NT>> legacyBfs(Graph<NT, Double> graph, Node<NT> currentNode, Node<NT> targetNode) {
+		Queue<Node<NT>> queue = new LinkedList<Node<NT>>();
+		Set<Node<NT>> visited = new HashSet<Node<NT>>();
+		List<Node<NT>> path = new ArrayList<Node<NT>>();
+		Map<Node<NT>, Node<NT>> parentMap = new HashMap<Node<NT>, Node<NT>>();
+		
+		queue.add(currentNode);
+		visited.add(currentNode);
+		
+		while (!queue.isEmpty()) {
+			Node<NT> current = queue.poll();
+			path.add(current);
+			
+			if (current.equals(targetNode)) {
+				List<Node<NT>> result = new ArrayList<>();
+				Node<NT> node = targetNode;
+				while (node != null && !node.equals(currentNode)) {
+					result.add(0, node);
+					node = parentMap.get(node);
+				}
+				if (node != null) {
+					result.add(0, currentNode);
+				}
+				return result;
+			}
+			
+			HashMap<Node<NT>, Double> edgesMap = graph.Edges.getOrDefault(current, new HashMap<>());
+			for (Node<NT> neighbor : edgesMap.keySet()) {
+				if (!visited.contains(neighbor)) {
+					queue.add(neighbor);
+					visited.add(neighbor);
+					parentMap.put(neighbor, current);
+				}
+			}
+		}
+		return null;
+	}
+	
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(FindPathBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+	
+}
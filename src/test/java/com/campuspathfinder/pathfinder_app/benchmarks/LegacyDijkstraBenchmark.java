@@ -0,0 +1,59 @@
+package com.campuspathfinder.pathfinder_app.benchmarks;
+
+import java.util.LinkedHashSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.Edge;
+import com.campuspathfinder.pathfinder_app.models.Graph;
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+import com.campuspathfinder.pathfinder_app.models.Node;
+
+/**
+ * Times {@link Graph#dijkstra}, which copies a whole path for every queued 
+ * entry. It runs on the same pairs as {@link RoutingBenchmark} but stops at 
+ * 10k nodes; beyond that a single route takes seconds.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LegacyDijkstraBenchmark {
+	
+	@Param({"RPI", "GRID_1K", "GRID_10K", "GEOMETRIC_1K", "GEOMETRIC_10K"})
+	public BenchmarkMap map;
+	
+	private Graph<Building, Double> graph;
+	private Building[] sources;
+	private Building[] targets;
+	private int next;
+	
+	@Setup
+	public void setup() {
+		graph = new MapModel(map.nodesFile(), map.edgesFile()).getModel();
+		sources = new Building[RoutingBenchmark.PAIRS];
+		targets = new Building[RoutingBenchmark.PAIRS];
+		RoutingBenchmark.pickPairs(graph, sources, targets);
+	}
+	
+	@Benchmark
+	public LinkedHashSet<Edge<Building, Double>> dijkstra() {
+		int i = next++ & (RoutingBenchmark.PAIRS - 1);
+		return Graph.dijkstra(new Node<>(sources[i]), new Node<>(targets[i]), graph);
+	}
+	
+}
@@ -0,0 +1,162 @@
+package com.campuspathfinder.pathfinder_app.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.FrozenGraph;
+import com.campuspathfinder.pathfinder_app.models.Graph;
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+import com.campuspathfinder.pathfinder_app.util.MapParser;
+import com.campuspathfinder.pathfinder_app.util.MapSnapshot;
+
+/**
+ * Times loading a map: parsing the CSV files, building the {@link Graph} from 
+ * parsed data, the whole {@link MapModel} constructor, and loading the same 
+ * map from a {@link MapSnapshot}. The legacy benchmarks 
+ * run the BufferedReader and String.split parsers MapParser used to have, for 
+ * comparison with the streaming ones; run with -prof gc to compare allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapLoadBenchmark {
+	
+	@Param({"RPI", "GRID_1K", "GRID_10K", "GRID_100K", "GEOMETRIC_1K", "GEOMETRIC_10K", "GEOMETRIC_100K", "GRID_500K"})
+	public BenchmarkMap map;
+	
+	private String nodesFile;
+	private String edgesFile;
+	private Map<Integer, Building> buildingsById;
+	private Map<Building, Set<Integer>> pathways;
+	private Path snapshotFile;
+	
+	@Setup
+	public void setup() throws IOException {
+		nodesFile = map.nodesFile();
+		edgesFile = map.edgesFile();
+		buildingsById = new HashMap<>();
+		pathways = new HashMap<>();
+		MapParser.readBuildings(nodesFile, buildingsById, new HashMap<>());
+		MapParser.readEdges(edgesFile, pathways, buildingsById);
+		snapshotFile = Path.of("target", "benchmark-maps", map.name() + ".pfmap");
+		Files.createDirectories(snapshotFile.getParent());
+		new MapModel(nodesFile, edgesFile).exportSnapshot(snapshotFile);
+	}
+	
+	@Benchmark
+	public Map<Integer, Building> readBuildings() throws IOException {
+		Map<Integer, Building> buildings = new HashMap<>();
+		MapParser.readBuildings(nodesFile, buildings, new HashMap<>());
+		return buildings;
+	}
+	
+	@Benchmark
+	public Map<Building, Set<Integer>> readEdges() throws IOException {
+		Map<Building, Set<Integer>> edges = new HashMap<>();
+		MapParser.readEdges(edgesFile, edges, buildingsById);
+		return edges;
+	}
+	
+	@Benchmark
+	public int streamBuildings() throws IOException {
+		int[] count = new int[1];
+		MapParser.readBuildings(Path.of(nodesFile), building -> count[0]++);
+		return count[0];
+	}
+	
+	@Benchmark
+	public long streamEdges() throws IOException {
+		long[] sum = new long[1];
+		MapParser.readEdges(Path.of(edgesFile), (id1, id2) -> sum[0] += id1 + id2);
+		return sum[0];
+	}
+	
+	@Benchmark
+	public Map<Integer, Building> legacyReadBuildings() throws IOException {
+		Map<Integer, Building> buildings = new HashMap<>();
+		try (BufferedReader reader = new BufferedReader(new FileReader(nodesFile))) {
+			String line = null;
+			while ((line = reader.readLine()) != null) {
+				String[] bldgData = line.split(",");
+				String buildingName = bldgData[0].trim();
+				int buildingId = Integer.parseInt(bldgData[1].trim());
+				int xCoord = Integer.parseInt(bldgData[2].trim());
+				int yCoord = Integer.parseInt(bldgData[3].trim());
+				buildings.put(buildingId, new Building(buildingName, buildingId, xCoord, yCoord));
+			}
+		}
+		return buildings;
+	}
+	
+	@Benchmark
+	public Map<Building, Set<Integer>> legacyReadEdges() throws IOException {
+		Map<Building, Set<Integer>> pathways = new HashMap<>();
+		try (BufferedReader reader = new BufferedReader(new FileReader(edgesFile))) {
+			String line = null;
+			while ((line = reader.readLine()) != null) {
+				String[] objectIds = line.split(",");
+				int id1 = Integer.parseInt(objectIds[0].trim());
+				int id2 = Integer.parseInt(objectIds[1].trim());
+				pathways.computeIfAbsent(buildingsById.get(id1), b -> new HashSet<>()).add(id2);
+				pathways.computeIfAbsent(buildingsById.get(id2), b -> new HashSet<>()).add(id1);
+			}
+		}
+		return pathways;
+	}
+	
+	@Benchmark
+	public Graph<Building, Double> buildGraph() {
+		Graph<Building, Double> graph = new Graph<>();
+		for (Building building : buildingsById.values()) {
+			graph.addNode(building);
+		}
+		for (Map.Entry<Building, Set<Integer>> entry : pathways.entrySet()) {
+			Building b1 = entry.getKey();
+			for (Integer id : entry.getValue()) {
+				Building b2 = buildingsById.get(id);
+				graph.addEdge(b1, b2, Math.hypot(b1.getBldgXCoord() - b2.getBldgXCoord(), b1.getBldgYCoord() - b2.getBldgYCoord()));
+			}
+		}
+		return graph;
+	}
+	
+	@Benchmark
+	public MapModel constructMapModel() {
+		return new MapModel(nodesFile, edgesFile);
+	}
+	
+	@Benchmark
+	public FrozenGraph<Building> readSnapshot() throws IOException {
+		return MapSnapshot.read(snapshotFile);
+	}
+	
+	@Benchmark
+	public MapModel loadMapModelFromSnapshot() throws IOException {
+		return MapModel.fromSnapshot(snapshotFile);
+	}
+	
+}
@@ -0,0 +1,65 @@
+package com.campuspathfinder.pathfinder_app.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+
+/**
+ * Times one keystroke of search as you type on the RPI map: the name index
+ * against scanning allBuildings() for names containing the query. Queries
+ * are prefixes, later words and misspellings of building names.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NameSearchBenchmark {
+	
+	static final String[] QUERIES = {"f", "fo", "fol", "folsom", "lib", "sage", "russel sage", "walkr", "labratory", "union", "west h", "darrin"};
+	static final int K = 10;
+	
+	private MapModel model;
+	private int next;
+	
+	@Setup
+	public void setup() {
+		model = new MapModel(BenchmarkMap.RPI.nodesFile(), BenchmarkMap.RPI.edgesFile());
+		model.searchBuildings("warm up", K);
+	}
+	
+	@Benchmark
+	public List<Building> index() {
+		return model.searchBuildings(QUERIES[next++ % QUERIES.length], K);
+	}
+	
+	@Benchmark
+	public List<Building> scan() {
+		String query = QUERIES[next++ % QUERIES.length].toLowerCase(Locale.ROOT);
+		List<Building> found = new ArrayList<>();
+		for (Building bldg : model.allBuildings()) {
+			if (bldg.getBldgName().toLowerCase(Locale.ROOT).contains(query)) {
+				found.add(bldg);
+				if (found.size() == K) break;
+			}
+		}
+		return found;
+	}
+	
+}
@@ -0,0 +1,95 @@
+package com.campuspathfinder.pathfinder_app.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.Edge;
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+import com.campuspathfinder.pathfinder_app.util.CompactRoute;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Times writing a found route out as a response body: the {@link CompactRoute}
+ * document against Jackson writing the route as a list of steps with the full
+ * source and target building of each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteEncodingBenchmark {
+	
+	static final int PAIRS = 64;
+	
+	@Param({"RPI", "GRID_10K"})
+	public BenchmarkMap map;
+	
+	private MapModel model;
+	private final ObjectMapper mapper = new ObjectMapper();
+	private final List<LinkedHashSet<Edge<Building, Double>>> routes = new ArrayList<>();
+	private int next;
+	
+	@Setup
+	public void setup() throws JsonProcessingException {
+		model = new MapModel(map.nodesFile(), map.edgesFile());
+		Building[] sources = new Building[PAIRS];
+		Building[] targets = new Building[PAIRS];
+		RoutingBenchmark.pickPairs(model.getModel(), sources, targets);
+		long jacksonBytes = 0;
+		long compactBytes = 0;
+		for (int i = 0; i < PAIRS; i++) {
+			routes.add(model.findRoute(sources[i], targets[i]));
+			jacksonBytes += jackson(routes.get(i)).length;
+			compactBytes += compact(routes.get(i)).length;
+		}
+		System.out.printf("%n%s: %d bytes a route with Jackson, %d compact%n", map, jacksonBytes / PAIRS, compactBytes / PAIRS);
+	}
+	
+	private byte[] jackson(LinkedHashSet<Edge<Building, Double>> route) throws JsonProcessingException {
+		List<Map<String, Object>> steps = new ArrayList<>(route.size());
+		for (Edge<Building, Double> edge : route) {
+			Map<String, Object> step = new LinkedHashMap<>();
+			step.put("from", edge.getSourceNode().getNodeData());
+			step.put("to", edge.getTargetNode().getNodeData());
+			step.put("length", edge.getLabel());
+			steps.add(step);
+		}
+		return mapper.writeValueAsBytes(steps);
+	}
+	
+	private byte[] compact(LinkedHashSet<Edge<Building, Double>> route) {
+		return CompactRoute.encode(model, route).getBytes(StandardCharsets.US_ASCII);
+	}
+	
+	@Benchmark
+	public byte[] jackson() throws JsonProcessingException {
+		return jackson(routes.get(next++ & (PAIRS - 1)));
+	}
+	
+	@Benchmark
+	public byte[] compact() {
+		return compact(routes.get(next++ & (PAIRS - 1)));
+	}
+	
+}
@@ -0,0 +1,103 @@
+package com.campuspathfinder.pathfinder_app.benchmarks;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.Edge;
+import com.campuspathfinder.pathfinder_app.models.Graph;
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+import com.campuspathfinder.pathfinder_app.models.Node;
+import com.campuspathfinder.pathfinder_app.routing.RouteOptions;
+import com.campuspathfinder.pathfinder_app.routing.RouteOptions.Algorithm;
+
+/**
+ * Times single routes between random pairs of buildings, cycling through a 
+ * fixed set of pairs so every map is queried the same way between runs. 
+ * {@link Graph#dijkstra} is left to {@link LegacyDijkstraBenchmark}, since it 
+ * is too slow to run on the largest maps.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoutingBenchmark {
+	
+	static final int PAIRS = 256;
+	
+	@Param({"RPI", "GRID_1K", "GRID_10K", "GRID_100K", "GEOMETRIC_1K", "GEOMETRIC_10K", "GEOMETRIC_100K"})
+	public BenchmarkMap map;
+	
+	private MapModel model;
+	private Building[] sources;
+	private Building[] targets;
+	private int next;
+	
+	@Setup
+	public void setup() {
+		model = new MapModel(map.nodesFile(), map.edgesFile());
+		sources = new Building[PAIRS];
+		targets = new Building[PAIRS];
+		pickPairs(model.getModel(), sources, targets);
+	}
+	
+	/**
+	 * Fill sources and targets with buildings picked from graph by a fixed seed.
+	 */
+	static void pickPairs(Graph<Building, Double> graph, Building[] sources, Building[] targets) {
+		List<Node<Building>> nodes = graph.getAllNodes();
+		nodes.sort((a, b) -> Integer.compare(a.getNodeData().getBldgId(), b.getNodeData().getBldgId()));
+		Random random = new Random(42);
+		for (int i = 0; i < sources.length; i++) {
+			sources[i] = nodes.get(random.nextInt(nodes.size())).getNodeData();
+			targets[i] = nodes.get(random.nextInt(nodes.size())).getNodeData();
+		}
+	}
+	
+	@Benchmark
+	public LinkedHashSet<Edge<Building, Double>> shortestPath() {
+		int i = next++ & (PAIRS - 1);
+		return Graph.shortestPath(new Node<>(sources[i]), new Node<>(targets[i]), model.getModel());
+	}
+	
+	@Benchmark
+	public List<Node<Building>> findPath() {
+		int i = next++ & (PAIRS - 1);
+		return model.getModel().findPath(sources[i], targets[i]);
+	}
+	
+	@Benchmark
+	public LinkedHashSet<Edge<Building, Double>> findRouteDijkstra() {
+		int i = next++ & (PAIRS - 1);
+		return model.findRoute(sources[i], targets[i], RouteOptions.of(Algorithm.DIJKSTRA));
+	}
+	
+	@Benchmark
+	public LinkedHashSet<Edge<Building, Double>> findRouteAStar() {
+		int i = next++ & (PAIRS - 1);
+		return model.findRoute(sources[i], targets[i], RouteOptions.of(Algorithm.ASTAR));
+	}
+	
+	@Benchmark
+	public LinkedHashSet<Edge<Building, Double>> findRouteBidirectional() {
+		int i = next++ & (PAIRS - 1);
+		return model.findRoute(sources[i], targets[i], RouteOptions.of(Algorithm.BIDIRECTIONAL));
+	}
+	
+}
@@ -0,0 +1,88 @@
+package com.campuspathfinder.pathfinder_app.controllers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.campuspathfinder.pathfinder_app.services.MapRegistry;
+import com.campuspathfinder.pathfinder_app.services.RoutingService;
+
+class DistanceMatrixControllerTest {
+
+	private MapRegistry registry;
+	private RoutingService routing;
+	private MockMvc mvc;
+
+	/**
+	 * Load a map of three buildings: 1 and 2 are joined by a path 5 long, and 3
+	 * stands alone.
+	 */
+	@BeforeEach
+	void setUp() throws Exception {
+		Path dir = Files.createTempDirectory("maps");
+		Files.writeString(dir.resolve("Tiny_map_data_Nodes.csv"), "North Hall,1,0,0\nSouth Hall,2,3,4\nFar Hall,3,100,100\n");
+		Files.writeString(dir.resolve("Tiny_map_data_Edges.csv"), "1,2\n");
+		registry = new MapRegistry(new PathMatchingResourcePatternResolver(), dir.toUri().toString(), 1);
+		registry.start();
+		registry.await("Tiny", 30, TimeUnit.SECONDS);
+		routing = new RoutingService(registry, 1, 10, 10_000);
+		mvc = MockMvcBuilders.standaloneSetup(new DistanceMatrixController(routing))
+				.setControllerAdvice(new ApiExceptionHandler())
+				.build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		routing.stop();
+		registry.stop();
+	}
+
+	@Test
+	void costsAreStreamedRowByRowWithNullForNoRoute() throws Exception {
+		MvcResult started = mvc.perform(post("/api/maps/Tiny/distance-matrix")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"origins\":[1,2],\"destinations\":[2,3,1]}"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		started.getAsyncResult(10_000);
+		MvcResult streaming = mvc.perform(asyncDispatch(started)).andReturn();
+		streaming.getAsyncResult(10_000);
+		mvc.perform(asyncDispatch(streaming))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_JSON))
+				.andExpect(content().json("{\"university\":\"Tiny\",\"origins\":[1,2],\"destinations\":[2,3,1],"
+						+ "\"costs\":[[5.0,null,0.0],[0.0,null,5.0]]}", true));
+	}
+
+	@Test
+	void unknownBuildingsAndMapsAreNotFound() throws Exception {
+		mvc.perform(post("/api/maps/Tiny/distance-matrix")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"origins\":[1],\"destinations\":[42]}"))
+				.andExpect(status().isNotFound());
+		mvc.perform(post("/api/maps/Nowhere/distance-matrix")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"origins\":[1],\"destinations\":[2]}"))
+				.andExpect(status().isNotFound());
+		mvc.perform(post("/api/maps/Tiny/distance-matrix")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"origins\":[null],\"destinations\":[2]}"))
+				.andExpect(status().isBadRequest());
+	}
+
+}
@@ -0,0 +1,138 @@
+package com.campuspathfinder.pathfinder_app.models;
+
+import static com.campuspathfinder.pathfinder_app.TestMaps.BLDG_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.EDGES_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.cost;
+import static com.campuspathfinder.pathfinder_app.TestMaps.randomGraph;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class GraphTest {
+	
+	private static <N extends Comparable<N>> void assertConnected(Node<N> start, Node<N> dest, LinkedHashSet<Edge<N, Double>> path) {
+		List<Edge<N, Double>> edges = new ArrayList<>(path);
+		assertEquals(new Edge<>(start, start, 0.0), edges.get(0));
+		for (int i = 1; i < edges.size(); i++) {
+			assertEquals(edges.get(i - 1).getTargetNode(), edges.get(i).getSourceNode());
+		}
+		assertEquals(dest, edges.get(edges.size() - 1).getTargetNode());
+	}
+	
+	@Test
+	void shortestPathMatchesDijkstraOnRandomGraphs() {
+		Random random = new Random(42);
+		for (int round = 0; round < 20; round++) {
+			Graph<String, Double> graph = randomGraph(random, 40, 120);
+			for (int i = 0; i < 40; i++) {
+				Node<String> start = new Node<>("n" + random.nextInt(40));
+				Node<String> dest = new Node<>("n" + random.nextInt(40));
+				LinkedHashSet<Edge<String, Double>> expected = Graph.dijkstra(start, dest, graph);
+				LinkedHashSet<Edge<String, Double>> actual = Graph.shortestPath(start, dest, graph);
+				
+				assertEquals(expected.isEmpty(), actual.isEmpty());
+				if (!actual.isEmpty()) {
+					assertEquals(cost(expected), cost(actual), 1e-9);
+					assertConnected(start, dest, actual);
+				}
+			}
+		}
+	}
+	
+	@Test
+	void findPathTakesTheFewestEdges() {
+		Random random = new Random(11);
+		for (int round = 0; round < 20; round++) {
+			Graph<String, Double> graph = randomGraph(random, 40, 80);
+			for (int i = 0; i < 40; i++) {
+				String source = "n" + random.nextInt(40);
+				String target = "n" + random.nextInt(40);
+				int hops = hops(graph, source, target);
+				List<Node<String>> path = graph.findPath(source, target);
+				
+				if (hops < 0) {
+					assertNull(path);
+					continue;
+				}
+				assertEquals(hops + 1, path.size());
+				assertEquals(new Node<>(source), path.get(0));
+				assertEquals(new Node<>(target), path.get(path.size() - 1));
+				for (int j = 1; j < path.size(); j++) {
+					assertTrue(graph.listChildren(path.get(j - 1).getNodeData()).contains(path.get(j)));
+				}
+			}
+		}
+	}
+	
+	@Test
+	void findPathSeesLaterEdits() {
+		Graph<String, Double> graph = new Graph<>();
+		graph.addNode("a");
+		graph.addNode("b");
+		graph.addNode("c");
+		graph.addEdge("a", "b", 1.0);
+		assertNull(graph.findPath("a", "c"));
+		
+		graph.addEdge("b", "c", 1.0);
+		assertEquals(List.of(new Node<>("a"), new Node<>("b"), new Node<>("c")), graph.findPath("a", "c"));
+		
+		graph.removeEdge("a", "b", 1.0);
+		assertNull(graph.findPath("a", "c"));
+		assertEquals(List.of(new Node<>("a")), graph.findPath("a", "a"));
+		assertEquals(List.of(new Node<>("z")), graph.findPath("z", "z"));
+		assertNull(graph.findPath("z", "a"));
+	}
+	
+	/**
+	 * @return the fewest edges from source to target, or -1 if target is unreachable
+	 */
+	private static int hops(Graph<String, Double> graph, String source, String target) {
+		Map<String, Integer> depth = new HashMap<>();
+		ArrayDeque<String> queue = new ArrayDeque<>();
+		depth.put(source, 0);
+		queue.add(source);
+		while (!queue.isEmpty()) {
+			String node = queue.poll();
+			if (node.equals(target)) return depth.get(node);
+			for (Node<String> child : graph.listChildren(node)) {
+				if (depth.putIfAbsent(child.getNodeData(), depth.get(node) + 1) == null) {
+					queue.add(child.getNodeData());
+				}
+			}
+		}
+		return -1;
+	}
+	
+	@Test
+	void shortestPathToSelfIsTheSelfEdge() {
+		Graph<String, Double> graph = randomGraph(new Random(7), 5, 10);
+		Node<String> start = new Node<>("n0");
+		assertEquals(Graph.dijkstra(start, start, graph), Graph.shortestPath(start, start, graph));
+	}
+	
+	@Test
+	void shortestPathMatchesDijkstraOnCampusMap() {
+		MapModel map = new MapModel(BLDG_FILE, EDGES_FILE);
+		List<Node<Building>> nodes = map.getModel().getAllNodes();
+		assertTrue(nodes.size() > 100);
+		for (int i = 0; i < nodes.size(); i += 10) {
+			for (Node<Building> dest : nodes) {
+				Node<Building> start = nodes.get(i);
+				LinkedHashSet<Edge<Building, Double>> expected = Graph.dijkstra(start, dest, map.getModel());
+				LinkedHashSet<Edge<Building, Double>> actual = Graph.shortestPath(start, dest, map.getModel());
+				assertEquals(cost(expected), cost(actual), 1e-9);
+			}
+		}
+	}
+	
+}
@@ -0,0 +1,168 @@
+package com.campuspathfinder.pathfinder_app.models;
+
+import static com.campuspathfinder.pathfinder_app.TestMaps.BLDG_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.EDGES_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.connect;
+import static com.campuspathfinder.pathfinder_app.TestMaps.cost;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import com.campuspathfinder.pathfinder_app.routing.RankedNode;
+import com.campuspathfinder.pathfinder_app.routing.RouteOptions;
+
+class MapModelTest {
+	
+	private static void disconnect(Graph<Building, Double> graph, Building b1, Building b2, double weight) {
+		graph.removeEdge(b1, b2, weight);
+		graph.removeEdge(b2, b1, weight);
+	}
+	
+	@Test
+	void routesNeverSeePartOfAnEdit() throws Exception {
+		Building a = new Building("A", 1, 0, 0);
+		Building b = new Building("B", 2, 10, 0);
+		Building c = new Building("C", 3, 20, 0);
+		MapModel map = new MapModel();
+		map.edit(graph -> {
+			graph.addNode(a);
+			graph.addNode(b);
+			graph.addNode(c);
+			connect(graph, a, b, 10.0);
+			connect(graph, b, c, 10.0);
+		});
+		
+		// each edit swaps the way from a to c; halfway through an edit there is none
+		AtomicBoolean done = new AtomicBoolean();
+		ExecutorService readers = Executors.newFixedThreadPool(3);
+		List<Future<Integer>> results = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			results.add(readers.submit(() -> {
+				int routes = 0;
+				while (!done.get()) {
+					double cost = cost(map.findRoute(a, c));
+					if (cost != 20.0 && cost != 30.0) throw new AssertionError("route cost " + cost);
+					routes++;
+				}
+				return routes;
+			}));
+		}
+		for (int i = 0; i < 2000; i++) {
+			boolean direct = i % 2 == 0;
+			map.edit(graph -> {
+				if (direct) {
+					disconnect(graph, b, c, 10.0);
+					connect(graph, a, c, 30.0);
+				} else {
+					disconnect(graph, a, c, 30.0);
+					connect(graph, b, c, 10.0);
+				}
+			});
+		}
+		done.set(true);
+		for (Future<Integer> result : results) {
+			assertTrue(result.get(30, TimeUnit.SECONDS) > 0);
+		}
+		readers.shutdown();
+		assertEquals(20.0, cost(map.findRoute(a, c)));
+	}
+	
+	@Test
+	void routesDoNotWaitForWriters() throws Exception {
+		Building a = new Building("A", 1, 0, 0);
+		Building b = new Building("B", 2, 10, 0);
+		MapModel map = new MapModel();
+		FrozenGraph<Building> before = map.edit(graph -> {
+			graph.addNode(a);
+			graph.addNode(b);
+			connect(graph, a, b, 10.0);
+		});
+		
+		ExecutorService reader = Executors.newSingleThreadExecutor();
+		FrozenGraph<Building> after = map.edit(graph -> {
+			disconnect(graph, a, b, 10.0);
+			try {
+				// the edit is still open, so the reader must get the published version at once
+				assertEquals(10.0, reader.submit(() -> cost(map.findRoute(a, b))).get(10, TimeUnit.SECONDS));
+				assertSame(before, reader.submit(map::getSnapshot).get(10, TimeUnit.SECONDS));
+			} catch (Exception e) {
+				throw new AssertionError(e);
+			}
+		});
+		reader.shutdown();
+		
+		assertSame(after, map.getSnapshot());
+		assertTrue(map.findRoute(a, b).isEmpty());
+	}
+	
+	@Test
+	void directChangesAreStillSeenByRoutes() {
+		Building a = new Building("A", 1, 0, 0);
+		Building b = new Building("B", 2, 10, 0);
+		MapModel map = new MapModel();
+		map.getModel().addNode(a);
+		map.getModel().addNode(b);
+		assertTrue(map.findRoute(a, b).isEmpty());
+		connect(map.getModel(), a, b, 10.0);
+		assertEquals(10.0, cost(map.findRoute(a, b)));
+	}
+	
+	@Test
+	void removedBuildingsLeaveTheCatalogue() {
+		MapModel map = new MapModel(BLDG_FILE, EDGES_FILE);
+		Building union = map.getBuildingByName("Rensselaer Union");
+		int before = map.allBuildings().size();
+		assertTrue(map.catalogue().page(null, 0, before).contains(union));
+		assertEquals(union, map.searchBuildings("Rensselaer Union", 1).get(0));
+		assertEquals(union, map.snap(union.getBldgXCoord(), union.getBldgYCoord()));
+		
+		map.edit(graph -> graph.removeNode(union));
+		assertEquals(before - 1, map.allBuildings().size());
+		assertFalse(map.allBuildings().contains(union));
+		assertFalse(map.catalogue().page(null, 0, before).contains(union));
+		assertFalse(map.searchBuildings("Rensselaer Union", 5).contains(union));
+		assertFalse(union.equals(map.snap(union.getBldgXCoord(), union.getBldgYCoord())));
+		for (RankedNode<Building> place : map.within(union.getBldgXCoord(), union.getBldgYCoord(), 10, bldg -> true)) {
+			assertFalse(union.equals(place.getNode()));
+		}
+	}
+	
+	@Test
+	void buildingsOffTheMapOnlyReachThemselves() {
+		Building a = new Building("A", 1, 0, 0);
+		Building b = new Building("B", 2, 10, 0);
+		Building off = new Building("Off", 3, 5, 5);
+		MapModel map = new MapModel();
+		map.edit(graph -> {
+			graph.addNode(a);
+			graph.addNode(b);
+			connect(graph, a, b, 10.0);
+		});
+		
+		assertTrue(map.findRoute(a, off).isEmpty());
+		assertTrue(map.findRoute(off, a).isEmpty());
+		LinkedHashSet<Edge<Building, Double>> stay = map.findRoute(off, off);
+		assertEquals(1, stay.size());
+		assertEquals(0.0, cost(stay));
+		assertEquals(List.of(stay, new LinkedHashSet<>()), map.findRoutes(List.of(Map.entry(off, off), Map.entry(a, off)), RouteOptions.DEFAULT));
+		
+		assertEquals(10.0, map.getCost(new Node<>(a), new Node<>(b)));
+		assertThrows(NoSuchElementException.class, () -> map.getCost(new Node<>(a), new Node<>(off)));
+	}
+	
+}
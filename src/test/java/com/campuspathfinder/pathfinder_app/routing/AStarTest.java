@@ -0,0 +1,36 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+import static com.campuspathfinder.pathfinder_app.TestMaps.BLDG_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.EDGES_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.cost;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+
+class AStarTest {
+	
+	@Test
+	void astarFindsDijkstraCostsWithFewerExpansionsOnCampusMap() {
+		MapModel map = new MapModel(BLDG_FILE, EDGES_FILE);
+		RouteOptions astar = RouteOptions.of(RouteOptions.Algorithm.ASTAR);
+		SearchStats stats = new SearchStats();
+		long dijkstraExpanded = 0;
+		long astarExpanded = 0;
+		
+		for (Building b1 : map.allBuildings()) {
+			for (Building b2 : map.allBuildings()) {
+				double expected = cost(map.findRoute(b1, b2, RouteOptions.DEFAULT, stats));
+				dijkstraExpanded += stats.getNodesExpanded();
+				double actual = cost(map.findRoute(b1, b2, astar, stats));
+				astarExpanded += stats.getNodesExpanded();
+				assertEquals(expected, actual, 1e-9);
+			}
+		}
+		assertTrue(astarExpanded * 2 < dijkstraExpanded, astarExpanded + " vs " + dijkstraExpanded);
+	}
+	
+}
@@ -0,0 +1,81 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+import static com.campuspathfinder.pathfinder_app.TestMaps.BLDG_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.EDGES_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.cost;
+import static com.campuspathfinder.pathfinder_app.TestMaps.randomGraph;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.Edge;
+import com.campuspathfinder.pathfinder_app.models.FrozenGraph;
+import com.campuspathfinder.pathfinder_app.models.Graph;
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+
+class BatchRoutesTest {
+	
+	private static Building first(LinkedHashSet<Edge<Building, Double>> route) {
+		return route.iterator().next().getSourceNode().getNodeData();
+	}
+	
+	private static Building last(LinkedHashSet<Edge<Building, Double>> route) {
+		Building last = null;
+		for (Edge<Building, Double> edge : route) last = edge.getTargetNode().getNodeData();
+		return last;
+	}
+	
+	@Test
+	void batchMatchesFindRouteInInputOrderOnCampusMap() {
+		MapModel map = new MapModel(BLDG_FILE, EDGES_FILE);
+		List<Building> buildings = new ArrayList<>(map.allBuildings());
+		Random random = new Random(9);
+		List<Map.Entry<Building, Building>> pairs = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			// few sources, so most groups hold several pairs, some of them repeated
+			Building source = buildings.get(random.nextInt(8));
+			pairs.add(Map.entry(source, buildings.get(random.nextInt(buildings.size()))));
+		}
+		pairs.add(Map.entry(buildings.get(0), buildings.get(0)));
+		
+		List<LinkedHashSet<Edge<Building, Double>>> routes = map.findRoutes(pairs, RouteOptions.DEFAULT);
+		assertEquals(pairs.size(), routes.size());
+		for (int i = 0; i < pairs.size(); i++) {
+			LinkedHashSet<Edge<Building, Double>> expected = map.findRoute(pairs.get(i).getKey(), pairs.get(i).getValue());
+			assertEquals(expected.isEmpty(), routes.get(i).isEmpty());
+			if (expected.isEmpty()) continue;
+			assertEquals(cost(expected), cost(routes.get(i)), 1e-9);
+			assertEquals(pairs.get(i).getKey(), first(routes.get(i)));
+			assertEquals(pairs.get(i).getValue(), last(routes.get(i)));
+		}
+	}
+	
+	@Test
+	void unreachableTargetsGetEmptyRoutes() {
+		Graph<String, Double> graph = randomGraph(new Random(4), 30, 20);
+		FrozenGraph<String> frozen = FrozenGraph.of(graph);
+		int[] sources = new int[frozen.size() * frozen.size()];
+		int[] targets = new int[sources.length];
+		for (int i = 0; i < sources.length; i++) {
+			sources[i] = i / frozen.size();
+			targets[i] = i % frozen.size();
+		}
+		List<LinkedHashSet<Edge<String, Double>>> routes = BatchRoutes.route(frozen, sources, targets, null);
+		for (int i = 0; i < sources.length; i++) {
+			SearchWorkspace ws = SearchWorkspace.get(frozen.size());
+			double expected = Dijkstra.route(frozen, sources[i], targets[i], ws);
+			assertEquals(Double.isInfinite(expected), routes.get(i).isEmpty());
+			if (!routes.get(i).isEmpty()) assertEquals(expected, cost(routes.get(i)), 1e-9);
+		}
+		assertThrows(IllegalArgumentException.class, () -> BatchRoutes.route(frozen, new int[1], new int[2], null));
+	}
+	
+}
@@ -0,0 +1,68 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+import static com.campuspathfinder.pathfinder_app.TestMaps.BLDG_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.EDGES_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.cost;
+import static com.campuspathfinder.pathfinder_app.TestMaps.randomGraph;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.Edge;
+import com.campuspathfinder.pathfinder_app.models.FrozenGraph;
+import com.campuspathfinder.pathfinder_app.models.Graph;
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+import com.campuspathfinder.pathfinder_app.models.Node;
+
+class ContractionHierarchyTest {
+	
+	@Test
+	void matchesDijkstraOnRandomDirectedGraphs() {
+		Random random = new Random(5);
+		for (int round = 0; round < 30; round++) {
+			int nodes = 10 + random.nextInt(80);
+			Graph<String, Double> graph = randomGraph(random, nodes, nodes * (1 + random.nextInt(4)));
+			FrozenGraph<String> frozen = FrozenGraph.of(graph);
+			ContractionHierarchy<String> ch = ContractionHierarchy.build(frozen);
+			for (int i = 0; i < 50; i++) {
+				String start = "n" + random.nextInt(nodes);
+				String dest = "n" + random.nextInt(nodes);
+				LinkedHashSet<Edge<String, Double>> expected = Graph.shortestPath(new Node<>(start), new Node<>(dest), graph);
+				LinkedHashSet<Edge<String, Double>> actual = ch.route(frozen.indexOf(start), frozen.indexOf(dest), null);
+				
+				assertEquals(expected.isEmpty(), actual.isEmpty());
+				if (actual.isEmpty()) continue;
+				assertEquals(cost(expected), cost(actual), 1e-9);
+				
+				List<Edge<String, Double>> edges = new ArrayList<>(actual);
+				assertEquals(new Node<>(start), edges.get(0).getSourceNode());
+				for (int j = 1; j < edges.size(); j++) {
+					assertEquals(edges.get(j - 1).getTargetNode(), edges.get(j).getSourceNode());
+					assertEquals(graph.getEdgeLabel(edges.get(j).getSourceNode(), edges.get(j).getTargetNode()), edges.get(j).getLabel());
+				}
+				assertEquals(new Node<>(dest), edges.get(edges.size() - 1).getTargetNode());
+			}
+		}
+	}
+	
+	@Test
+	void unpacksToTheSameRoutesOnCampusMap() {
+		MapModel map = new MapModel(BLDG_FILE, EDGES_FILE);
+		map.prepareContractionHierarchy();
+		RouteOptions ch = RouteOptions.of(RouteOptions.Algorithm.CONTRACTION_HIERARCHY);
+		for (Building b1 : map.allBuildings()) {
+			for (Building b2 : map.allBuildings()) {
+				LinkedHashSet<Edge<Building, Double>> expected = map.findRoute(b1, b2);
+				LinkedHashSet<Edge<Building, Double>> actual = map.findRoute(b1, b2, ch);
+				assertEquals(cost(expected), cost(actual), 1e-9);
+			}
+		}
+	}
+	
+}
@@ -0,0 +1,60 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+import static com.campuspathfinder.pathfinder_app.TestMaps.BLDG_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.EDGES_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.cost;
+import static com.campuspathfinder.pathfinder_app.TestMaps.randomGraph;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.LinkedHashSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.Edge;
+import com.campuspathfinder.pathfinder_app.models.FrozenGraph;
+import com.campuspathfinder.pathfinder_app.models.Graph;
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+import com.campuspathfinder.pathfinder_app.models.Node;
+
+class DijkstraTest {
+	
+	@Test
+	void routeMatchesGraphShortestPath() {
+		Random random = new Random(3);
+		for (int round = 0; round < 20; round++) {
+			Graph<String, Double> graph = randomGraph(random, 60, 180);
+			FrozenGraph<String> frozen = FrozenGraph.of(graph);
+			for (int i = 0; i < 60; i++) {
+				String start = "n" + random.nextInt(60);
+				String dest = "n" + random.nextInt(60);
+				LinkedHashSet<Edge<String, Double>> expected = Graph.shortestPath(new Node<>(start), new Node<>(dest), graph);
+				
+				int source = frozen.indexOf(start);
+				int target = frozen.indexOf(dest);
+				SearchWorkspace ws = SearchWorkspace.get(frozen.size());
+				double distance = Dijkstra.route(frozen, source, target, ws);
+				LinkedHashSet<Edge<String, Double>> actual = RoutePaths.edges(frozen, ws, source, target);
+				
+				assertEquals(expected.isEmpty(), actual.isEmpty());
+				if (!actual.isEmpty()) {
+					assertEquals(cost(expected), distance, 1e-9);
+					assertEquals(cost(expected), cost(actual), 1e-9);
+				}
+			}
+		}
+	}
+	
+	@Test
+	void findRouteMatchesGraphShortestPathOnCampusMap() {
+		MapModel map = new MapModel(BLDG_FILE, EDGES_FILE);
+		for (Building b1 : map.allBuildings()) {
+			for (Building b2 : map.allBuildings()) {
+				LinkedHashSet<Edge<Building, Double>> expected = Graph.shortestPath(new Node<>(b1), new Node<>(b2), map.getModel());
+				assertEquals(cost(expected), cost(map.findRoute(b1, b2)), 1e-9);
+			}
+		}
+	}
+	
+}
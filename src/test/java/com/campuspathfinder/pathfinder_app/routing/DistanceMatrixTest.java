@@ -0,0 +1,63 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+import static com.campuspathfinder.pathfinder_app.TestMaps.BLDG_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.EDGES_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.cost;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.Edge;
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+
+class DistanceMatrixTest {
+	
+	@Test
+	void matrixMatchesFindRouteOnCampusMap() {
+		MapModel map = new MapModel(BLDG_FILE, EDGES_FILE);
+		List<Building> buildings = new ArrayList<>(map.allBuildings());
+		List<Building> origins = buildings.subList(0, buildings.size() / 2);
+		List<Building> destinations = new ArrayList<>(buildings.subList(buildings.size() / 3, buildings.size()));
+		destinations.add(new Building("Nowhere", -1, 0, 0));
+		
+		double[][] costs = map.distanceMatrix(origins, destinations);
+		assertEquals(origins.size(), costs.length);
+		for (int i = 0; i < origins.size(); i++) {
+			assertEquals(destinations.size(), costs[i].length);
+			for (int j = 0; j < destinations.size() - 1; j++) {
+				LinkedHashSet<Edge<Building, Double>> route = map.findRoute(origins.get(i), destinations.get(j));
+				double expected = route.isEmpty() ? Double.POSITIVE_INFINITY : cost(route);
+				assertEquals(expected, costs[i][j], 1e-9);
+			}
+			assertEquals(Double.POSITIVE_INFINITY, costs[i][destinations.size() - 1], 0.0);
+		}
+	}
+	
+	@Test
+	void aMatrixComputedInBlocksIgnoresLaterClosures() {
+		MapModel map = new MapModel(BLDG_FILE, EDGES_FILE);
+		Building empac = map.getBuildingByName("EMPAC");
+		Building academy = map.getBuildingByName("Academy Hall");
+		List<Building> destinations = List.of(academy);
+		double before = map.distanceMatrix(List.of(empac), destinations, RoutingProfile.DEFAULT)[0][0];
+		
+		Function<List<Building>, double[][]> matrix = map.distanceMatrix(destinations, RoutingProfile.DEFAULT);
+		LinkedHashSet<Edge<Building, Double>> route = map.findRoute(empac, academy);
+		for (Edge<Building, Double> edge : route) {
+			if (!edge.getSourceNode().equals(edge.getTargetNode())) {
+				map.closePath(edge.getSourceNode().getNodeData(), edge.getTargetNode().getNodeData(), Duration.ofHours(1));
+			}
+		}
+		assertEquals(before, matrix.apply(List.of(empac))[0][0], 0.0);
+		assertTrue(map.distanceMatrix(List.of(empac), destinations, RoutingProfile.DEFAULT)[0][0] > before);
+	}
+	
+}
@@ -0,0 +1,198 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+import static com.campuspathfinder.pathfinder_app.TestMaps.BLDG_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.EDGES_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.randomGraph;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.campuspathfinder.pathfinder_app.TestMaps;
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.Edge;
+import com.campuspathfinder.pathfinder_app.models.FrozenGraph;
+import com.campuspathfinder.pathfinder_app.models.Graph;
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+import com.campuspathfinder.pathfinder_app.models.Node;
+
+class EdgeOverlayTest {
+
+	/** A clock that only moves when told to. */
+	static final class ManualClock extends Clock {
+		private volatile Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+	}
+
+	private static FrozenGraph<String> triangle() {
+		Graph<String, Double> graph = new Graph<>();
+		graph.addNode("a");
+		graph.addNode("b");
+		graph.addNode("c");
+		graph.addEdge("a", "b", 1.0);
+		graph.addEdge("b", "c", 1.0);
+		graph.addEdge("a", "c", 3.0);
+		return FrozenGraph.of(graph);
+	}
+
+	private static double cost(FrozenGraph<String> graph, EdgeOverlay<String> overlay, String from, String to) {
+		SearchWorkspace ws = SearchWorkspace.get(graph.size());
+		return Dijkstra.route(graph, graph.indexOf(from), graph.indexOf(to), ws, null, overlay.view(graph));
+	}
+
+	@Test
+	void blockedEdgesAreNeverTaken() {
+		Random random = new Random(5);
+		for (int round = 0; round < 20; round++) {
+			Graph<String, Double> graph = randomGraph(random, 60, 180);
+			Graph<String, Double> pruned = new Graph<>();
+			EdgeOverlay<String> overlay = new EdgeOverlay<>();
+			for (int i = 0; i < 60; i++) pruned.addNode("n" + i);
+			for (int i = 0; i < 60; i++) {
+				for (Edge<String, Double> edge : graph.getEdges(new Node<>("n" + i))) {
+					String source = edge.getSourceNode().getNodeData();
+					String target = edge.getTargetNode().getNodeData();
+					if (random.nextInt(4) == 0) {
+						overlay.block(source, target, Instant.MAX);
+					} else {
+						pruned.addEdge(source, target, edge.getLabel());
+					}
+				}
+			}
+			FrozenGraph<String> frozen = FrozenGraph.of(graph);
+			FrozenGraph<String> expected = FrozenGraph.of(pruned);
+			for (int i = 0; i < 60; i++) {
+				int source = random.nextInt(60);
+				int target = random.nextInt(60);
+				SearchWorkspace ws = SearchWorkspace.get(expected.size());
+				double want = Dijkstra.route(expected, expected.indexOf("n" + source), expected.indexOf("n" + target), ws);
+				ws = SearchWorkspace.get(frozen.size());
+				double got = Dijkstra.route(frozen, frozen.indexOf("n" + source), frozen.indexOf("n" + target), ws, null, overlay.view(frozen));
+				assertEquals(want, got, 1e-9);
+
+				LinkedHashSet<Edge<String, Double>> both = BidirectionalDijkstra.route(frozen, frozen.indexOf("n" + source), frozen.indexOf("n" + target), null, overlay.view(frozen));
+				assertEquals(Double.isInfinite(want), both.isEmpty());
+				if (!both.isEmpty()) assertEquals(want, TestMaps.cost(both), 1e-9);
+			}
+		}
+	}
+
+	@Test
+	void penaltiesLastUntilTheyExpire() {
+		ManualClock clock = new ManualClock();
+		FrozenGraph<String> graph = triangle();
+		EdgeOverlay<String> overlay = new EdgeOverlay<>(clock);
+
+		assertNull(overlay.view(graph));
+		overlay.multiply("a", "b", 5.0, clock.instant().plus(Duration.ofMinutes(10)));
+		long revision = overlay.revision();
+		assertEquals(3.0, cost(graph, overlay, "a", "c"), 1e-9);
+		assertEquals(5.0, cost(graph, overlay, "a", "b"), 1e-9);
+
+		clock.advance(Duration.ofMinutes(9));
+		assertEquals(revision, overlay.revision());
+		clock.advance(Duration.ofMinutes(1));
+		assertNotEquals(revision, overlay.revision());
+		assertTrue(overlay.isEmpty());
+		assertEquals(2.0, cost(graph, overlay, "a", "c"), 1e-9);
+		assertEquals(1.0, graph.weight(graph.edgeBetween(graph.indexOf("a"), graph.indexOf("b"))), 1e-9);
+	}
+
+	@Test
+	void rulesCarryOverToLaterVersionsOfTheGraph() {
+		EdgeOverlay<String> overlay = new EdgeOverlay<>();
+		overlay.block("b", "c", Instant.MAX);
+		assertEquals(3.0, cost(triangle(), overlay, "a", "c"), 1e-9);
+		assertEquals(3.0, cost(triangle(), overlay, "a", "c"), 1e-9);
+		overlay.clear("b", "c");
+		assertEquals(2.0, cost(triangle(), overlay, "a", "c"), 1e-9);
+	}
+
+	@Test
+	void multipliersBelowOneAreRejected() {
+		EdgeOverlay<String> overlay = new EdgeOverlay<>();
+		assertThrows(IllegalArgumentException.class, () -> overlay.multiply("a", "b", 0.5, Instant.MAX));
+		assertThrows(IllegalArgumentException.class, () -> overlay.multiply("a", "b", Double.NaN, Instant.MAX));
+		assertTrue(overlay.isEmpty());
+	}
+
+	@Test
+	void closingAPathReroutesWithoutTouchingTheGraph() {
+		MapModel map = new MapModel(BLDG_FILE, EDGES_FILE);
+		MapModel removed = new MapModel(BLDG_FILE, EDGES_FILE);
+		RouteCache cache = RouteCache.withMaximumSize(100);
+		map.setRouteCache(cache);
+		Building b1 = map.getBuildingByName("EMPAC");
+		Building b2 = map.getBuildingByName("Academy Hall");
+		long version = map.getModel().version();
+		FrozenGraph<Building> snapshot = map.getSnapshot();
+
+		List<Edge<Building, Double>> before = new ArrayList<>(map.findRoute(b1, b2));
+		Edge<Building, Double> used = before.get(before.size() / 2);
+		Building source = used.getSourceNode().getNodeData();
+		Building target = used.getTargetNode().getNodeData();
+		map.closePath(source, target, Duration.ofHours(1));
+		// closing a path leaves the cache alone; the route cached before it is simply not served
+		assertEquals(1, cache.size());
+		removed.getModel().removeEdge(source, target, used.getLabel());
+		removed.getModel().removeEdge(target, source, used.getLabel());
+		double expected = TestMaps.cost(removed.findRoute(b1, b2));
+
+		for (RouteOptions.Algorithm algorithm : RouteOptions.Algorithm.values()) {
+			LinkedHashSet<Edge<Building, Double>> after = map.findRoute(b1, b2, RouteOptions.of(algorithm));
+			assertFalse(after.contains(used), algorithm.toString());
+			assertEquals(expected, TestMaps.cost(after), 1e-9, algorithm.toString());
+		}
+		assertEquals(version, map.getModel().version());
+		assertTrue(snapshot == map.getSnapshot());
+
+		map.reopenPath(source, target);
+		assertEquals(TestMaps.cost(new LinkedHashSet<>(before)), TestMaps.cost(map.findRoute(b1, b2)), 1e-9);
+		assertNull(map.getOverlay().view(map.getSnapshot()));
+
+		// once every closure is lifted, precomputed routes serve again without a search
+		MapModel precomputed = new MapModel(BLDG_FILE, EDGES_FILE, true);
+		SearchStats stats = new SearchStats();
+		precomputed.findRoute(b1, b2, RouteOptions.DEFAULT, stats);
+		assertEquals(0, stats.getNodesExpanded());
+		precomputed.closePath(source, target, Duration.ofHours(1));
+		precomputed.findRoute(b1, b2, RouteOptions.DEFAULT, stats);
+		assertTrue(stats.getNodesExpanded() > 0);
+		precomputed.reopenPath(source, target);
+		precomputed.findRoute(b1, b2, RouteOptions.DEFAULT, stats);
+		assertEquals(0, stats.getNodesExpanded());
+	}
+
+}
@@ -0,0 +1,70 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+import static com.campuspathfinder.pathfinder_app.TestMaps.BLDG_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.EDGES_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.cost;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.Edge;
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+
+class RouteCacheTest {
+	
+	@Test
+	void repeatedRoutesAreServedFromTheCache() {
+		MapModel map = new MapModel(BLDG_FILE, EDGES_FILE);
+		RouteCache cache = RouteCache.withMaximumSize(100);
+		map.setRouteCache(cache);
+		Building b1 = map.getBuildingByName("EMPAC");
+		Building b2 = map.getBuildingByName("Academy Hall");
+		
+		LinkedHashSet<Edge<Building, Double>> first = map.findRoute(b1, b2);
+		LinkedHashSet<Edge<Building, Double>> second = map.findRoute(b1, b2);
+		
+		assertEquals(first, second);
+		assertEquals(1, cache.stats().hitCount());
+		assertEquals(1, cache.stats().missCount());
+	}
+	
+	@Test
+	void removingAnEdgeOnACachedRouteInvalidatesIt() {
+		MapModel map = new MapModel(BLDG_FILE, EDGES_FILE);
+		MapModel uncached = new MapModel(BLDG_FILE, EDGES_FILE);
+		map.setRouteCache(RouteCache.withMaximumSize(100));
+		Building b1 = map.getBuildingByName("EMPAC");
+		Building b2 = map.getBuildingByName("Academy Hall");
+		
+		List<Edge<Building, Double>> before = new ArrayList<>(map.findRoute(b1, b2));
+		Edge<Building, Double> used = before.get(before.size() / 2);
+		Building source = used.getSourceNode().getNodeData();
+		Building target = used.getTargetNode().getNodeData();
+		map.getModel().removeEdge(source, target, used.getLabel());
+		uncached.getModel().removeEdge(source, target, used.getLabel());
+		
+		LinkedHashSet<Edge<Building, Double>> after = map.findRoute(b1, b2);
+		assertFalse(after.contains(used));
+		assertEquals(cost(uncached.findRoute(b1, b2)), cost(after), 1e-9);
+	}
+	
+	@Test
+	void addingAShortcutInvalidatesTheMap() {
+		MapModel map = new MapModel(BLDG_FILE, EDGES_FILE);
+		map.setRouteCache(RouteCache.withMaximumSize(100));
+		Building b1 = map.getBuildingByName("EMPAC");
+		Building b2 = map.getBuildingByName("Academy Hall");
+		
+		assertTrue(map.findRoute(b1, b2).size() > 2);
+		map.getModel().addEdge(b1, b2, 1.0);
+		assertEquals(1.0, cost(map.findRoute(b1, b2)), 1e-9);
+	}
+	
+}
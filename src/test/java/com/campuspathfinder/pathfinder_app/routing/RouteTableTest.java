@@ -0,0 +1,44 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+import static com.campuspathfinder.pathfinder_app.TestMaps.BLDG_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.EDGES_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.cost;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.Edge;
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+
+class RouteTableTest {
+	
+	@Test
+	void precomputedRoutesMatchSearchOnCampusMap() {
+		MapModel searched = new MapModel(BLDG_FILE, EDGES_FILE);
+		MapModel precomputed = new MapModel(BLDG_FILE, EDGES_FILE, true);
+		assertNotNull(precomputed.getRouteTable());
+		
+		for (Building b1 : searched.allBuildings()) {
+			for (Building b2 : searched.allBuildings()) {
+				LinkedHashSet<Edge<Building, Double>> expected = searched.findRoute(b1, b2);
+				LinkedHashSet<Edge<Building, Double>> actual = precomputed.findRoute(b1, b2);
+				assertEquals(cost(expected), cost(actual), 1e-9);
+				assertEquals(expected.isEmpty(), actual.isEmpty());
+				if (actual.isEmpty()) continue;
+				
+				List<Edge<Building, Double>> edges = new ArrayList<>(actual);
+				for (int i = 1; i < edges.size(); i++) {
+					assertEquals(edges.get(i - 1).getTargetNode(), edges.get(i).getSourceNode());
+				}
+				assertEquals(b2, edges.get(edges.size() - 1).getTargetNode().getNodeData());
+			}
+		}
+	}
+	
+}
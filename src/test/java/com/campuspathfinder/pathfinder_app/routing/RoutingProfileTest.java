@@ -0,0 +1,88 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+import static com.campuspathfinder.pathfinder_app.TestMaps.BLDG_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.EDGES_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.cost;
+import static com.campuspathfinder.pathfinder_app.TestMaps.randomGraph;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.Edge;
+import com.campuspathfinder.pathfinder_app.models.FrozenGraph;
+import com.campuspathfinder.pathfinder_app.models.Graph;
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+import com.campuspathfinder.pathfinder_app.models.Node;
+
+class RoutingProfileTest {
+
+	@Test
+	void excludedNodesAreNeverRoutedThrough() {
+		Random random = new Random(11);
+		for (int round = 0; round < 20; round++) {
+			Graph<String, Double> graph = randomGraph(random, 60, 180);
+			boolean[] closed = new boolean[60];
+			for (int i = 0; i < 60; i++) closed[i] = random.nextInt(5) == 0;
+
+			Graph<String, Double> pruned = new Graph<>();
+			for (int i = 0; i < 60; i++) pruned.addNode("n" + i);
+			for (int i = 0; i < 60; i++) {
+				for (Edge<String, Double> edge : graph.getEdges(new Node<>("n" + i))) {
+					String target = edge.getTargetNode().getNodeData();
+					if (!closed[i] && !closed[Integer.parseInt(target.substring(1))]) {
+						pruned.addEdge("n" + i, target, edge.getLabel());
+					}
+				}
+			}
+			FrozenGraph<String> frozen = FrozenGraph.of(graph);
+			FrozenGraph<String> restricted = frozen.excluding(node -> closed[Integer.parseInt(node.substring(1))]);
+			FrozenGraph<String> expected = FrozenGraph.of(pruned);
+			assertEquals(frozen.edgeCount(), restricted.edgeCount());
+
+			for (int i = 0; i < 60; i++) {
+				String from = "n" + random.nextInt(60);
+				String to = "n" + random.nextInt(60);
+				if (from.equals(to)) continue;
+				SearchWorkspace ws = SearchWorkspace.get(expected.size());
+				double want = Dijkstra.route(expected, expected.indexOf(from), expected.indexOf(to), ws);
+				ws = SearchWorkspace.get(restricted.size());
+				assertEquals(want, Dijkstra.route(restricted, restricted.indexOf(from), restricted.indexOf(to), ws), 1e-9);
+
+				LinkedHashSet<Edge<String, Double>> both = BidirectionalDijkstra.route(restricted, restricted.indexOf(from), restricted.indexOf(to), null);
+				assertEquals(Double.isInfinite(want), both.isEmpty());
+				if (!both.isEmpty()) assertEquals(want, cost(both), 1e-9);
+			}
+		}
+	}
+
+	@Test
+	void graphsWithNothingToExcludeAreShared() {
+		Graph<String, Double> graph = randomGraph(new Random(2), 20, 40);
+		FrozenGraph<String> frozen = FrozenGraph.of(graph);
+		assertTrue(frozen == frozen.excluding(node -> false));
+	}
+
+	@Test
+	void stepFreeRoutesAreCachedApartFromDefaultOnes() {
+		MapModel map = new MapModel(BLDG_FILE, EDGES_FILE);
+		RouteCache cache = RouteCache.withMaximumSize(100);
+		map.setRouteCache(cache);
+		Building b1 = map.getBuildingByName("EMPAC");
+		Building b2 = map.getBuildingByName("Academy Hall");
+
+		// the campus data records no access points, so every place counts as step-free
+		LinkedHashSet<Edge<Building, Double>> plain = map.findRoute(b1, b2);
+		LinkedHashSet<Edge<Building, Double>> stepFree = map.findRoute(b1, b2, RoutingProfile.STEP_FREE);
+		assertEquals(plain, stepFree);
+		assertEquals(2, cache.stats().missCount());
+
+		map.findRoute(b1, b2, RoutingProfile.STEP_FREE);
+		assertEquals(1, cache.stats().hitCount());
+	}
+
+}
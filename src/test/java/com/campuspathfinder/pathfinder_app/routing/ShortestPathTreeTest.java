@@ -0,0 +1,56 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+import static com.campuspathfinder.pathfinder_app.TestMaps.BLDG_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.EDGES_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.cost;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.Edge;
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+
+class ShortestPathTreeTest {
+	
+	@Test
+	void treeDistancesMatchFindRoute() {
+		MapModel map = new MapModel(BLDG_FILE, EDGES_FILE);
+		Building from = map.getBuildingByName("EMPAC");
+		ShortestPathTree<Building> tree = map.shortestPathTree(from);
+		
+		for (Building to : map.allBuildings()) {
+			LinkedHashSet<Edge<Building, Double>> route = map.findRoute(from, to);
+			double expected = route.isEmpty() ? Double.POSITIVE_INFINITY : cost(route);
+			assertEquals(expected, tree.distance(to), 1e-9);
+			if (expected != Double.POSITIVE_INFINITY) {
+				assertEquals(expected, cost(tree.pathTo(to)), 1e-9);
+			}
+		}
+	}
+	
+	@Test
+	void nearestBuildingsAreTheKClosestMatches() {
+		MapModel map = new MapModel(BLDG_FILE, EDGES_FILE);
+		Building from = map.getBuildingByName("EMPAC");
+		ShortestPathTree<Building> tree = map.shortestPathTree(from);
+		
+		List<Building> expected = new ArrayList<>();
+		for (Building b : tree.reachable()) {
+			if (!b.equals(from) && !b.getBldgName().equals("") && b.getBldgName().contains("Hall")) expected.add(b);
+		}
+		List<RankedNode<Building>> nearest = map.nearestBuildings(from, 3, b -> b.getBldgName().contains("Hall"));
+		
+		assertEquals(3, nearest.size());
+		for (int i = 0; i < nearest.size(); i++) {
+			assertEquals(tree.distance(expected.get(i)), nearest.get(i).getDistance(), 1e-9);
+			assertTrue(nearest.get(i).getNode().getBldgName().contains("Hall"));
+		}
+	}
+	
+}
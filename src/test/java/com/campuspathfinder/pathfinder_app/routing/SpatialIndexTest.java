@@ -0,0 +1,94 @@
+package com.campuspathfinder.pathfinder_app.routing;
+
+import static com.campuspathfinder.pathfinder_app.TestMaps.BLDG_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.EDGES_FILE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.FrozenGraph;
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+
+class SpatialIndexTest {
+	
+	private static double distance(Building bldg, double x, double y) {
+		double dx = bldg.getBldgXCoord() - x;
+		double dy = bldg.getBldgYCoord() - y;
+		return Math.sqrt(dx * dx + dy * dy);
+	}
+	
+	/**
+	 * @return the distances of every node matching filter from (x, y), nearest first, by a linear scan
+	 */
+	private static List<Double> scan(FrozenGraph<Building> graph, double x, double y, Predicate<Building> filter) {
+		List<Double> distances = new ArrayList<>();
+		for (Building bldg : graph.nodes()) {
+			if (filter.test(bldg)) distances.add(distance(bldg, x, y));
+		}
+		distances.sort(Comparator.naturalOrder());
+		return distances;
+	}
+	
+	private static List<Double> distances(List<RankedNode<Building>> ranked, double x, double y) {
+		List<Double> distances = new ArrayList<>();
+		for (RankedNode<Building> node : ranked) {
+			assertEquals(distance(node.getNode(), x, y), node.getDistance(), 1e-9);
+			distances.add(node.getDistance());
+		}
+		return distances;
+	}
+	
+	@Test
+	void queriesMatchALinearScanOnCampusMap() {
+		MapModel map = new MapModel(BLDG_FILE, EDGES_FILE);
+		FrozenGraph<Building> graph = map.getSnapshot();
+		SpatialIndex<Building> index = SpatialIndex.of(graph, Building::getBldgXCoord, Building::getBldgYCoord);
+		Predicate<Building> named = bldg -> !bldg.getBldgName().equals("");
+		Random random = new Random(3);
+		for (int i = 0; i < 200; i++) {
+			double x = random.nextInt(4000) - 500;
+			double y = random.nextInt(4000) - 500;
+			List<Double> all = scan(graph, x, y, bldg -> true);
+			List<Double> buildings = scan(graph, x, y, named);
+			
+			assertEquals(all.subList(0, 1), distances(index.nearest(x, y, 1, bldg -> true), x, y));
+			assertEquals(all.subList(0, 10), distances(index.nearest(x, y, 10, bldg -> true), x, y));
+			assertEquals(buildings.subList(0, 5), distances(index.nearest(x, y, 5, named), x, y));
+			
+			double radius = random.nextInt(300);
+			assertEquals(all.stream().filter(d -> d <= radius).toList(), distances(index.within(x, y, radius, bldg -> true), x, y));
+			assertEquals(buildings.stream().filter(d -> d <= radius).toList(), distances(index.within(x, y, radius, named), x, y));
+		}
+		assertEquals(graph.size(), index.nearest(0, 0, Integer.MAX_VALUE, bldg -> true).size());
+		assertTrue(index.nearest(0, 0, 0, bldg -> true).isEmpty());
+	}
+	
+	@Test
+	void snapFindsTheClosestPlaceOnTheMap() {
+		Building a = new Building("A", 1, 0, 0);
+		Building corner = new Building("", 2, 10, 10);
+		Building b = new Building("B", 3, 10, 0);
+		Building c = new Building("C", 4, 10, 0);
+		MapModel map = new MapModel();
+		map.edit(graph -> {
+			graph.addNode(a);
+			graph.addNode(corner);
+			graph.addNode(b);
+			graph.addNode(c);
+		});
+		assertEquals(corner, map.snap(9, 9));
+		assertEquals(a, map.snap(-100, 0));
+		assertEquals(2, map.within(10, 0, 0, bldg -> true).size());
+		assertEquals(List.of(a), map.nearestTo(9, 9, 3, bldg -> bldg.getBldgId() == 1).stream().map(RankedNode::getNode).toList());
+		assertEquals(null, new MapModel().snap(0, 0));
+	}
+	
+}
@@ -0,0 +1,128 @@
+package com.campuspathfinder.pathfinder_app.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import com.campuspathfinder.pathfinder_app.TestMaps;
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.Edge;
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+import com.campuspathfinder.pathfinder_app.routing.RouteCache;
+import com.campuspathfinder.pathfinder_app.routing.RouteOptions;
+import com.campuspathfinder.pathfinder_app.routing.RoutingMetrics;
+import com.campuspathfinder.pathfinder_app.routing.SearchStats;
+import com.campuspathfinder.pathfinder_app.services.MapRegistry.Status;
+
+class MapRegistryTest {
+	
+	private static final Path BLDG_FILE = Path.of(TestMaps.BLDG_FILE);
+	private static final Path EDGES_FILE = Path.of(TestMaps.EDGES_FILE);
+	
+	@Test
+	void brokenMapsDoNotAffectTheOthers() throws Exception {
+		Path dir = Files.createTempDirectory("maps");
+		Files.copy(BLDG_FILE, dir.resolve("RPI" + MapRegistry.NODES_SUFFIX));
+		Files.copy(EDGES_FILE, dir.resolve("RPI" + MapRegistry.EDGES_SUFFIX));
+		Files.writeString(dir.resolve("Corrupt" + MapRegistry.NODES_SUFFIX), "A,1,0,0\nB,2,3,4\n");
+		Files.writeString(dir.resolve("Corrupt" + MapRegistry.EDGES_SUFFIX), "1,2\n2,3\n");
+		Files.writeString(dir.resolve("Lonely" + MapRegistry.NODES_SUFFIX), "A,1,0,0\n");
+		Files.writeString(dir.resolve("Empty" + MapRegistry.NODES_SUFFIX), "");
+		Files.writeString(dir.resolve("Empty" + MapRegistry.EDGES_SUFFIX), "");
+		
+		MapRegistry registry = new MapRegistry(new PathMatchingResourcePatternResolver(), dir.toUri().toString(), 2);
+		try {
+			registry.start();
+			assertEquals(List.of("Corrupt", "Empty", "Lonely", "RPI"), registry.universities().stream().map(u -> u.getName()).toList());
+			
+			MapModel rpi = registry.await("RPI", 30, TimeUnit.SECONDS).get();
+			assertEquals("RPI", rpi.getUniversityName());
+			assertEquals(new MapModel(BLDG_FILE.toString(), EDGES_FILE.toString()).getSnapshot().nodes().size(), rpi.getSnapshot().nodes().size());
+			for (String broken : List.of("Corrupt", "Empty", "Lonely")) {
+				assertThrows(IOException.class, () -> registry.await(broken, 30, TimeUnit.SECONDS));
+				assertTrue(registry.failure(broken).isPresent());
+				assertEquals(Optional.empty(), registry.map(broken));
+			}
+			
+			assertEquals(Map.of("Corrupt", Status.FAILED, "Empty", Status.FAILED, "Lonely", Status.FAILED, "RPI", Status.READY), registry.statuses());
+			assertEquals(Optional.of(rpi), registry.map("RPI"));
+			assertFalse(registry.failure("RPI").isPresent());
+			assertEquals(Optional.empty(), registry.status("Nowhere"));
+			assertEquals(Optional.empty(), registry.await("Nowhere", 1, TimeUnit.SECONDS));
+		} finally {
+			registry.stop();
+		}
+	}
+	
+	@Test
+	void metricsSeeEachLoadPhaseAndEveryRouteQuery() throws Exception {
+		Path dir = Files.createTempDirectory("maps");
+		Files.copy(BLDG_FILE, dir.resolve("RPI" + MapRegistry.NODES_SUFFIX));
+		Files.copy(EDGES_FILE, dir.resolve("RPI" + MapRegistry.EDGES_SUFFIX));
+		List<String> phases = new CopyOnWriteArrayList<>();
+		List<SearchStats> searches = new CopyOnWriteArrayList<>();
+		List<Integer> lengths = new CopyOnWriteArrayList<>();
+		List<RoutingMetrics.Outcome> outcomes = new CopyOnWriteArrayList<>();
+		RoutingMetrics metrics = new RoutingMetrics() {
+			@Override
+			public boolean isEnabled() {
+				return true;
+			}
+			
+			@Override
+			public void routeFound(String map, RouteOptions options, Outcome outcome, long nanos, SearchStats stats, int pathLength) {
+				assertEquals("RPI", map);
+				outcomes.add(outcome);
+				assertTrue(nanos >= 0);
+				searches.add(stats);
+				lengths.add(pathLength);
+			}
+			
+			@Override
+			public void mapLoaded(String map, LoadPhase phase, long nanos) {
+				phases.add(map + " " + phase);
+			}
+		};
+		
+		MapRegistry registry = new MapRegistry(new PathMatchingResourcePatternResolver(), dir.toUri().toString(), 1, metrics);
+		try {
+			registry.start();
+			MapModel rpi = registry.await("RPI", 30, TimeUnit.SECONDS).get();
+			assertEquals(List.of("RPI PARSE_BUILDINGS", "RPI PARSE_EDGES", "RPI BUILD_GRAPH"), phases);
+			
+			List<Building> buildings = new ArrayList<>(rpi.allBuildings());
+			Building from = buildings.get(0);
+			Building to = buildings.get(buildings.size() - 1);
+			LinkedHashSet<Edge<Building, Double>> path = rpi.findRoute(from, to);
+			assertEquals(1, searches.size());
+			assertEquals(List.of(Math.max(path.size() - 1, 0)), lengths);
+			SearchStats stats = searches.get(0);
+			assertTrue(stats.getNodesExpanded() > 0);
+			assertTrue(stats.getHeapPushes() >= stats.getNodesExpanded());
+			assertTrue(stats.getEdgesRelaxed() >= stats.getHeapPushes() - 1);
+			
+			rpi.setRouteCache(RouteCache.withMaximumSize(10));
+			rpi.findRoute(from, to);
+			rpi.findRoute(from, to);
+			assertEquals(List.of(RoutingMetrics.Outcome.SEARCH, RoutingMetrics.Outcome.SEARCH, RoutingMetrics.Outcome.CACHE), outcomes);
+		} finally {
+			registry.stop();
+		}
+	}
+	
+}
@@ -0,0 +1,145 @@
+package com.campuspathfinder.pathfinder_app.services;
+
+import static com.campuspathfinder.pathfinder_app.TestMaps.BLDG_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.EDGES_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.cost;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.BuildingEdge;
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+import com.campuspathfinder.pathfinder_app.models.Node;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Stores maps in an embedded H2 database and counts the SQL statements it takes
+ * to load them back. Each call to the store runs in its own transaction, as it
+ * does when serving requests, so the second-level cache is exercised too.
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"spring.jpa.properties.jakarta.persistence.sharedCache.mode=ENABLE_SELECTIVE",
+		"spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+		"spring.jpa.properties.hibernate.cache.use_query_cache=true",
+		"spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+		"spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+		"spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create" })
+@Import(MapStore.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MapStoreTest {
+
+	@Autowired
+	private MapStore store;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	/**
+	 * Store a map of a row of buildings, each joined to the next both ways. The
+	 * first building has a step-free entrance and one with steps.
+	 */
+	private void storeRow(String university, int size) {
+		MapModel map = new MapModel();
+		map.setUniversity(university);
+		List<Building> row = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			row.add(new Building(university + " Hall " + i, i + 1, i * 10, 0));
+		}
+		row.get(0).getAccessPoints().add(new Node<>(row.get(0), "Front", 0, 0, false));
+		row.get(0).getAccessPoints().add(new Node<>(row.get(0), "Ramp", 0, 1, true));
+		map.edit(graph -> {
+			for (int i = 0; i < size; i++) {
+				graph.addNode(row.get(i));
+				if (i > 0) {
+					graph.addEdge(row.get(i - 1), row.get(i), 10.0);
+					graph.addEdge(row.get(i), row.get(i - 1), 10.0);
+				}
+			}
+		});
+		store.save(map);
+	}
+
+	/**
+	 * @return how many SQL statements loading the map of university took, after
+	 *         touching every building, edge and access point of it
+	 */
+	private long statementsToLoad(String university, int size) {
+		entityManagerFactory.getCache().evictAll();
+		statistics.clear();
+		MapModel map = store.load(university).orElseThrow();
+		assertEquals(size, map.getBuildings().size());
+		assertEquals(2 * (size - 1), map.getEdges().size());
+		for (BuildingEdge edge : map.getEdges()) {
+			assertTrue(edge.getSourceBuilding().getBldgName().startsWith(university));
+			assertTrue(edge.getTargetBuilding().getBldgName().startsWith(university));
+		}
+		for (Building bldg : map.getBuildings()) {
+			assertEquals(bldg.getBldgId() == 1 ? 2 : 0, bldg.getAccessPoints().size());
+			assertTrue(bldg.isStepFree());
+		}
+		return statistics.getPrepareStatementCount();
+	}
+
+	@Test
+	void aMapLoadsInTheSameNumberOfQueriesWhateverItsSize() {
+		storeRow("Small", 3);
+		storeRow("Large", 60);
+
+		long small = statementsToLoad("Small", 3);
+		long large = statementsToLoad("Large", 60);
+		assertEquals(small, large);
+		assertTrue(large <= 3, large + " statements");
+	}
+
+	@Test
+	void aMapLoadedAgainComesFromTheCache() {
+		storeRow("Cached", 20);
+		long cold = statementsToLoad("Cached", 20);
+
+		statistics.clear();
+		MapModel map = store.load("Cached").orElseThrow();
+		assertEquals(20, map.getBuildings().size());
+		assertEquals(38, map.getEdges().size());
+		assertTrue(cold > 0);
+		assertEquals(0, statistics.getPrepareStatementCount());
+		assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+	}
+
+	@Test
+	void aCampusMapRoutesTheSameAfterBeingStored() {
+		MapModel rpi = new MapModel(BLDG_FILE, EDGES_FILE);
+		rpi.setUniversity("RPI");
+		store.save(rpi);
+
+		MapModel loaded = store.load("RPI").orElseThrow();
+		assertEquals(rpi.getSnapshot().size(), loaded.getSnapshot().size());
+		assertEquals(rpi.getSnapshot().edgeCount(), loaded.getSnapshot().edgeCount());
+		Building empac = loaded.getBuildingByName("EMPAC");
+		Building academy = loaded.getBuildingByName("Academy Hall");
+		assertEquals(cost(rpi.findRoute(rpi.getBuildingByName("EMPAC"), rpi.getBuildingByName("Academy Hall"))),
+				cost(loaded.findRoute(empac, academy)), 1e-9);
+	}
+
+}
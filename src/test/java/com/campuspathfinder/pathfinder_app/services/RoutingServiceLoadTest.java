@@ -0,0 +1,87 @@
+package com.campuspathfinder.pathfinder_app.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.routing.RouteOptions;
+
+/**
+ * Measures route throughput on the RPI map as the number of concurrent clients 
+ * grows. Each client sends a query, waits for its answer and sends the next, 
+ * for a few seconds per level. Only runs when asked to:
+ * mvn test -Dtest=RoutingServiceLoadTest -Dpathfinder.loadtest=true
+ */
+@EnabledIfSystemProperty(named = "pathfinder.loadtest", matches = "true")
+class RoutingServiceLoadTest {
+	
+	private static final int[] CLIENTS = {1, 2, 4, 8, 16, 32, 64};
+	private static final long MILLIS_PER_LEVEL = 3000;
+	private static final int SAMPLES = 1 << 16;
+	
+	@Test
+	void throughputAtIncreasingConcurrency() throws Exception {
+		MapRegistry registry = RoutingServiceTest.rpiRegistry();
+		RoutingService routing = new RoutingService(registry, 0, 1000, 2000);
+		try {
+			List<Building> buildings = new ArrayList<>(routing.map("RPI").allBuildings());
+			System.out.printf("%8s %12s %10s %10s %8s%n", "clients", "routes/s", "p50 us", "p99 us", "failed");
+			for (int clients : CLIENTS) {
+				AtomicLong completed = new AtomicLong();
+				AtomicLong failed = new AtomicLong();
+				// latencies of the first SAMPLES answers of each client
+				long[][] latencies = new long[clients][SAMPLES];
+				int[] recorded = new int[clients];
+				Thread[] threads = new Thread[clients];
+				long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(MILLIS_PER_LEVEL);
+				for (int c = 0; c < clients; c++) {
+					int client = c;
+					Random random = new Random(c);
+					threads[c] = new Thread(() -> {
+						while (System.nanoTime() < deadline) {
+							Building from = buildings.get(random.nextInt(buildings.size()));
+							Building to = buildings.get(random.nextInt(buildings.size()));
+							long start = System.nanoTime();
+							try {
+								routing.route("RPI", from.getBldgId(), to.getBldgId(), RouteOptions.DEFAULT).get();
+								completed.incrementAndGet();
+								if (recorded[client] < SAMPLES) latencies[client][recorded[client]++] = System.nanoTime() - start;
+							} catch (ExecutionException | InterruptedException e) {
+								failed.incrementAndGet();
+							}
+						}
+					});
+					threads[c].start();
+				}
+				for (Thread thread : threads) thread.join();
+				
+				long[] all = new long[Arrays.stream(recorded).sum()];
+				int i = 0;
+				for (int c = 0; c < clients; c++) {
+					System.arraycopy(latencies[c], 0, all, i, recorded[c]);
+					i += recorded[c];
+				}
+				Arrays.sort(all);
+				System.out.printf("%8d %12.0f %10d %10d %8d%n", clients, completed.get() * 1000.0 / MILLIS_PER_LEVEL,
+						all[all.length / 2] / 1000, all[(int) (all.length * 0.99)] / 1000, failed.get());
+				assertTrue(completed.get() > 0);
+				assertEquals(0, failed.get());
+			}
+		} finally {
+			routing.stop();
+			registry.stop();
+		}
+	}
+	
+}
@@ -0,0 +1,119 @@
+package com.campuspathfinder.pathfinder_app.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import com.campuspathfinder.pathfinder_app.TestMaps;
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+import com.campuspathfinder.pathfinder_app.routing.RankedNode;
+import com.campuspathfinder.pathfinder_app.routing.RouteOptions;
+
+class RoutingServiceTest {
+	
+	private static final Path BLDG_FILE = Path.of(TestMaps.BLDG_FILE);
+	private static final Path EDGES_FILE = Path.of(TestMaps.EDGES_FILE);
+	
+	/**
+	 * @return a started registry holding only the RPI map, loaded
+	 */
+	static MapRegistry rpiRegistry() throws Exception {
+		Path dir = Files.createTempDirectory("maps");
+		Files.copy(BLDG_FILE, dir.resolve("RPI" + MapRegistry.NODES_SUFFIX));
+		Files.copy(EDGES_FILE, dir.resolve("RPI" + MapRegistry.EDGES_SUFFIX));
+		MapRegistry registry = new MapRegistry(new PathMatchingResourcePatternResolver(), dir.toUri().toString(), 1);
+		registry.start();
+		registry.await("RPI", 30, TimeUnit.SECONDS);
+		return registry;
+	}
+	
+	private static Throwable failure(CompletableFuture<?> future) {
+		return assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS)).getCause();
+	}
+	
+	@Test
+	void queriesRunOnTheRoutingThreads() throws Exception {
+		MapRegistry registry = rpiRegistry();
+		RoutingService routing = new RoutingService(registry, 2, 100, 10_000);
+		try {
+			MapModel map = routing.map("RPI");
+			Building b1 = map.getBuildingByName("EMPAC");
+			Building b2 = map.getBuildingByName("Academy Hall");
+			
+			assertEquals(map.findRoute(b1, b2), routing.route("RPI", b1.getBldgId(), b2.getBldgId(), RouteOptions.DEFAULT).get(10, TimeUnit.SECONDS));
+			List<RankedNode<Building>> nearest = routing.nearest("RPI", b1.getBldgId(), 3, null).get(10, TimeUnit.SECONDS);
+			assertEquals(3, nearest.size());
+			assertEquals(map.nearestBuildings(b1, 3, bldg -> true).get(0).getNode(), nearest.get(0).getNode());
+			assertEquals(map.allBuildings().size(), routing.buildings("RPI").size());
+		} finally {
+			routing.stop();
+			registry.stop();
+		}
+	}
+	
+	@Test
+	void badQueriesFailTheirFutures() throws Exception {
+		MapRegistry registry = rpiRegistry();
+		RoutingService routing = new RoutingService(registry, 1, 10, 10_000);
+		try {
+			int id = routing.map("RPI").getBuildingByName("EMPAC").getBldgId();
+			assertTrue(failure(routing.route("Nowhere", id, id, RouteOptions.DEFAULT)) instanceof UnknownMapException);
+			assertTrue(failure(routing.route("RPI", id, -5, RouteOptions.DEFAULT)) instanceof UnknownBuildingException);
+			assertTrue(failure(routing.nearest("RPI", -5, 3, null)) instanceof UnknownBuildingException);
+			assertThrows(UnknownMapException.class, () -> routing.buildings("Nowhere"));
+		} finally {
+			routing.stop();
+			registry.stop();
+		}
+	}
+	
+	@Test
+	void queriesStillQueuedAtTheirDeadlineAreNeverRun() throws Exception {
+		MapRegistry registry = rpiRegistry();
+		RoutingService routing = new RoutingService(registry, 1, 10, 200);
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			MapModel map = routing.map("RPI");
+			int from = map.getBuildingByName("EMPAC").getBldgId();
+			int to = map.getBuildingByName("Academy Hall").getBldgId();
+			routing.executor().execute(() -> {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			
+			assertTrue(failure(routing.route("RPI", from, to, RouteOptions.DEFAULT)) instanceof TimeoutException);
+			long giveUp = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+			while (!routing.executor().getQueue().isEmpty() && System.nanoTime() < giveUp) {
+				Thread.sleep(10);
+			}
+			assertTrue(routing.executor().getQueue().isEmpty());
+			
+			release.countDown();
+			while (routing.executor().getActiveCount() > 0 && System.nanoTime() < giveUp) {
+				Thread.sleep(10);
+			}
+			assertEquals(1, routing.executor().getCompletedTaskCount());
+		} finally {
+			release.countDown();
+			routing.stop();
+			registry.stop();
+		}
+	}
+	
+}
@@ -0,0 +1,95 @@
+package com.campuspathfinder.pathfinder_app.util;
+
+import static com.campuspathfinder.pathfinder_app.TestMaps.BLDG_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.EDGES_FILE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+
+class BuildingCatalogueTest {
+	
+	private static Building building(String name, int id, String type) {
+		Building bldg = new Building(name, id, 0, 0);
+		bldg.setType(type);
+		return bldg;
+	}
+	
+	@Test
+	void pagesThroughBuildingsByNameAndType() {
+		Building west = building("West Hall", 1, "Academic");
+		Building union = building("Rensselaer Union", 2, "Student Life");
+		Building amos = building("Amos Eaton Hall", 3, "Academic");
+		Building corner = building("", 4, "");
+		BuildingCatalogue catalogue = BuildingCatalogue.of(List.of(west, union, amos, corner), 7);
+		
+		assertEquals(List.of(amos, union, west), catalogue.buildings());
+		assertEquals(List.of(amos, west), catalogue.buildings("Academic"));
+		assertEquals(List.of(), catalogue.buildings("Parking"));
+		assertEquals(List.of("Academic", "Student Life"), List.copyOf(catalogue.types()));
+		
+		assertEquals(List.of(union, west), catalogue.page(null, 1, 10));
+		assertEquals(List.of(west), catalogue.page("Academic", 1, 1));
+		assertEquals(List.of(amos), catalogue.page(null, -5, 1));
+		assertEquals(List.of(), catalogue.page(null, 3, 10));
+		assertEquals(List.of(), catalogue.page(null, 0, -1));
+		assertThrows(UnsupportedOperationException.class, () -> catalogue.buildings().clear());
+	}
+	
+	@Test
+	void catalogueIsOnlyRebuiltWhenTheNodesChange() {
+		Building a = new Building("A", 1, 0, 0);
+		Building b = new Building("B", 2, 10, 0);
+		MapModel map = new MapModel();
+		map.edit(graph -> {
+			graph.addNode(a);
+			graph.addNode(b);
+		});
+		BuildingCatalogue catalogue = map.catalogue();
+		assertSame(catalogue, map.catalogue());
+		
+		map.edit(graph -> graph.addEdge(a, b, 10.0));
+		assertSame(catalogue, map.catalogue());
+		
+		Building c = new Building("C", 3, 20, 0);
+		map.edit(graph -> graph.addNode(c));
+		assertNotEquals(catalogue.tag(), map.catalogue().tag());
+		assertEquals(List.of(a, b, c), map.allBuildings());
+	}
+	
+	@Test
+	void threadsAskingAtOnceShareOneCatalogue() throws Exception {
+		MapModel map = new MapModel(BLDG_FILE, EDGES_FILE);
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<BuildingCatalogue>> catalogues = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				catalogues.add(pool.submit(() -> {
+					start.await();
+					return map.catalogue();
+				}));
+			}
+			start.countDown();
+			for (Future<BuildingCatalogue> catalogue : catalogues) {
+				assertSame(map.catalogue(), catalogue.get(10, TimeUnit.SECONDS));
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+	
+}
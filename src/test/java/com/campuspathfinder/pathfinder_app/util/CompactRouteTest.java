@@ -0,0 +1,95 @@
+package com.campuspathfinder.pathfinder_app.util;
+
+import static com.campuspathfinder.pathfinder_app.TestMaps.connect;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+
+import org.junit.jupiter.api.Test;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.Edge;
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+
+class CompactRouteTest {
+	
+	private final Building a = new Building("A", 1, 0, 0);
+	private final Building b = new Building("B", 2, 10, 0);
+	private final Building c = new Building("C", 3, 20, 0);
+	private final Building d = new Building("D", 4, 20, 10);
+	private final Building e = new Building("E", 5, 500, 500);
+	
+	private MapModel map() {
+		MapModel map = new MapModel();
+		map.edit(graph -> {
+			for (Building bldg : new Building[] {a, b, c, d, e}) {
+				graph.addNode(bldg);
+			}
+			connect(graph, a, b, 10.0);
+			connect(graph, b, c, 10.0);
+			connect(graph, c, d, 10.0);
+		});
+		return map;
+	}
+	
+	@Test
+	void polylineRoundTrips() {
+		int[] xs = {0, 1, -1, 38, 5000, -123456, 1 << 20, 0};
+		int[] ys = {0, -1, 1, 5, -5000, 654321, -(1 << 20), 0};
+		String polyline = CompactRoute.polyline(xs, ys);
+		int[][] decoded = CompactRoute.decodePolyline(polyline);
+		assertArrayEquals(xs, decoded[0]);
+		assertArrayEquals(ys, decoded[1]);
+		// a step of -15 encodes as '\', which is only escaped inside JSON
+		assertEquals("?\\", CompactRoute.polyline(new int[] {0}, new int[] {-15}));
+		assertThrows(IllegalArgumentException.class, () -> CompactRoute.decodePolyline("_"));
+	}
+	
+	@Test
+	void encodesIdsPolylineCostAndMergedDirections() {
+		MapModel map = map();
+		LinkedHashSet<Edge<Building, Double>> path = map.findRoute(a, d);
+		String json = CompactRoute.encode(map, path);
+		
+		assertTrue(json.startsWith("{\"ids\":[1,2,3,4],\"polyline\":\""), json);
+		assertTrue(json.contains("\"cost\":30.0"), json);
+		String polyline = json.substring(json.indexOf("\"polyline\":\"") + 12, json.indexOf("\",\"cost\""));
+		int[][] points = CompactRoute.decodePolyline(polyline);
+		assertArrayEquals(new int[] {0, 10, 20, 20}, points[0]);
+		assertArrayEquals(new int[] {0, 0, 0, 10}, points[1]);
+		// a to b to c keeps one heading, so it is one leg
+		String east = map.findDirection(a, b);
+		String turn = map.findDirection(c, d);
+		assertEquals("\"directions\":[{\"heading\":\"" + east + "\",\"length\":20.0,\"to\":3},"
+				+ "{\"heading\":\"" + turn + "\",\"length\":10.0,\"to\":4}]}",
+				json.substring(json.indexOf("\"directions\"")));
+	}
+	
+	@Test
+	void encodesAMissingRouteWithoutCost() {
+		MapModel map = map();
+		assertEquals("{\"ids\":[],\"polyline\":\"\",\"cost\":null,\"directions\":[]}",
+				CompactRoute.encode(map, map.findRoute(a, e)));
+	}
+	
+	@Test
+	void routeTagChangesWithTheRoutes() {
+		MapModel map = map();
+		String tag = map.routeTag();
+		assertEquals(tag, map.routeTag());
+		
+		map.closePath(b, c, Duration.ofMinutes(5));
+		String closed = map.routeTag();
+		assertNotEquals(tag, closed);
+		assertTrue(map.routesLastModified() > 0);
+		
+		map.edit(graph -> connect(graph, d, e, 5.0));
+		assertNotEquals(closed, map.routeTag());
+	}
+	
+}
@@ -0,0 +1,153 @@
+package com.campuspathfinder.pathfinder_app.util;
+
+import static com.campuspathfinder.pathfinder_app.TestMaps.BLDG_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.EDGES_FILE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.Edge;
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+import com.campuspathfinder.pathfinder_app.models.Node;
+
+class MapParserTest {
+	
+	/**
+	 * @return a channel over text that hands out at most three bytes per read, 
+	 *         so rows and numbers are split across reads
+	 */
+	private static ReadableByteChannel trickle(String text) {
+		ByteBuffer bytes = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+		return new ReadableByteChannel() {
+			private boolean open = true;
+			
+			public int read(ByteBuffer dst) {
+				if (!bytes.hasRemaining()) return -1;
+				int n = Math.min(3, Math.min(dst.remaining(), bytes.remaining()));
+				for (int i = 0; i < n; i++) dst.put(bytes.get());
+				return n;
+			}
+			
+			public boolean isOpen() {
+				return open;
+			}
+			
+			public void close() {
+				open = false;
+			}
+		};
+	}
+	
+	private static List<String> buildings(String text) throws IOException {
+		List<String> rows = new ArrayList<>();
+		MapParser.readBuildings(trickle(text), "test", b -> rows.add(b.getName() + "|" + b.getBldgId() + "|" + b.getBldgXCoord() + "|" + b.getBldgYCoord()));
+		return rows;
+	}
+	
+	private static List<String> edges(String text) throws IOException {
+		List<String> rows = new ArrayList<>();
+		MapParser.readEdges(trickle(text), "test", (id1, id2) -> rows.add(id1 + "-" + id2));
+		return rows;
+	}
+	
+	@Test
+	void streamedBuildingsMatchSplitParsingOnCampusMap() throws IOException {
+		List<String> expected = new ArrayList<>();
+		try (BufferedReader reader = new BufferedReader(new FileReader(BLDG_FILE))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String[] data = line.split(",");
+				expected.add(data[0].trim() + "|" + Integer.parseInt(data[1].trim()) + "|" + Integer.parseInt(data[2].trim()) + "|" + Integer.parseInt(data[3].trim()));
+			}
+		}
+		List<String> actual = new ArrayList<>();
+		MapParser.readBuildings(Path.of(BLDG_FILE), b -> actual.add(b.getName() + "|" + b.getBldgId() + "|" + b.getBldgXCoord() + "|" + b.getBldgYCoord()));
+		assertEquals(expected, actual);
+	}
+	
+	@Test
+	void streamedEdgesMatchSplitParsingOnCampusMap() throws IOException {
+		List<String> expected = new ArrayList<>();
+		try (BufferedReader reader = new BufferedReader(new FileReader(EDGES_FILE))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String[] ids = line.split(",");
+				expected.add(Integer.parseInt(ids[0].trim()) + "-" + Integer.parseInt(ids[1].trim()));
+			}
+		}
+		List<String> actual = new ArrayList<>();
+		MapParser.readEdges(Path.of(EDGES_FILE), (id1, id2) -> actual.add(id1 + "-" + id2));
+		assertEquals(expected, actual);
+	}
+	
+	@Test
+	void mapModelGraphMatchesPathwaysConstruction() throws IOException {
+		Map<Integer, Building> byId = new HashMap<>();
+		Map<Building, Set<Integer>> pathways = new HashMap<>();
+		MapParser.readBuildings(BLDG_FILE, byId, new HashMap<>());
+		MapParser.readEdges(EDGES_FILE, pathways, byId);
+		Set<String> expected = new HashSet<>();
+		for (Map.Entry<Building, Set<Integer>> entry : pathways.entrySet()) {
+			for (Integer id : entry.getValue()) {
+				Building b1 = entry.getKey();
+				Building b2 = byId.get(id);
+				int dx = Math.abs(b1.getBldgXCoord() - b2.getBldgXCoord());
+				int dy = Math.abs(b1.getBldgYCoord() - b2.getBldgYCoord());
+				expected.add(b1.getBldgId() + "-" + b2.getBldgId() + "=" + Math.sqrt(dx * dx + dy * dy));
+			}
+		}
+		
+		MapModel map = new MapModel(BLDG_FILE, EDGES_FILE);
+		Set<String> actual = new HashSet<>();
+		for (Node<Building> node : map.getModel().getAllNodes()) {
+			for (Edge<Building, Double> edge : map.getModel().getEdges(node)) {
+				actual.add(edge.getSourceNode().getNodeData().getBldgId() + "-" + edge.getTargetNode().getNodeData().getBldgId() + "=" + edge.getLabel());
+			}
+		}
+		assertEquals(expected, actual);
+		assertEquals(byId.size(), map.getModel().getAllNodes().size());
+	}
+	
+	@Test
+	void rowsFollowReadLineAndSplit() throws IOException {
+		assertEquals(List.of("A|1|2|3", "B b|-4|5|6", "C|7|8|9", "D|10|11|12"), 
+				buildings(" A ,1, 2 ,3\r\nB b,-4,5,+6,extra\rC,7,8,9,,\n\tD,10,11,12"));
+		assertEquals(List.of("1-2", "3-4"), edges("1,2\n3,4\n"));
+		assertEquals(List.of(), edges(""));
+	}
+	
+	@Test
+	void rowsLongerThanTheBufferAreRead() throws IOException {
+		String name = "x".repeat(200_000);
+		assertEquals(List.of(name + "|1|2|3", "B|4|5|6"), buildings(name + ",1,2,3\nB,4,5,6\n"));
+	}
+	
+	@Test
+	void malformedRowsAreRejected() throws IOException {
+		assertThrows(IOException.class, () -> buildings("A,1,2\n"));
+		assertThrows(IOException.class, () -> buildings("A,1,2,3,,\nB,1,2,,\n"));
+		assertThrows(IOException.class, () -> edges("1,2\n\n3,4\n"));
+		assertThrows(IOException.class, () -> edges("1\n"));
+		assertThrows(NumberFormatException.class, () -> edges("1,x\n"));
+		assertThrows(NumberFormatException.class, () -> edges("1,-\n"));
+		assertThrows(NumberFormatException.class, () -> edges("1,2147483648\n"));
+		assertEquals(List.of("-2147483648-2147483647"), edges("-2147483648,2147483647"));
+	}
+	
+}
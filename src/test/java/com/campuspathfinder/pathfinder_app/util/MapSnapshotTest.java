@@ -0,0 +1,100 @@
+package com.campuspathfinder.pathfinder_app.util;
+
+import static com.campuspathfinder.pathfinder_app.TestMaps.BLDG_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.EDGES_FILE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.Edge;
+import com.campuspathfinder.pathfinder_app.models.FrozenGraph;
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+import com.campuspathfinder.pathfinder_app.models.Node;
+
+class MapSnapshotTest {
+	
+	private static Path export() throws IOException {
+		Path file = Files.createTempFile("map", ".pfmap");
+		file.toFile().deleteOnExit();
+		new MapModel(BLDG_FILE, EDGES_FILE).exportSnapshot(file);
+		return file;
+	}
+	
+	@Test
+	void snapshotRoundTripsTheCampusMap() throws IOException {
+		MapModel expected = new MapModel(BLDG_FILE, EDGES_FILE);
+		MapModel actual = MapModel.fromSnapshot(export());
+		
+		FrozenGraph<Building> before = expected.getSnapshot();
+		FrozenGraph<Building> after = actual.getSnapshot();
+		assertEquals(before.nodes(), after.nodes());
+		assertEquals(before.edgeCount(), after.edgeCount());
+		for (int u = 0; u < before.size(); u++) {
+			Building node = after.node(u);
+			assertEquals(before.node(u).getBldgXCoord(), node.getBldgXCoord());
+			assertEquals(before.node(u).getBldgYCoord(), node.getBldgYCoord());
+			assertEquals(before.lastEdge(u), after.lastEdge(u));
+			for (int e = before.firstEdge(u); e < before.lastEdge(u); e++) {
+				assertEquals(before.target(e), after.target(e));
+				assertEquals(before.weight(e), after.weight(e));
+			}
+		}
+		
+		List<Node<Building>> nodes = expected.getModel().getAllNodes();
+		for (int i = 0; i < nodes.size(); i += 7) {
+			for (int j = 0; j < nodes.size(); j += 5) {
+				Building b1 = nodes.get(i).getNodeData();
+				Building b2 = nodes.get(j).getNodeData();
+				LinkedHashSet<Edge<Building, Double>> route = expected.findRoute(b1, b2);
+				assertEquals(route, actual.findRoute(b1, b2));
+			}
+		}
+		// the stored snapshot keeps serving routes once the graph has been built from it
+		assertEquals(expected.getModel().getAllNodes().size(), actual.getModel().getAllNodes().size());
+		Building first = nodes.get(0).getNodeData();
+		assertEquals(expected.findRoute(first, first), actual.findRoute(first, first));
+		assertSame(after, actual.getSnapshot());
+	}
+	
+	@Test
+	void otherFilesAreRejected() throws IOException {
+		byte[] bytes = Files.readAllBytes(export());
+		Path file = Files.createTempFile("map", ".pfmap");
+		file.toFile().deleteOnExit();
+		
+		byte[] badMagic = bytes.clone();
+		badMagic[0] = 'X';
+		Files.write(file, badMagic);
+		assertThrows(IOException.class, () -> MapSnapshot.read(file));
+		
+		byte[] newerVersion = bytes.clone();
+		ByteBuffer.wrap(newerVersion).putInt(4, MapSnapshot.FORMAT_VERSION + 1);
+		Files.write(file, newerVersion);
+		assertThrows(IOException.class, () -> MapSnapshot.read(file));
+		
+		Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+		assertThrows(IOException.class, () -> MapSnapshot.read(file));
+		
+		byte[] badTarget = bytes.clone();
+		ByteBuffer buffer = ByteBuffer.wrap(badTarget);
+		int n = buffer.getInt(8);
+		buffer.putInt(20 + 4 * (4 * n + 1), n);
+		Files.write(file, badTarget);
+		assertThrows(IOException.class, () -> MapSnapshot.read(file));
+		
+		Files.write(file, new byte[0]);
+		assertThrows(IOException.class, () -> MapSnapshot.read(file));
+	}
+	
+}
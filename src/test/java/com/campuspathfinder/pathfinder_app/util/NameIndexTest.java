@@ -0,0 +1,135 @@
+package com.campuspathfinder.pathfinder_app.util;
+
+import static com.campuspathfinder.pathfinder_app.TestMaps.BLDG_FILE;
+import static com.campuspathfinder.pathfinder_app.TestMaps.EDGES_FILE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.campuspathfinder.pathfinder_app.models.Building;
+import com.campuspathfinder.pathfinder_app.models.MapModel;
+
+class NameIndexTest {
+	
+	private static List<String> names(List<Building> buildings) {
+		List<String> names = new ArrayList<>();
+		for (Building bldg : buildings) {
+			names.add(bldg.getBldgName());
+		}
+		return names;
+	}
+	
+	private static NameIndex index(String... names) {
+		List<Building> buildings = new ArrayList<>();
+		for (int i = 0; i < names.length; i++) {
+			buildings.add(new Building(names[i], i + 1, i, i));
+		}
+		return NameIndex.of(buildings);
+	}
+	
+	@Test
+	void namesAreNormalized() {
+		assertEquals("blaw knox 1 2", NameIndex.normalize("  Blaw-Knox 1 & 2 "));
+		assertEquals("", NameIndex.normalize(""));
+		assertEquals("", NameIndex.normalize(" - "));
+	}
+	
+	@Test
+	void prefixesRankBeforeWordsBeforeMisspellings() {
+		NameIndex index = index("Russell Sage Laboratory", "Russell Sage Dining Hall", "Sage Avenue Garage",
+				"Boiler House at Sage Avenue", "West Hall", "", "Rensselaer Union");
+		assertEquals(6, index.size());
+		
+		assertEquals(List.of("Russell Sage Dining Hall", "Russell Sage Laboratory"), names(index.search("russ", 10)));
+		assertEquals(List.of("Sage Avenue Garage", "Boiler House at Sage Avenue", "Russell Sage Dining Hall", "Russell Sage Laboratory"),
+				names(index.search("SAGE", 10)));
+		assertEquals(List.of("Sage Avenue Garage", "Boiler House at Sage Avenue"), names(index.search("sage ave", 10)));
+		assertEquals(List.of("Rensselaer Union"), names(index.search("unoin", 10)));
+		assertEquals(List.of("Rensselaer Union"), names(index.search("renselaer", 10)));
+		assertEquals(List.of("Russell Sage Dining Hall", "West Hall"), names(index.search("hall", 10)));
+		assertEquals(List.of("Russell Sage Dining Hall"), names(index.search("russ", 1)));
+		
+		assertTrue(index.search("", 10).isEmpty());
+		assertTrue(index.search("!?", 10).isEmpty());
+		assertTrue(index.search("zzzzzz", 10).isEmpty());
+		assertTrue(index.search("sage", 0).isEmpty());
+	}
+	
+	/**
+	 * @return the fewest edits, counting adjacent swaps, from query to a part of key, by dynamic programming
+	 */
+	private static int editsToPart(String key, String query) {
+		int m = query.length();
+		int[][] d = new int[key.length() + 1][m + 1];
+		for (int p = 0; p <= key.length(); p++) {
+			for (int j = 0; j <= m; j++) {
+				if (j == 0) continue;
+				if (p == 0) {
+					d[p][j] = j;
+					continue;
+				}
+				int cost = key.charAt(p - 1) == query.charAt(j - 1) ? 0 : 1;
+				d[p][j] = Math.min(d[p - 1][j - 1] + cost, Math.min(d[p - 1][j], d[p][j - 1]) + 1);
+				if (p > 1 && j > 1 && key.charAt(p - 1) == query.charAt(j - 2) && key.charAt(p - 2) == query.charAt(j - 1)) {
+					d[p][j] = Math.min(d[p][j], d[p - 2][j - 2] + 1);
+				}
+			}
+		}
+		int best = m;
+		for (int p = 0; p <= key.length(); p++) {
+			best = Math.min(best, d[p][m]);
+		}
+		return best;
+	}
+	
+	@Test
+	void everyNameWithinTheAllowedEditsIsFound() {
+		Random random = new Random(23);
+		for (int round = 0; round < 200; round++) {
+			String[] names = new String[20];
+			for (int i = 0; i < names.length; i++) {
+				names[i] = randomName(random, 2 + random.nextInt(14));
+			}
+			NameIndex index = index(names);
+			for (int trial = 0; trial < 20; trial++) {
+				String query = randomName(random, 4 + random.nextInt(10));
+				List<String> expected = new ArrayList<>();
+				for (String name : names) {
+					if (editsToPart(name, query) <= query.length() / 4) expected.add(name);
+				}
+				assertEquals(new HashSet<>(expected), new HashSet<>(names(index.search(query, names.length))), query);
+			}
+		}
+	}
+	
+	/**
+	 * @return a normalized name of words over a small alphabet, so that near misses are common
+	 */
+	private static String randomName(Random random, int length) {
+		StringBuilder name = new StringBuilder();
+		while (name.length() < length) {
+			boolean space = name.length() > 0 && name.charAt(name.length() - 1) != ' ' && name.length() < length - 1 && random.nextInt(4) == 0;
+			name.append(space ? ' ' : "abc".charAt(random.nextInt(3)));
+		}
+		return name.toString();
+	}
+	
+	@Test
+	void campusBuildingsAreFoundByAnyPartOfTheirName() {
+		MapModel map = new MapModel(BLDG_FILE, EDGES_FILE);
+		for (Building bldg : map.allBuildings()) {
+			String name = bldg.getBldgName();
+			assertTrue(map.searchBuildings(name, 3).contains(bldg), name);
+			assertTrue(map.searchBuildings(name.substring(0, Math.min(3, name.length())), 200).contains(bldg), name);
+		}
+		assertEquals("Folsom Library", map.searchBuildings("folsm libary", 1).get(0).getBldgName());
+		assertEquals("Walker Laboratory", map.searchBuildings("walker", 1).get(0).getBldgName());
+	}
+	
+}